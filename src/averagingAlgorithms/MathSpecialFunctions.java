@@ -12,9 +12,10 @@ import ensdf_datapoint.dataPt;
  * normal Cumulative distribution function (CDF), inverse erf, gamma function,
  * incomplete gamma function, and inverse incomplete gamma function.
  * Most of these  functions are simply aliases for the implementation in
- * the Apache Commons Math library. <br><br>
+ * the Apache Commons Math library, except for the normal CDF which is
+ * computed by {@link normalCDF}. <br><br>
  * 
- * Date Modified: 13/08/2015
+ * Date Modified: 19/10/2026
  * 
  * @author Michael Birch
  */
@@ -62,15 +63,7 @@ public class MathSpecialFunctions {
      * @see <a href="https://en.wikipedia.org/wiki/Cumulative_distribution_function">https://en.wikipedia.org/wiki/Cumulative_distribution_function</a>.
      */
     public static final double normalIntegral(dataPt d, double x){
-        double v, l, u;
-        v = d.getValue();
-        l = d.getLower();
-        u = d.getUpper();
-        if(x <= d.getValue()){
-            return l / (l + u) * (1d + erf((x - v) / (Math.sqrt(2d) * l)));
-        }else{
-            return u / (u + l) * erf((x - v) / (Math.sqrt(2d) * u)) + l/(u + l);
-        }
+        return normalCDF.cdf(d.getValue(), d.getLower(), d.getUpper(), x);
     }
     
     //return area under gaussian defined by d from a to b
@@ -87,7 +80,11 @@ public class MathSpecialFunctions {
      * the {@link ensdf_datapoint.dataPt} between a and b
      */
     public static double GaussianArea(dataPt d, double a, double b){
-        return normalIntegral(d, b) - normalIntegral(d, a);
+        double v, l, u;
+        v = d.getValue();
+        l = d.getLower();
+        u = d.getUpper();
+        return normalCDF.cdf(v, l, u, b) - normalCDF.cdf(v, l, u, a);
     }
     
     /**
@@ -0,0 +1,216 @@
+
+package averagingAlgorithms;
+
+import ensdf_datapoint.dataPt;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * This class holds the quantities which are shared by several averaging
+ * methods applied to the same dataset, namely the unweighted average, the
+ * weighted average (with both its internal and external uncertainties and
+ * the details of its report), the Gaussian variance of each point and the
+ * critical reduced chi^2. Each quantity is computed the first time it is
+ * requested and then reused, so running all of the methods on one dataset
+ * (as is done when comparing methods) does not repeat the common work.
+ * <br><br>
+ *
+ * The dataset itself is never modified; methods which adjust uncertainties
+ * work on copies of the points. Results returned by this class are copies,
+ * so the caller may freely rename or modify them.
+ * <br><br>
+ *
+ * The most recent weighted average of a {@link dataSetView} of the dataset
+ * (e.g. with outliers excluded or uncertainties adjusted) is also kept,
+ * until the view changes, and is discarded with the context at the end of
+ * the analysis run.
+ * <br><br>
+ *
+ * Date Modified: 19/10/2026
+ */
+public class analysisContext {
+    private final dataPt[] dataset;
+    private dataPt unweighted;
+    private averagingReport unweightedRpt;
+    //the weighted average of the whole dataset, with the details computed
+    //so far
+    private weightedAverageMemo weighted;
+    private double[] variances;
+    private final Map<Double, Double> reducedCritChiSq;
+    //the most recent weighted average of a view of the dataset
+    private dataSetView memoView;
+    private weightedAverageMemo viewMemo;
+
+    /**
+     * Creates a context for the given dataset. Nothing is computed until it
+     * is first needed.
+     * @param dataset the measurements to be averaged
+     */
+    public analysisContext(dataPt[] dataset){
+        this.dataset = dataset;
+        this.reducedCritChiSq = new HashMap<>();
+    }
+
+    /**
+     * Returns the dataset this context was created for.
+     * @return the dataset this context was created for
+     */
+    public dataPt[] getDataset(){
+        return this.dataset;
+    }
+
+    /**
+     * Returns the number of points in the dataset.
+     * @return the number of points in the dataset
+     */
+    public int size(){
+        return this.dataset.length;
+    }
+
+    /**
+     * Returns the {@link averagingMethods#unweightedAverage(ensdf_datapoint.dataPt[])
+     * unweighted average} of the dataset.
+     * @return the unweighted average of the dataset
+     */
+    public synchronized dataPt unweightedAverage(){
+        if(this.unweighted == null){
+            this.unweightedRpt = new averagingReport();
+            this.unweighted = averagingMethods.unweightedAverage(this.dataset,
+                    this.unweightedRpt);
+        }
+        return new dataPt(this.unweighted);
+    }
+
+    /**
+     * Returns the {@link averagingMethods#weightedAverage(ensdf_datapoint.dataPt[], boolean)
+     * weighted average} of the dataset. Both versions of the result come from
+     * the same maximum likelihood calculation.
+     * @param forceInternalUncert if <code>true</code> then return the "internal
+     * uncertainty", even if the "external uncertainty" is larger.
+     * @return the weighted average of the dataset
+     */
+    public synchronized dataPt weightedAverage(boolean forceInternalUncert){
+        return weightedMemo(averagingReport.VALUE).getResult(this.dataset,
+                forceInternalUncert, null);
+    }
+
+    /**
+     * Calls <code>{@link #weightedAverage(boolean) weightedAverage(false)}</code>.
+     * @return the weighted average of the dataset
+     */
+    public dataPt weightedAverage(){
+        return weightedAverage(false);
+    }
+
+    /**
+     * Returns the weighted average of the points of a view of the dataset,
+     * saving the details of the calculation in <code>rpt</code> as
+     * {@link averagingMethods#weightedAverage(ensdf_datapoint.dataPt[], boolean, averagingAlgorithms.averagingReport)
+     * weightedAverage} would. The result is reused until the view is changed
+     * (see {@link dataSetView#getVersion()}), and a view which still shows
+     * the whole dataset unchanged uses the weighted average of the dataset.
+     * @param view a view of the dataset of this context
+     * @param forceInternalUncert if <code>true</code> then return the "internal
+     * uncertainty", even if the "external uncertainty" is larger.
+     * @param rpt variable to save calculation details in, may be <code>null</code>
+     * @return the weighted average of the points of the view
+     */
+    synchronized dataPt weightedAverage(dataSetView view,
+            boolean forceInternalUncert, averagingReport rpt){
+        int level;
+
+        level = averagingReport.detail(rpt);
+        if(view.getVersion() == 0L && view.getBase() == this.dataset){
+            return weightedMemo(level).getResult(this.dataset,
+                    forceInternalUncert, rpt);
+        }
+        if(this.memoView != view || !this.viewMemo.matches(view.getVersion())){
+            this.memoView = view;
+            this.viewMemo = weightedAverageMemo.compute(view.points(),
+                    view.getVersion(), level);
+        }else{
+            this.viewMemo.require(view.points(), level);
+        }
+        return this.viewMemo.getResult(view.points(), forceInternalUncert, rpt);
+    }
+
+    //the weighted average of the dataset, with the details up to the given
+    //level (see averagingReport.getDetail)
+    private weightedAverageMemo weightedMemo(int level){
+        if(this.weighted == null){
+            this.weighted = weightedAverageMemo.compute(this.dataset, 0L, level);
+        }else{
+            this.weighted.require(this.dataset, level);
+        }
+        return this.weighted;
+    }
+
+    /**
+     * Returns the {@link ensdf_datapoint.dataPt#gaussVariance() Gaussian variance}
+     * of each point in the dataset. The array is shared, so it must not be
+     * modified.
+     * @return the Gaussian variance of each point in the dataset
+     */
+    synchronized double[] variances(){
+        int i;
+
+        if(this.variances == null){
+            this.variances = new double[this.dataset.length];
+            for(i=0; i<this.dataset.length; i++){
+                this.variances[i] = this.dataset[i].gaussVariance();
+            }
+        }
+        return this.variances;
+    }
+
+    /**
+     * Returns the {@link averagingMethods#criticalChiSq(int, double, boolean)
+     * critical reduced chi^2} for the dataset (i.e. with one fewer degrees of
+     * freedom than the number of points) at the given confidence level.
+     * @param conf confidence level
+     * @return the critical reduced chi^2
+     */
+    public synchronized double criticalChiSq(double conf){
+        Double result;
+
+        result = this.reducedCritChiSq.get(conf);
+        if(result == null){
+            result = averagingMethods.criticalChiSq(this.dataset.length - 1,
+                    conf, true);
+            this.reducedCritChiSq.put(conf, result);
+        }
+        return result;
+    }
+
+    /**
+     * Copies the details of the unweighted average calculation into
+     * <code>rpt</code>, exactly as {@link averagingMethods#unweightedAverage(ensdf_datapoint.dataPt[], averagingAlgorithms.averagingReport)
+     * unweightedAverage} would.
+     * @param rpt variable to save calculation details in, may be <code>null</code>
+     */
+    void fillUnweightedReport(averagingReport rpt){
+        unweightedAverage();
+        try{
+            rpt.originalDataSet = this.dataset;
+            rpt.means = new dataPt[1];
+            rpt.means[0] = new dataPt(this.unweightedRpt.means[0]);
+            rpt.methodName = this.unweightedRpt.methodName;
+            if(rpt.includes(averagingReport.FULL)){
+                rpt.setDifferenceFromMeanSq(() -> this.unweightedRpt.getDifferenceFromMeanSq().clone());
+            }
+        }catch(NullPointerException e){
+            //do nothing if rpt is null
+        }
+    }
+
+    /**
+     * Copies the details of the weighted average calculation into
+     * <code>rpt</code>, exactly as {@link averagingMethods#weightedAverage(ensdf_datapoint.dataPt[], boolean, averagingAlgorithms.averagingReport)
+     * weightedAverage} would.
+     * @param rpt variable to save calculation details in, may be <code>null</code>
+     */
+    synchronized void fillWeightedReport(averagingReport rpt){
+        weightedMemo(averagingReport.detail(rpt)).getResult(this.dataset,
+                false, rpt);
+    }
+}
@@ -76,11 +76,13 @@ public final class averagingMethods {
         result.setLower(result.getUpper());
         
         try{
-            rpt.differenceFromMeanSq = deviationArray.clone();
             rpt.originalDataSet = dataset;
             rpt.means = new dataPt[1];
             rpt.means[0] = new dataPt(result);
             rpt.methodName = "Unweighted Average";
+            if(rpt.includes(averagingReport.FULL)){
+                rpt.setDifferenceFromMeanSq(deviationArray);
+            }
         }catch(NullPointerException e){
             //do nothing if rpt is null
         }
@@ -97,6 +99,21 @@ public final class averagingMethods {
     public static final dataPt unweightedAverage(dataPt[] dataset){
         return unweightedAverage(dataset, null);
     }
+    /**
+     * Returns the unweighted average of the dataset of the given
+     * {@link analysisContext}, computing it only if no other method has
+     * already done so. The details saved in <code>rpt</code> are the same as
+     * those saved by {@link #unweightedAverage(ensdf_datapoint.dataPt[], averagingAlgorithms.averagingReport) 
+     * unweightedAverage(dataPt[], averagingReport)}.
+     * @param context shared quantities of the dataset to average
+     * @param rpt variable to save calculation details in
+     * @return the unweighted average (arithmetic mean)
+     */
+    public static final dataPt unweightedAverage(analysisContext context,
+            averagingReport rpt){
+        context.fillUnweightedReport(rpt);
+        return context.unweightedAverage();
+    }
     
     /**
      * Computes the chi^2 (typically associated with the weighted average)
@@ -145,6 +162,7 @@ public final class averagingMethods {
         int i; //used for counting loops
         int n; //number of datapoints
         double[] normWeight; //normalized weighting for each datapoint
+        double[] ptChiSq; //contribution of each datapoint to chi-squared
         double weightSum; //sum of all the weights; used for normaization
         double upperTot; //sum of squares of upper uncertainties in data set; used to calculate internal uncertainty
         double lowerTot; //sum of squares of lower uncertainties in data set; used to calculate internal uncertainty
@@ -195,17 +213,22 @@ public final class averagingMethods {
             rpt.means[0].setName("Weighted Average (Internal Uncertainty)");
             rpt.means[1] = new dataPt(result.getValue(), extUnc, extUnc, 
                     "Weighted Average (External Uncertainty)");
-            rpt.reducedChiSq = chiSq / (double)(n-1);
-            rpt.criticalChiSq = criticalChiSq(n-1, critChiSqConf, true);
-            rpt.rejectionConfidence = 100d*critChiSqConf;
-            rpt.relativeWeights = normWeight.clone();
-            rpt.ptChiSq = new double[dataset.length];
-            for(i=0; i < dataset.length; i++){
-                rpt.ptChiSq[i] = Math.pow((double)2 * (result.getValue() - 
-                        dataset[i].getValue()) / (dataset[i].getLower() + 
-                        dataset[i].getUpper()), 2);
-            }
             rpt.methodName = "Weighted Average";
+            if(rpt.includes(averagingReport.SUMMARY)){
+                rpt.reducedChiSq = chiSq / (double)(n-1);
+                rpt.criticalChiSq = criticalChiSq(n-1, critChiSqConf, true);
+                rpt.rejectionConfidence = 100d*critChiSqConf;
+            }
+            if(rpt.includes(averagingReport.FULL)){
+                ptChiSq = new double[dataset.length];
+                for(i=0; i < dataset.length; i++){
+                    ptChiSq[i] = Math.pow((double)2 * (result.getValue() - 
+                            dataset[i].getValue()) / (dataset[i].getLower() + 
+                            dataset[i].getUpper()), 2);
+                }
+                rpt.setRelativeWeights(normWeight);
+                rpt.setPtChiSq(ptChiSq);
+            }
         }catch(NullPointerException e){
             // do nothing if rpt is null
         }
@@ -235,13 +258,38 @@ public final class averagingMethods {
      * @return the weighted average of the dataset
      */
     public static final dataPt weightedAverage(dataPt[] dataset, boolean forceInternalUncert, averagingReport rpt){
+        averagingReport wtRpt;
+        dataPt result;
+        
+        //the external uncertainty is needed even if no report is
+        wtRpt = rpt != null ? rpt : new averagingReport(averagingReport.VALUE);
+        result = computeWeightedAverage(dataset, wtRpt);
+        
+        // return external uncertaity if greater than internal
+        if(result.gaussVariance() < wtRpt.means[1].gaussVariance() &&
+                !(forceInternalUncert)){
+            result.setLower(wtRpt.means[1].getLower());
+            result.setUpper(wtRpt.means[1].getUpper());
+        }
+        return result;
+    }
+    
+    /**
+     * Performs the weighted average calculation described in {@link 
+     * #weightedAverage(ensdf_datapoint.dataPt[], boolean, averagingAlgorithms.averagingReport) 
+     * weightedAverage}, returning the result with its internal uncertainty.
+     * @param dataset measurements to average
+     * @param rpt save details of the calculation to this variable
+     * @return the weighted average of the dataset, with its internal uncertainty
+     */
+    static dataPt computeWeightedAverage(dataPt[] dataset, averagingReport rpt){
         DoubleFunction<Double> f, g, lnL, DlnL;
         Function<Double, double[]> weightCalc;
         int n;
         double mu_max, lowerBound, upperBound, lowerUncert, upperUncert, tmp;
-        double[] centers, lowers, uppers, weights, normWeight;
+        double[] centers, lowers, uppers;
         dataPt result;
-        double chiSq, totWeight;
+        double chiSq;
         dataPt wave_ext;
         
         n = dataset.length;
@@ -331,13 +379,6 @@ public final class averagingMethods {
         result = new dataPt(mu_max, upperUncert, lowerUncert, "Weighted Average");
         
         chiSq = WeightedAveChiSq(dataset, result.getValue()) / (double)(n-1); //calculate reduced chi-squared
-        weights = weightCalc.apply(result.getValue());
-        totWeight = MathBasicFunction.sum(weights);
-        
-        normWeight = new double[n];
-        for(int i=0; i<n; i++){
-            normWeight[i] = weights[i] / totWeight;
-        }
         
         wave_ext = new dataPt(result);
         wave_ext.setLower(Math.sqrt(chiSq)*result.getLower());
@@ -350,28 +391,61 @@ public final class averagingMethods {
             rpt.means[0].setName("Weighted Average (Internal Uncertainty)");
             rpt.means[1] = new dataPt(wave_ext);
             rpt.means[1].setName("Weighted Average (External Uncertainty)");
-            rpt.reducedChiSq = chiSq;
-            rpt.criticalChiSq = criticalChiSq(n-1, critChiSqConf, true);
-            rpt.rejectionConfidence = 100d*critChiSqConf;
-            rpt.relativeWeights = normWeight.clone();
-            rpt.ptChiSq = new double[dataset.length];
-            for(int i=0; i < dataset.length; i++){
-                rpt.ptChiSq[i] = Math.pow(result.getValue() - 
-                        dataset[i].getValue(), 2)*weights[i];
-            }
             rpt.methodName = "Weighted Average";
+            weightedAverageDetails(dataset, result.getValue(), chiSq, rpt);
         }catch(NullPointerException e){
             // do nothing if rpt is null
         }
         
-        // return external uncertaity if greater than internal
-        if(result.gaussVariance() <  wave_ext.gaussVariance()  && !(forceInternalUncert)){
-            result.setLower(wave_ext.getLower());
-            result.setUpper(wave_ext.getUpper());
-        }
-        
         return result;
     }
+    
+    /**
+     * Saves the details of a weighted average calculation with the given
+     * result in <code>rpt</code>, up to its {@link averagingReport#getDetail()
+     * detail level}: the reduced and critical chi^2 at
+     * {@link averagingReport#SUMMARY} and the relative weight and chi^2 of
+     * each point at {@link averagingReport#FULL}. Nothing is computed for
+     * the levels which are not saved.
+     * @param dataset measurements which were averaged
+     * @param mean the weighted average of the measurements
+     * @param reducedChiSq the reduced chi^2 of the measurements about the mean
+     * @param rpt save details of the calculation to this variable
+     */
+    static void weightedAverageDetails(dataPt[] dataset, double mean,
+            double reducedChiSq, averagingReport rpt){
+        double[] weights, normWeight, ptChiSq;
+        double totWeight;
+        int n, i;
+        
+        n = dataset.length;
+        if(rpt.includes(averagingReport.SUMMARY)){
+            rpt.reducedChiSq = reducedChiSq;
+            rpt.criticalChiSq = criticalChiSq(n-1, critChiSqConf, true);
+            rpt.rejectionConfidence = 100d*critChiSqConf;
+        }
+        if(rpt.includes(averagingReport.FULL)){
+            //weights of the points on either side of the mean, as used in
+            //the maximum likelihood calculation
+            weights = new double[n];
+            for(i=0; i<n; i++){
+                if(dataset[i].getValue() > mean){
+                    weights[i] = 1.0d / (dataset[i].getLower()*dataset[i].getLower());
+                }else{
+                    weights[i] = 1.0d / (dataset[i].getUpper()*dataset[i].getUpper());
+                }
+            }
+            totWeight = MathBasicFunction.sum(weights);
+            normWeight = new double[n];
+            ptChiSq = new double[n];
+            for(i=0; i<n; i++){
+                normWeight[i] = weights[i] / totWeight;
+                ptChiSq[i] = Math.pow(mean - dataset[i].getValue(), 2)*weights[i];
+            }
+            rpt.setRelativeWeights(normWeight);
+            rpt.setPtChiSq(ptChiSq);
+        }
+    }
     /**
      * Calls <code>{@link #weightedAverage(ensdf_datapoint.dataPt[], boolean, averagingAlgorithms.averagingReport) 
      * weightedAverage(dataset, false, rpt)}</code>.
@@ -402,6 +476,34 @@ public final class averagingMethods {
     public static final dataPt weightedAverage(dataPt[] dataset, boolean forceInternalUncert){
         return weightedAverage(dataset, forceInternalUncert, null);
     }
+    /**
+     * Returns the weighted average of the dataset of the given
+     * {@link analysisContext}, computing it only if no other method has
+     * already done so. The details saved in <code>rpt</code> are the same as
+     * those saved by {@link #weightedAverage(ensdf_datapoint.dataPt[], boolean, averagingAlgorithms.averagingReport) 
+     * weightedAverage(dataPt[], boolean, averagingReport)}.
+     * @param context shared quantities of the dataset to average
+     * @param forceInternalUncert if <code>true</code> then return the "internal uncertainty", even 
+     * if the "external uncertainty" is larger.
+     * @param rpt save details of the calculation to this variable
+     * @return the weighted average of the dataset
+     */
+    public static final dataPt weightedAverage(analysisContext context,
+            boolean forceInternalUncert, averagingReport rpt){
+        context.fillWeightedReport(rpt);
+        return context.weightedAverage(forceInternalUncert);
+    }
+    /**
+     * Calls <code>{@link #weightedAverage(averagingAlgorithms.analysisContext, boolean, averagingAlgorithms.averagingReport) 
+     * weightedAverage(context, false, rpt)}</code>.
+     * @param context shared quantities of the dataset to average
+     * @param rpt save details of the calculation to this variable
+     * @return the weighted average of the dataset
+     */
+    public static final dataPt weightedAverage(analysisContext context,
+            averagingReport rpt){
+        return weightedAverage(context, false, rpt);
+    }
     
     /**
      * Returns the critical chi^2 with <code>d</code> degrees of freedom and
@@ -413,6 +515,8 @@ public final class averagingMethods {
      * one is not found and that result is added to the {@link #previousCritChiSq
      * previousCritChiSq} List. See {@link CriticalChiSquare#CriticalChiSquare(int, double) 
      * CriticalChiSquare} for more details regarding critical chi^2 calculations.
+     * The method is synchronized so that the List can be shared by averaging
+     * methods running on different threads (e.g. in an {@link influenceAnalysis}).
      * @param d number of degrees of freedom
      * @param conf confidence level
      * @param reduced if <code>true</code> then the critical chi^2 is divided by the number of
@@ -420,7 +524,7 @@ public final class averagingMethods {
      * @return the critical chi^2 with <code>d</code> degrees of freedom and
      * at confidence level <code>conf</code>
      */
-    public static final double criticalChiSq(int d, double conf, boolean reduced){
+    public static final synchronized double criticalChiSq(int d, double conf, boolean reduced){
         int i;
         int dof;
         CriticalChiSquare last;
@@ -511,20 +615,17 @@ public final class averagingMethods {
         
         n = dataset.length;
         
-        pLow = 0d;
         lowerCount = 0;
         upperCount = 0;
         for(i=0; i<n; i++){
-            // area from -inf to EVM.vlaue
-            pLow += MathSpecialFunctions.normalIntegral(dataset[i], EVM.getValue());
-            
             if (dataset[i].getValue() < EVM.getValue()){
                 lowerCount += 1;
             }else{
                 upperCount += 1;
             }
         }
-        pLow /= (double)n; //renormalize
+        // mean area from -inf to EVM.value
+        pLow = new normalCDF(dataset).meanCDF(EVM.getValue());
         pHigh = 1d - pLow;
         
         // Q-statistic, approximate ch-square distribution with 1 dof
@@ -554,6 +655,49 @@ public final class averagingMethods {
      * @see <a href="http://dx.doi.org/10.1016/j.nds.2014.07.019"> M. Birch, B. Singh, Nucl. Data Sheets 120, 106 (2014)</a>
      */
     public static final dataPt evm(dataPt[] dataset, averagingReport rpt){
+        int i;
+        int n;
+        double[] weights;
+        
+        n = dataset.length;
+        weights = new double[n];
+        for(i=0; i<n; i++){
+            weights[i] = totalG(dataset, dataset[i].getValue());
+        }
+        return evm(dataset, weights, rpt);
+    }
+    /**
+     * Computes the Expected Value Method result for the given dataset, 
+     * evaluating the weights with a controlled relative error instead of
+     * summing every pair of points. The weights are computed by a 
+     * {@link gaussianMixtureSum}, which skips or interpolates most of the
+     * pairs of points in large datasets, so this version should be used when
+     * the dataset is too large for the direct calculation. Each
+     * (unnormalized) weight has a relative error of at most
+     * <code>tolerance</code>. Details of the calculation are stored in 
+     * <code>rpt</code> as described in {@link #evm(ensdf_datapoint.dataPt[], averagingAlgorithms.averagingReport) 
+     * evm(dataPt[], averagingReport)}.
+     * @param dataset measurements to average
+     * @param tolerance maximum relative error in the weight of each measurement
+     * @param rpt variable to store the details of the calculation in
+     * @return Expected Value Method result for the given dataset
+     */
+    public static final dataPt evm(dataPt[] dataset, double tolerance, 
+            averagingReport rpt){
+        return evm(dataset, new gaussianMixtureSum(dataset).
+                meanDensityAtCenters(dataset, tolerance), rpt);
+    }
+    /**
+     * Computes the Expected Value Method result from the given (unnormalized)
+     * weights, <code>weights[i] = {@link #totalG(ensdf_datapoint.dataPt[], double) 
+     * totalG}(dataset, dataset[i].getValue())</code>.
+     * @param dataset measurements to average
+     * @param weights the unnormalized weight of each measurement
+     * @param rpt variable to store the details of the calculation in
+     * @return Expected Value Method result for the given dataset
+     */
+    private static dataPt evm(dataPt[] dataset, double[] weights, 
+            averagingReport rpt){
         dataPt result;
         int i;
         int n;
@@ -562,11 +706,10 @@ public final class averagingMethods {
         double extUnc;
         
         n = dataset.length;
-        normWeight = new double[n];
+        normWeight = weights;
         
         weightSum = 0d;
         for(i=0; i<n; i++){ //sum up weightings
-            normWeight[i] = totalG(dataset, dataset[i].getValue());
             weightSum += normWeight[i];
         }
         
@@ -596,12 +739,16 @@ public final class averagingMethods {
             rpt.means[0].setName("EVM (Internal Uncertainty)");
             rpt.means[1] = new dataPt(result.getValue(), extUnc, extUnc, 
                     "EVM (External Uncertainty)");
-            rpt.hypTestRpt = new double[5];
-            rpt.hypTest = EVMHypTest(dataset, result, rpt.hypTestRpt);
-            // confidence level for the test of the EVM hypothesis
-            rpt.hypTest = 1d - MathSpecialFunctions.erf(Math.sqrt(0.5d * rpt.hypTest));
-            rpt.relativeWeights = normWeight.clone();
             rpt.methodName = "Expected Value Method";
+            if(rpt.includes(averagingReport.SUMMARY)){
+                rpt.hypTestRpt = new double[5];
+                rpt.hypTest = EVMHypTest(dataset, result, rpt.hypTestRpt);
+                // confidence level for the test of the EVM hypothesis
+                rpt.hypTest = 1d - MathSpecialFunctions.erf(Math.sqrt(0.5d * rpt.hypTest));
+            }
+            if(rpt.includes(averagingReport.FULL)){
+                rpt.setRelativeWeights(normWeight);
+            }
         }catch(NullPointerException e){
             // do nothing if rpt is null
         }
@@ -806,8 +953,27 @@ public final class averagingMethods {
      */
     public static final dataPt lwm(dataPt[] dataset, double weightLimit, 
             int outlierMethod, double confidenceLevel, averagingReport rpt){
+        return lwm(new analysisContext(dataset), weightLimit, outlierMethod,
+                confidenceLevel, rpt);
+    }
+    /**
+     * Performs the {@link #lwm(ensdf_datapoint.dataPt[], double, int, double, averagingAlgorithms.averagingReport) 
+     * LWM} calculation, reusing the averages already computed in the given
+     * {@link analysisContext} for the steps which act on the unmodified dataset.
+     * The dataset is not modified; uncertainties are only adjusted on copies
+     * of the data points.
+     * @param context shared quantities of the dataset to average
+     * @param weightLimit the maximum allowed relative weight
+     * @param outlierMethod the method used to find outliers
+     * @param confidenceLevel the confidence level of the critical chi^2 calculated (in percent)
+     * @param rpt variable where the details of the calculation are saved
+     * @return the LWM result
+     */
+    public static final dataPt lwm(analysisContext context, double weightLimit, 
+            int outlierMethod, double confidenceLevel, averagingReport rpt){
         final String[] methods = {"Chauvenet", "Peirce", "Modified Peirce", "Birch"};
         final double epsilon = 0.00001;
+        dataPt[] dataset;
         dataPt result;
 	dataPt weightedMean;
         averagingReport wtRpt, uwtRpt;
@@ -818,69 +984,65 @@ public final class averagingMethods {
 	double[] regWeight;
 	double weightSum;
 	boolean leaveLoop;
-        List<dataPt> effectiveDataSetList;
+        dataSetView view; //dataset without outliers and with limited uncertainties
 	dataPt[] effectiveDataSet;
         List<dataPt> outliersList;
-	dataPt[] outliers ;
+	int[] outliers ;
 	dataPt mostPresVal; //most precise value
         List<Integer> pointsChangedList;
 	double adjRatio; //ratio wi`/wi
 	double ReducedCritChiSq;
 	double redChiSq;
         
+        dataset = context.getDataset();
         n = dataset.length;
-        outliers = new dataPt[0];
+        outliers = new int[0];
         if (n > 2){
-            if (outlierMethod == 0){
-                outliers = outlierMethods.ChauvenetCriterion(dataset);
-            }else if(outlierMethod == 1){
-                outliers = outlierMethods.PeirceCriterion(dataset);
-            }else if(outlierMethod == 2){
-                outliers = outlierMethods.ModifiedPeirceCriterion(dataset);
-            }else if(outlierMethod == 3){
-                outliers = outlierMethods.BirchCriterion(dataset);
-            }
+            outliers = outlierMethods.outlierIndices(context, outlierMethod);
         }
+        view = new dataSetView(dataset);
         outliersList = new ArrayList<>();
         for(i=0; i<outliers.length; i++){
-            if(askRemove(methods[outlierMethod], outliers[i])){
-                outliersList.add(outliers[i]);
+            if(askRemove(methods[outlierMethod], dataset[outliers[i]])){
+                view.exclude(outliers[i]);
+                outliersList.add(dataset[outliers[i]]);
             }
         }
-        if(outliers.length > 0){
-            effectiveDataSetList = new ArrayList<>();
-            for(i=0; i<n; i++){
-                if(!outliersList.contains(dataset[i])){
-                    effectiveDataSetList.add(dataset[i]);
-                }
-            }
-            effectiveDataSet = effectiveDataSetList.toArray(new dataPt[0]);
-            n = effectiveDataSet.length;
+        effectiveDataSet = view.points();
+        //the reduced chi^2 is needed even if no report is
+        wtRpt = new averagingReport(Math.max(averagingReport.SUMMARY,
+                averagingReport.detail(rpt)));
+        if(effectiveDataSet.length == n){
+            weightedMean = weightedAverage(context, wtRpt);
+            ReducedCritChiSq = context.criticalChiSq(confidenceLevel/100d);
         }else{
-            effectiveDataSet = dataset;
+            n = effectiveDataSet.length;
+            weightedMean = context.weightedAverage(view, false, wtRpt);
+            ReducedCritChiSq = criticalChiSq(n-1, confidenceLevel/100d, true);
         }
-        wtRpt = new averagingReport();
-        weightedMean = weightedAverage(effectiveDataSet, wtRpt);
         redChiSq = wtRpt.reducedChiSq;
-        ReducedCritChiSq = criticalChiSq(n-1, confidenceLevel/100d, true);
         if(redChiSq < ReducedCritChiSq){ // if chi squared is reasonable then do not limit weightings
             result = new dataPt(weightedMean);
             result.setName("LWM");
             
                 // create report
                 try{
-                    rpt.outliers = outliersList.toArray(new dataPt[0]);
-                    rpt.relativeWeights = wtRpt.relativeWeights.clone();
-                    rpt.originalDataSet = dataset.clone();
-                    rpt.adjustedDataSet = effectiveDataSet.clone();
-                    rpt.reducedChiSq = redChiSq;
-                    rpt.criticalChiSq = ReducedCritChiSq;
-                    rpt.rejectionConfidence = confidenceLevel;
+                    rpt.originalDataSet = dataset;
                     rpt.means = wtRpt.means.clone();
                     rpt.means[0].setName("LWM (Internal Uncertainty)");
                     rpt.means[1].setName("LWM (External Uncertainty)");
-                    rpt.ptChiSq = wtRpt.ptChiSq.clone();
                     rpt.methodName = "Limitation of Statistical Weights";
+                    if(rpt.includes(averagingReport.SUMMARY)){
+                        rpt.outliers = outliersList.toArray(new dataPt[0]);
+                        rpt.reducedChiSq = redChiSq;
+                        rpt.criticalChiSq = ReducedCritChiSq;
+                        rpt.rejectionConfidence = confidenceLevel;
+                    }
+                    if(rpt.includes(averagingReport.FULL)){
+                        rpt.setRelativeWeights(wtRpt::getRelativeWeights);
+                        rpt.adjustedDataSet = view.toArray();
+                        rpt.setPtChiSq(wtRpt::getPtChiSq);
+                    }
                 }catch(NullPointerException e){
                     // do nothing if rpt is null
                 }
@@ -898,23 +1060,23 @@ public final class averagingMethods {
             for(i=0; i<n; i++){
                 if(normWeight[i] - weightLimit > epsilon){ //too much weight
                     // increase uncertainty
-                    if(!pointsChangedList.contains(i)){
+                    if(!view.isAdjusted(i)){
                         pointsChangedList.add(i);
                     }
                     leaveLoop = false;
                     adjRatio = weightLimit * (weightSum - regWeight[i]) / 
                                 (regWeight[i] * ((double)1 - weightLimit));
-                    effectiveDataSet[i].setLower(effectiveDataSet[i].getLower()/
-                            Math.sqrt(adjRatio));
-                    effectiveDataSet[i].setUpper(effectiveDataSet[i].getUpper()/
+                    view.setUncertainty(i, effectiveDataSet[i].getUpper()/
+                            Math.sqrt(adjRatio), effectiveDataSet[i].getLower()/
                             Math.sqrt(adjRatio));
                     break;
                 }
             }
         }
         
-        weightedMean = weightedAverage(effectiveDataSet, wtRpt);
-        uwtRpt = new averagingReport();
+        weightedMean = context.weightedAverage(view, false, wtRpt);
+        uwtRpt = new averagingReport(Math.max(averagingReport.VALUE,
+                averagingReport.detail(rpt)));
         unWeightedMean = unweightedAverage(effectiveDataSet, uwtRpt);
         redChiSq = wtRpt.reducedChiSq;
         
@@ -927,15 +1089,19 @@ public final class averagingMethods {
                 result.setName("LWM");
                 // create report
                 try{
-                    rpt.outliers = outliersList.toArray(new dataPt[0]);
-                    rpt.originalDataSet = dataset.clone();
-                    rpt.adjustedDataSet = effectiveDataSet.clone();
-                    rpt.differenceFromMeanSq = uwtRpt.differenceFromMeanSq.clone();
+                    rpt.originalDataSet = dataset;
                     rpt.useUnweightedMean = true;
-                    rpt.changedPoints = pointsChangedList.toArray(new Integer[0]);
                     rpt.means = new dataPt[1];
                     rpt.means[0] = new dataPt(result);
                     rpt.methodName = "Limitation of Statistical Weights";
+                    if(rpt.includes(averagingReport.SUMMARY)){
+                        rpt.outliers = outliersList.toArray(new dataPt[0]);
+                        rpt.changedPoints = pointsChangedList.toArray(new Integer[0]);
+                    }
+                    if(rpt.includes(averagingReport.FULL)){
+                        rpt.adjustedDataSet = view.toArray();
+                        rpt.setDifferenceFromMeanSq(uwtRpt::getDifferenceFromMeanSq);
+                    }
                 }catch(NullPointerException e){
                     // do nothing if rpt is null
                 }
@@ -945,22 +1111,26 @@ public final class averagingMethods {
         
         result = new dataPt(weightedMean);
         result.setName("LWM");
-        mostPresVal = findPresValue(dataset, result.getValue());
+        mostPresVal = findPresValue(view.toAdjustedBase(), result.getValue());
         // create report
         try{
-            rpt.outliers = outliersList.toArray(new dataPt[0]);
-            rpt.relativeWeights = wtRpt.relativeWeights.clone();
-            rpt.originalDataSet = dataset.clone();
-            rpt.adjustedDataSet = effectiveDataSet.clone();
-            rpt.reducedChiSq = redChiSq;
-            rpt.criticalChiSq = ReducedCritChiSq;
-            rpt.rejectionConfidence = confidenceLevel;
+            rpt.originalDataSet = dataset;
             rpt.means = wtRpt.means.clone();
             rpt.means[0].setName("LWM (Internal Uncertainty)");
             rpt.means[1].setName("LWM (External Uncertainty)");
-            rpt.ptChiSq = wtRpt.ptChiSq.clone();
-            rpt.changedPoints = pointsChangedList.toArray(new Integer[0]);
             rpt.methodName = "Limitation of Statostical Weights";
+            if(rpt.includes(averagingReport.SUMMARY)){
+                rpt.outliers = outliersList.toArray(new dataPt[0]);
+                rpt.reducedChiSq = redChiSq;
+                rpt.criticalChiSq = ReducedCritChiSq;
+                rpt.rejectionConfidence = confidenceLevel;
+                rpt.changedPoints = pointsChangedList.toArray(new Integer[0]);
+            }
+            if(rpt.includes(averagingReport.FULL)){
+                rpt.setRelativeWeights(wtRpt::getRelativeWeights);
+                rpt.adjustedDataSet = view.toArray();
+                rpt.setPtChiSq(wtRpt::getPtChiSq);
+            }
         }catch(NullPointerException e){
             // do nothing if rpt is null
         }
@@ -1130,12 +1300,28 @@ public final class averagingMethods {
      */
     public static final dataPt nrm(dataPt[] dataset, double confidenceLevel,
             averagingReport rpt){
+        return nrm(new analysisContext(dataset), confidenceLevel, rpt);
+    }
+    /**
+     * Performs the {@link #nrm(ensdf_datapoint.dataPt[], double, averagingAlgorithms.averagingReport) 
+     * NRM} calculation, reusing the weighted average already computed in the
+     * given {@link analysisContext} until the first uncertainty is adjusted.
+     * @param context shared quantities of the dataset to average
+     * @param confidenceLevel confidence level used to find the critical
+     * normalized residual (between 0 and 1)
+     * @param rpt variable where the details of the calculation are saved
+     * @return The NRM result
+     */
+    public static final dataPt nrm(analysisContext context, double confidenceLevel,
+            averagingReport rpt){
+        dataPt[] dataset;
         dataPt result;
         int i, n;
         double[] weights; //normalized weighting for each datapoint
         double[] normResid; //the normalized residuals
         arrayMaxMin maxNormResid;
         double weightSum;
+        dataSetView view; //dataset with adjusted uncertainties
         dataPt[] effectiveDataSet;
         double criticalR; //used to identify outliers and increase their uncertainty
         boolean leaveLoop;
@@ -1145,9 +1331,8 @@ public final class averagingMethods {
         int iterationCount;
         averagingReport wtRpt;
         
+        dataset = context.getDataset();
         n = dataset.length;
-        effectiveDataSet = new dataPt[n];
-        
         outlierProbability = 100d * (1d - confidenceLevel);
         if(outlierProbability > (double)n){
             outlierProbability = (double)n;
@@ -1156,13 +1341,12 @@ public final class averagingMethods {
         criticalR = Math.sqrt(1.8d * Math.log((double)n / outlierProbability)
             + 2.6);
         
-        for(i=0; i<n; i++){ //copy original dataset
-            effectiveDataSet[i] = new dataPt(dataset[i]);
-        }
+        view = new dataSetView(dataset);
+        effectiveDataSet = view.points();
         
         weights = calcSigmaSqWeights(effectiveDataSet, false);
         weightSum = MathBasicFunction.sum(weights);
-        result = weightedAverage(effectiveDataSet);
+        result = context.weightedAverage();
         
         normResid = CalcNormalizedResiduals(effectiveDataSet, weights, result.getValue());
         
@@ -1177,7 +1361,7 @@ public final class averagingMethods {
             if(maxNormResid.max > criticalR){
                 leaveLoop = false;
                 i = maxNormResid.maxInd;
-                if(!pointsChangedList.contains(i)){
+                if(!view.isAdjusted(i)){
                     pointsChangedList.add(i);
                 }
                 adjRatio = (1.0d - (weightSum * (Math.pow(normResid[i],2) - 
@@ -1187,13 +1371,12 @@ public final class averagingMethods {
                 // adjRatio is the adjustment such that the new weight
                 // reduces the normalzed residual to the critical value
                 weights[i] *= adjRatio; // adjust weight
-                effectiveDataSet[i].setLower(effectiveDataSet[i].getLower()/
-                        Math.sqrt(adjRatio));
-                effectiveDataSet[i].setUpper(effectiveDataSet[i].getUpper()/
+                view.setUncertainty(i, effectiveDataSet[i].getUpper()/
+                        Math.sqrt(adjRatio), effectiveDataSet[i].getLower()/
                         Math.sqrt(adjRatio));
                 
                 weightSum = MathBasicFunction.sum(weights);
-                result = weightedAverage(effectiveDataSet);
+                result = context.weightedAverage(view, false, null);
                 normResid = CalcNormalizedResiduals(effectiveDataSet, weights, 
                         result.getValue());
             }
@@ -1204,24 +1387,29 @@ public final class averagingMethods {
             }
         }
         
-        wtRpt = new averagingReport();
-        result = weightedAverage(effectiveDataSet, wtRpt);
+        wtRpt = new averagingReport(Math.max(averagingReport.VALUE,
+                averagingReport.detail(rpt)));
+        result = context.weightedAverage(view, false, wtRpt);
         result.setName("NRM");
         
         try{
-            rpt.relativeWeights = wtRpt.relativeWeights.clone();
-            rpt.originalDataSet = dataset.clone();
-            rpt.adjustedDataSet = effectiveDataSet.clone();
-            rpt.normalizedResiduals = normResid.clone();
-            rpt.reducedChiSq = wtRpt.reducedChiSq;
-            rpt.criticalChiSq = criticalChiSq(n-1, critChiSqConf, true);
-            rpt.rejectionConfidence = 100d*critChiSqConf;
+            rpt.originalDataSet = dataset;
             rpt.means = wtRpt.means.clone();
             rpt.means[0].setName("NRM (Internal Uncertainty)");
             rpt.means[1].setName("NRM (External Uncertainty)");
-            rpt.ptChiSq = wtRpt.ptChiSq.clone();
-            rpt.changedPoints = pointsChangedList.toArray(new Integer[0]);
             rpt.methodName = "Normalized Residuals Method";
+            if(rpt.includes(averagingReport.SUMMARY)){
+                rpt.reducedChiSq = wtRpt.reducedChiSq;
+                rpt.criticalChiSq = context.criticalChiSq(critChiSqConf);
+                rpt.rejectionConfidence = 100d*critChiSqConf;
+                rpt.changedPoints = pointsChangedList.toArray(new Integer[0]);
+            }
+            if(rpt.includes(averagingReport.FULL)){
+                rpt.setRelativeWeights(wtRpt::getRelativeWeights);
+                rpt.adjustedDataSet = view.toArray();
+                rpt.normalizedResiduals = normResid;
+                rpt.setPtChiSq(wtRpt::getPtChiSq);
+            }
         }catch(NullPointerException e){
             // do nothing if rpt is null
         }
@@ -1281,13 +1469,29 @@ public final class averagingMethods {
      */
     public static final dataPt rt(dataPt[] dataset, int outlierConfidenceLevel,
             averagingReport rpt){
+        return rt(new analysisContext(dataset), outlierConfidenceLevel, rpt);
+    }
+    /**
+     * Performs the {@link #rt(ensdf_datapoint.dataPt[], int, averagingAlgorithms.averagingReport) 
+     * RT} calculation, reusing the unweighted average and the variances
+     * already computed in the given {@link analysisContext}, as well as the
+     * weighted average while no points have been excluded or adjusted.
+     * @param context shared quantities of the dataset to average
+     * @param outlierConfidenceLevel 1, 2 or 3 for outliers at 95%, 99% or
+     * 99.99% confidence
+     * @param rpt variable where the details of the calculation are saved
+     * @return the RT result
+     */
+    public static final dataPt rt(analysisContext context, int outlierConfidenceLevel,
+            averagingReport rpt){
         
         //outlierConfidenceLevel of 1 means 95%, 2 means 99%, 3 means 99.99%
+        dataPt[] dataset;
+        double[] variances;
         dataPt result, unweightedMean, weightedMean;
         int i, n;
-        List<dataPt> effectiveDataSetList;
+        dataSetView view; //dataset without outliers and with adjusted uncertainties
 	dataPt[] effectiveDataSet;
-        List<dataPt> outliersList;
         double reducedMean, reducedSD; //mean and standard deviation used in
                                       //finding outliers
         
@@ -1295,23 +1499,21 @@ public final class averagingMethods {
         List<Integer> pointsChangedList;
         boolean leaveLoop;
         double[] outlyingStat;
-        double inconsistantStatistic;
-        dataPt stdNorm;
+        double[] inconsistantStatistic;
         double criticalIncons;
         averagingReport wtRpt;
         
-        stdNorm = new dataPt(0, 1, 1, "Standard Normal");
-        
+        dataset = context.getDataset();
+        variances = context.variances();
         n = dataset.length;
         
         //Stage 1: find outliers
         outlyingStat = new double[n];
-        outliersList = new ArrayList<>();
-        effectiveDataSetList = new ArrayList<>();
-        unweightedMean = unweightedAverage(dataset);
+        view = new dataSetView(dataset);
+        unweightedMean = context.unweightedAverage();
         for(i=0;i<n;i++){
             // ensure number of points not less than 3
-            if(n - outliersList.size() < 4){
+            if(n - view.numExcluded() < 4){
                 break;
             }
             //mean without i-th data point
@@ -1323,71 +1525,74 @@ public final class averagingMethods {
                            (unweightedMean.getValue() - dataset[i].getValue()) /
                             ((double)((n-1)*(n-1)*(n-2))));
             outlyingStat[i] = (dataset[i].getValue() - reducedMean) / 
-                    Math.sqrt(dataset[i].gaussVariance() + reducedSD*reducedSD);
+                    Math.sqrt(variances[i] + reducedSD*reducedSD);
             
             if(Math.abs(outlyingStat[i]) > 1.96d * (double)outlierConfidenceLevel){
                 if(askRemove("Rajeval Technique", dataset[i])){
-                    outliersList.add(dataset[i]);
+                    view.exclude(i);
                 }
             }
         }
-        for(i=0;i<n;i++){
-            // add a copy of all data points which are not outliers to
-            // the effective dataset for (possible) uncertainty modification
-            if(!outliersList.contains(dataset[i])){
-                effectiveDataSetList.add(new dataPt(dataset[i]));
-            }
-        }
-        effectiveDataSet = effectiveDataSetList.toArray(new dataPt[0]);
+        // the points which are not outliers, whose uncertainties may be
+        // modified in the view
+        effectiveDataSet = view.points();
         n = effectiveDataSet.length;
         pointsChangedList = new ArrayList<>();
         leaveLoop = false;
         criticalIncons = Math.pow(0.5d, (double)n/(double)(n-1));
+        inconsistantStatistic = new double[n];
         while(!leaveLoop){
             // stage two find inconstistancies
             
             //calculate weighted mean with internal uncertainty
-            weightedMean = weightedAverage(effectiveDataSet, true);
+            weightedMean = context.weightedAverage(view, true, null);
             leaveLoop = true;
             for(i=0;i<n;i++){
-                inconsistantStatistic = (effectiveDataSet[i].getValue() -
+                inconsistantStatistic[i] = (effectiveDataSet[i].getValue() -
                         weightedMean.getValue()) / Math.sqrt(effectiveDataSet[i].gaussVariance() -
                                 weightedMean.gaussVariance());
-                if(Math.abs(MathSpecialFunctions.normalIntegral(stdNorm, inconsistantStatistic) -
-                        0.5d) > criticalIncons){
-                    if(!pointsChangedList.contains(i)){
+            }
+            normalCDF.standardCDF(inconsistantStatistic, inconsistantStatistic);
+            for(i=0;i<n;i++){
+                if(Math.abs(inconsistantStatistic[i] - 0.5d) > criticalIncons){
+                    if(!view.isAdjusted(i)){
                         pointsChangedList.add(i);
                     }
                     leaveLoop = false;
                     // stage three adjust uncertainties
-                    effectiveDataSet[i].setLower(Math.sqrt(effectiveDataSet[i].getLower()*
+                    view.setUncertainty(i, Math.sqrt(effectiveDataSet[i].getUpper()*
+                            effectiveDataSet[i].getUpper() + weightedMean.getUpper()*
+                                    weightedMean.getUpper()), 
+                            Math.sqrt(effectiveDataSet[i].getLower()*
                             effectiveDataSet[i].getLower() + weightedMean.getLower()*
                                     weightedMean.getLower()));
-                    effectiveDataSet[i].setUpper(Math.sqrt(effectiveDataSet[i].getUpper()*
-                            effectiveDataSet[i].getUpper() + weightedMean.getUpper()*
-                                    weightedMean.getUpper()));
                 }
             }   
         }
-        wtRpt = new averagingReport();
-        result = weightedAverage(effectiveDataSet, wtRpt);
+        wtRpt = new averagingReport(Math.max(averagingReport.VALUE,
+                averagingReport.detail(rpt)));
+        result = context.weightedAverage(view, false, wtRpt);
         result.setName("RT");
         
         // create report
         try{
-            rpt.relativeWeights = wtRpt.relativeWeights.clone();
-            rpt.originalDataSet = dataset.clone();
-            rpt.adjustedDataSet = effectiveDataSet.clone();
-            rpt.reducedChiSq = wtRpt.reducedChiSq;
-            rpt.criticalChiSq = criticalChiSq(n-1, critChiSqConf, true);
-            rpt.rejectionConfidence = 100d*critChiSqConf;
+            rpt.originalDataSet = dataset;
             rpt.means = wtRpt.means.clone();
             rpt.means[0].setName("RT (Internal Uncertainty)");
             rpt.means[1].setName("RT (External Uncertainty)");
-            rpt.ptChiSq = wtRpt.ptChiSq.clone();
-            rpt.changedPoints = pointsChangedList.toArray(new Integer[0]);
-            rpt.outliers = outliersList.toArray(new dataPt[0]);
             rpt.methodName = "Rajeval Technique";
+            if(rpt.includes(averagingReport.SUMMARY)){
+                rpt.reducedChiSq = wtRpt.reducedChiSq;
+                rpt.criticalChiSq = criticalChiSq(n-1, critChiSqConf, true);
+                rpt.rejectionConfidence = 100d*critChiSqConf;
+                rpt.changedPoints = pointsChangedList.toArray(new Integer[0]);
+                rpt.outliers = view.getExcluded();
+            }
+            if(rpt.includes(averagingReport.FULL)){
+                rpt.setRelativeWeights(wtRpt::getRelativeWeights);
+                rpt.adjustedDataSet = view.toArray();
+                rpt.setPtChiSq(wtRpt::getPtChiSq);
+            }
         }catch(NullPointerException e){
             // do nothing if rpt is null
         }
@@ -1527,13 +1732,15 @@ public final class averagingMethods {
         result = new dataPt(mean, uncertainty, uncertainty,"Bootstrap");
         
         try{
-            rpt.originalDataSet = dataset.clone();
+            rpt.originalDataSet = dataset;
             rpt.means = new dataPt[1];
             rpt.means[0] = result;
-            rpt.reducedChiSq = WeightedAveChiSq(dataset, result.getValue()) / 
-                    (double)(n-1);
-            rpt.bootstrap_NUM_MEDIANS = NUM_MEDIANS;
             rpt.methodName = "Bootstrap";
+            if(rpt.includes(averagingReport.SUMMARY)){
+                rpt.reducedChiSq = WeightedAveChiSq(dataset, result.getValue()) / 
+                        (double)(n-1);
+                rpt.bootstrap_NUM_MEDIANS = NUM_MEDIANS;
+            }
         }catch(NullPointerException e){
             // do nothing if rpt is null
         }
@@ -1576,19 +1783,20 @@ public final class averagingMethods {
     /**
      * Calculates the weights of the data points according to the Mandel-Paule
      * method. <code>w[i] = 1/(y + dataset[i].gaussVariance())</code>
-     * @param dataset input data points
+     * @param variances the {@link ensdf_datapoint.dataPt#gaussVariance() 
+     * Gaussian variance} of each data point
      * @param y weights modifier
      * @return the Mandel-Paule weights
      * @see <a href="http://dx.doi.org/10.1080/01621459.1998.10474111"> A.L. Rukhin and M.G. Vangel, J. Am. Stat. Assoc. 93, 303 (1998)</a>
      */
-    private static double[] mpWeights(dataPt[] dataset, double y){
+    private static double[] mpWeights(double[] variances, double y){
         double[] result;
         int i,n;
         
-        n = dataset.length;
+        n = variances.length;
         result = new double[n];
         for(i=0; i<n; i++){
-            result[i] = 1d / (y + dataset[i].gaussVariance());
+            result[i] = 1d / (y + variances[i]);
          }
         
         return result;
@@ -1618,18 +1826,21 @@ public final class averagingMethods {
      * Function used by the Mandel-Paule method to estimate the "variance
      * parameter", which should be zero for the correct value of y.
      * @param dataset input data points
-     * @param y weights modifier (see {@link #mpWeights(ensdf_datapoint.dataPt[], double) mpWeights})
+     * @param variances the {@link ensdf_datapoint.dataPt#gaussVariance() 
+     * Gaussian variance} of each data point
+     * @param y weights modifier (see {@link #mpWeights(double[], double) mpWeights})
      * @return Mandel-Paule variance parameter
      * @see <a href="http://dx.doi.org/10.1080/01621459.1998.10474111"> A.L. Rukhin and M.G. Vangel, J. Am. Stat. Assoc. 93, 303 (1998)</a>
      */
-    private static double mpFunction(dataPt[] dataset, double y){
+    private static double mpFunction(dataPt[] dataset, double[] variances,
+            double y){
         double result;
         double[] weights;
         double mean;
         int n, i;
         
         n = dataset.length;
-        weights = mpWeights(dataset, y);
+        weights = mpWeights(variances, y);
         mean = weightedSum(dataset, weights);
         
         result = 0d;
@@ -1656,6 +1867,22 @@ public final class averagingMethods {
      */
     public static final dataPt mp(dataPt[] dataset, double precision, int maxIt,
             averagingReport rpt){
+        return mp(new analysisContext(dataset), precision, maxIt, rpt);
+    }
+    /**
+     * Performs the {@link #mp(ensdf_datapoint.dataPt[], double, int, averagingAlgorithms.averagingReport) 
+     * MP} calculation, reusing the unweighted and weighted averages and the
+     * variances already computed in the given {@link analysisContext}.
+     * @param context shared quantities of the dataset to average
+     * @param precision precision with which to find the root
+     * @param maxIt maximum number of iterations to use in the bisection algorithm
+     * @param rpt variable where the details of the calculation are saved
+     * @return MP result
+     */
+    public static final dataPt mp(analysisContext context, double precision,
+            int maxIt, averagingReport rpt){
+        dataPt[] dataset;
+        double[] variances;
         dataPt result, unweightedMean, weightedMean;
         int n, i;
         double[] weights;
@@ -1666,32 +1893,34 @@ public final class averagingMethods {
         //upper and mid y values. The MP function is monotonically decreasing,
         //so fUpper < fLower.
         
+        dataset = context.getDataset();
+        variances = context.variances();
         n = dataset.length;
         yLower = 0d;
-        fLower = mpFunction(dataset, yLower);
+        fLower = mpFunction(dataset, variances, yLower);
         
         yMid = 0d;
         if(fLower < 0){
             // actual root is a negative value, use y=0 as the solution
             yMid = 0d;
         }else{
-            unweightedMean = unweightedAverage(dataset);
+            unweightedMean = context.unweightedAverage();
             // use uncertainty in the unweighted average as a first guess of
             //the upper bound
             yUpper = (double)n * unweightedMean.gaussVariance();
-            fUpper = mpFunction(dataset, yUpper);
+            fUpper = mpFunction(dataset, variances, yUpper);
             
             if(fUpper > 0){ //haven't crossed zero yet
                 yLower = yUpper; //can safely move yLower here
                 while(fUpper > 0){
                     yUpper *= 1.1; //add 10% until the function is negative
-                    fUpper = mpFunction(dataset, yUpper);
+                    fUpper = mpFunction(dataset, variances, yUpper);
                 }
             }
             
             for(i=1; i<=maxIt; i++){ //the bisection
                 yMid = 0.5d * (yLower + yUpper); //compute mid-point
-                fMid = mpFunction(dataset,yMid);
+                fMid = mpFunction(dataset, variances, yMid);
                 
                 if(Math.abs(fMid) < precision){
                     break;
@@ -1706,12 +1935,12 @@ public final class averagingMethods {
             }
         }
         
-        weights = mpWeights(dataset, yMid); //calculate weights with bisection solution
+        weights = mpWeights(variances, yMid); //calculate weights with bisection solution
         result = new dataPt();
         result.setName("Mandel-Paule");
         result.setValue(weightedSum(dataset, weights));
         
-        weightedMean = weightedAverage(dataset);
+        weightedMean = context.weightedAverage();
         //choose larger error between the variance estimate and the weighted
         //average uncertainty
         if(yMid > weightedMean.gaussVariance()){
@@ -1723,17 +1952,21 @@ public final class averagingMethods {
         }
         
         try{
-            rpt.originalDataSet = dataset.clone();
+            rpt.originalDataSet = dataset;
             rpt.means = new dataPt[1];
             rpt.means[0] = result;
-            rpt.reducedChiSq = WeightedAveChiSq(dataset, result.getValue()) / 
-                    (double)(n-1);
-            weightSum = MathBasicFunction.sum(weights);
-            rpt.relativeWeights = new double[n];
-            for(i=0; i<n; i++){
-                rpt.relativeWeights[i] = weights[i] / weightSum;
-            }
             rpt.methodName = "Mandel-Paule Method";
+            if(rpt.includes(averagingReport.SUMMARY)){
+                rpt.reducedChiSq = WeightedAveChiSq(dataset, result.getValue()) / 
+                        (double)(n-1);
+            }
+            if(rpt.includes(averagingReport.FULL)){
+                weightSum = MathBasicFunction.sum(weights);
+                for(i=0; i<n; i++){
+                    weights[i] /= weightSum;
+                }
+                rpt.setRelativeWeights(weights);
+            }
         }catch(NullPointerException e){
             // do nothing if rpt is null
         }
@@ -1788,64 +2021,59 @@ public final class averagingMethods {
      * Calculates the "average" of the dataset using the Consistent Minium
      * Variance method. This method returns the mean such that the associated
      * variance for the mean to be consistent with the dataset (within
-     * probability p according to Birch's criterion) is minimized.
+     * probability p according to Birch's criterion) is minimized. See
+     * {@link consistentVarianceCurve} for details of the calculation.
      * @param dataset the set of measurements to compute the mean of
      * @param p the probability (in %) that the dataset in consistent with the mean
      * @return the Consistent Minimum Variance method result
      */
     public static final dataPt consistanMinimumVarianceMethod(dataPt[] dataset, 
             double p){
-        final int MAXSTEPS = 1000;
-        final double precision = Math.sqrt(Math.nextUp(0d)); // sqrt machine epsilon
-        double mean, variance;
-        double lower, upper, minVar, lowerThird, upperThird;
-        int i, n;
-        dataPt result;
-        
-        n = dataset.length;
+        double[] levels;
         
-        lower = dataset[0].getValue();
-        upper = dataset[0].getValue();
-        minVar = dataset[0].gaussVariance();
-        
-        for(i=1; i<n; i++){
-            if(dataset[i].getValue() > upper){
-                upper = dataset[i].getValue();
-            }else if(dataset[i].getValue() < lower){
-                lower = dataset[i].getValue();
-            }
-            if(dataset[i].gaussVariance() < minVar){
-                minVar = dataset[i].gaussVariance();
-            }
-        }
-        mean = 0d;
+        levels = new double[1];
+        levels[0] = p;
+        return new consistentVarianceCurve(dataset, levels).getPoint(0);
+    }
+    
+    /**
+     * Calculates the {@link #consistanMinimumVarianceMethod(ensdf_datapoint.dataPt[], double) 
+     * Consistent Minimum Variance} result for each of the given probability
+     * levels. The dataset is sorted only once and reused for all of the levels,
+     * so the whole curve costs about as much as a single evaluation. See 
+     * {@link consistentVarianceCurve} for details.
+     * @param dataset the set of measurements to compute the mean of
+     * @param p the probabilities (in %) that the dataset in consistent with the mean
+     * @return the means and variances at each probability level
+     */
+    public static final consistentVarianceCurve consistanMinimumVarianceCurve(
+            dataPt[] dataset, double[] p){
+        return new consistentVarianceCurve(dataset, p);
+    }
+    /**
+     * Calls <code>{@link #consistanMinimumVarianceCurve(ensdf_datapoint.dataPt[], double[]) 
+     * consistanMinimumVarianceCurve(dataset, p)}</code> with <code>numSteps</code>
+     * equally spaced probability levels from <code>pMin</code> to <code>pMax</code>
+     * (inclusive).
+     * @param dataset the set of measurements to compute the mean of
+     * @param pMin the smallest probability level (in %)
+     * @param pMax the largest probability level (in %)
+     * @param numSteps the number of probability levels
+     * @return the means and variances at each probability level
+     */
+    public static final consistentVarianceCurve consistanMinimumVarianceCurve(
+            dataPt[] dataset, double pMin, double pMax, int numSteps){
+        double[] p;
+        int i;
         
-        // search for minimum using a ternary search
-        for(i=0; i<MAXSTEPS; i++){
-            if (upper - lower < precision){
-                break;
-            }
-            lowerThird = lower + (upper - lower)/3d;
-            upperThird = upper - (upper - lower)/3d;
-            
-            if(outlierMethods.consistantVariance(lowerThird, dataset, p) > 
-                    outlierMethods.consistantVariance(upperThird, dataset, p)){
-                lower = lowerThird;
+        p = new double[numSteps];
+        for(i=0; i<numSteps; i++){
+            if(numSteps == 1){
+                p[i] = pMin;
             }else{
-                upper = upperThird;
+                p[i] = pMin + (pMax - pMin) * (double)i / (double)(numSteps - 1);
             }
-            mean = 0.5d * (upper + lower);
-        }
-        
-        
-        variance = outlierMethods.consistantVariance(mean, dataset, p);
-
-        if(variance < 0){
-            variance = minVar;
         }
-
-        result = new dataPt(mean, Math.sqrt(variance), Math.sqrt(variance));
-        
-        return(result);
+        return new consistentVarianceCurve(dataset, p);
     }
 }
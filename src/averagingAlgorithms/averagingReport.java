@@ -2,10 +2,13 @@
 package averagingAlgorithms;
 
 import ensdf_datapoint.dataPt;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 import java.util.ArrayList;
 import java.util.Arrays;
-import text_io.textTable;
+import java.util.function.Supplier;
+import text_io.printfFormatter;
 
 /**
  * This class generates the reports which give detailed output from the
@@ -16,14 +19,30 @@ import text_io.textTable;
  * @author Michael Birch
  */
 public class averagingReport {
+    /**
+     * Detail level at which only the means, the method name and (a reference
+     * to) the original dataset are saved, along with whether the LWM adopted
+     * the unweighted average.
+     */
+    public static final int VALUE = 0;
+    /**
+     * Detail level at which the {@link #VALUE} details are saved, together
+     * with the reduced and critical chi^2, confidence levels, outliers and
+     * the indices of the points whose uncertainties were changed.
+     */
+    public static final int SUMMARY = 1;
+    /**
+     * Detail level at which everything is saved, including the arrays with
+     * one element for each point (weights, point chi^2, etc.) and the
+     * adjusted dataset. This is the default.
+     */
+    public static final int FULL = 2;
+    
     public dataPt[] outliers;
     public dataPt[] adjustedDataSet;
     public dataPt[] originalDataSet;
     public dataPt[] means;
-    public double[] ptChiSq;
     public double[] normalizedResiduals;
-    public double[] differenceFromMeanSq;
-    public double[] relativeWeights;
     public double reducedChiSq;
     public double criticalChiSq;
     public double rejectionConfidence;
@@ -34,12 +53,33 @@ public class averagingReport {
     public double bootstrap_NUM_MEDIANS;
     public String dataSetName;
     public String methodName;
+    private final int detail;
+    //per-point arrays, read through their getters since they may not be
+    //copied or computed until first read (when they are pending)
+    private double[] ptChiSq;
+    private double[] differenceFromMeanSq;
+    private double[] relativeWeights;
+    private Supplier<double[]> pendingRelativeWeights;
+    private Supplier<double[]> pendingPtChiSq;
+    private Supplier<double[]> pendingDifferenceFromMeanSq;
     
     /**
      * Default constructor: all numeric members are set to -1, all other 
-     * members are set to null.
+     * members are set to null. All details of the calculation are saved
+     * (see {@link #FULL}).
      */
     public averagingReport(){
+        this(FULL);
+    }
+    
+    /**
+     * Creates an empty report which only saves the details of the
+     * calculation up to the given level. The averaging methods skip the work
+     * of computing and copying any details above this level.
+     * @param detail one of {@link #VALUE}, {@link #SUMMARY} or {@link #FULL}
+     */
+    public averagingReport(int detail){
+        this.detail = detail;
         this.adjustedDataSet = null;
         this.criticalChiSq = -1.0d;
         this.differenceFromMeanSq = null;
@@ -58,6 +98,135 @@ public class averagingReport {
         this.hypTestRpt = null;
         this.dataSetName = null;
         this.methodName = null;
+        this.pendingRelativeWeights = null;
+        this.pendingPtChiSq = null;
+        this.pendingDifferenceFromMeanSq = null;
+    }
+    
+    /**
+     * Returns the level of detail saved in this report.
+     * @return one of {@link #VALUE}, {@link #SUMMARY} or {@link #FULL}
+     */
+    public int getDetail(){
+        return this.detail;
+    }
+    
+    /**
+     * Returns <code>true</code> if the details at the given level are
+     * saved in this report.
+     * @param level one of {@link #VALUE}, {@link #SUMMARY} or {@link #FULL}
+     * @return <code>true</code> if the details at the given level are saved
+     */
+    public boolean includes(int level){
+        return this.detail >= level;
+    }
+    
+    /**
+     * Returns the detail level of a report, or -1 if it is <code>null</code>
+     * (i.e. no details are wanted).
+     * @param rpt the report, may be <code>null</code>
+     * @return the detail level of the report
+     */
+    static int detail(averagingReport rpt){
+        return rpt == null ? -1 : rpt.detail;
+    }
+    
+    /**
+     * Returns the relative weight of each point. The weights may be copied
+     * (or computed) only when first read.
+     * @return the relative weight of each point, or <code>null</code>
+     */
+    public synchronized double[] getRelativeWeights(){
+        if(this.pendingRelativeWeights != null){
+            this.relativeWeights = this.pendingRelativeWeights.get();
+            this.pendingRelativeWeights = null;
+        }
+        return this.relativeWeights;
+    }
+    
+    /**
+     * Returns the chi^2 of each point. The array may be copied (or computed)
+     * only when first read.
+     * @return the chi^2 of each point, or <code>null</code>
+     */
+    public synchronized double[] getPtChiSq(){
+        if(this.pendingPtChiSq != null){
+            this.ptChiSq = this.pendingPtChiSq.get();
+            this.pendingPtChiSq = null;
+        }
+        return this.ptChiSq;
+    }
+    
+    /**
+     * Returns the squared difference of each point from the unweighted
+     * mean. The array may be copied (or computed) only when first read.
+     * @return the squared difference of each point from the mean, or
+     * <code>null</code>
+     */
+    public synchronized double[] getDifferenceFromMeanSq(){
+        if(this.pendingDifferenceFromMeanSq != null){
+            this.differenceFromMeanSq = this.pendingDifferenceFromMeanSq.get();
+            this.pendingDifferenceFromMeanSq = null;
+        }
+        return this.differenceFromMeanSq;
+    }
+    
+    /**
+     * Sets the relative weight of each point.
+     * @param weights the relative weight of each point
+     */
+    synchronized void setRelativeWeights(double[] weights){
+        this.relativeWeights = weights;
+        this.pendingRelativeWeights = null;
+    }
+    
+    /**
+     * Sets the chi^2 of each point.
+     * @param chiSq the chi^2 of each point
+     */
+    synchronized void setPtChiSq(double[] chiSq){
+        this.ptChiSq = chiSq;
+        this.pendingPtChiSq = null;
+    }
+    
+    /**
+     * Sets the squared difference of each point from the mean.
+     * @param differences the squared difference of each point from the mean
+     */
+    synchronized void setDifferenceFromMeanSq(double[] differences){
+        this.differenceFromMeanSq = differences;
+        this.pendingDifferenceFromMeanSq = null;
+    }
+    
+    /**
+     * Sets the relative weights to be given by <code>weights</code> when
+     * first read.
+     * @param weights gives the relative weight of each point
+     */
+    synchronized void setRelativeWeights(Supplier<double[]> weights){
+        this.relativeWeights = null;
+        this.pendingRelativeWeights = weights;
+    }
+    
+    /**
+     * Sets the chi^2 of each point to be given by <code>chiSq</code> when
+     * first read.
+     * @param chiSq gives the chi^2 of each point
+     */
+    synchronized void setPtChiSq(Supplier<double[]> chiSq){
+        this.ptChiSq = null;
+        this.pendingPtChiSq = chiSq;
+    }
+    
+    /**
+     * Sets the squared differences from the mean to be given by
+     * <code>differences</code> when first read.
+     * @param differences gives the squared difference of each point from
+     * the mean
+     */
+    synchronized void setDifferenceFromMeanSq(Supplier<double[]> differences){
+        this.differenceFromMeanSq = null;
+        this.pendingDifferenceFromMeanSq = differences;
     }
     
     /**
@@ -76,12 +245,9 @@ public class averagingReport {
      * @return full report method footer
      */
     public String methodFooter(){
-        String result = "";
-        int i;
-        for(i=0; i<14+this.methodName.length(); i++){
-            result += "-";
-        }
-        return result + "\n";
+        char[] result = new char[14+this.methodName.length()];
+        Arrays.fill(result, '-');
+        return new String(result) + "\n";
     }
     
     /**
@@ -99,12 +265,9 @@ public class averagingReport {
      * @return full report dataset footer
      */
     public String dataSetFooter(){
-        String result = "";
-        int i;
-        for(i=0; i<14+this.dataSetName.length(); i++){
-            result += "*";
-        }
-        return result + "\n";
+        char[] result = new char[14+this.dataSetName.length()];
+        Arrays.fill(result, '*');
+        return new String(result) + "\n";
     }
     
     /**
@@ -215,102 +378,168 @@ public class averagingReport {
      * @return String representation of the double x given to 2 decimal
      * places
      */
-    private String doublePrint(double x){
+    static String doublePrint(double x){
+        StringBuilder result = new StringBuilder(12);
+        doublePrint(result, x);
+        return result.toString();
+    }
+    
+    /**
+     * Appends the String representation of the double x given by
+     * {@link #doublePrint(double)} to a StringBuilder, without creating any
+     * intermediate Strings.
+     * @param sb the StringBuilder to append to
+     * @param x number to print
+     */
+    static void doublePrint(StringBuilder sb, double x){
         if(Math.abs(x) < 0.01){
-            return String.format("%1.2e", x);
+            printfFormatter.appendScientific(sb, x, 2);
         }else{
-            return String.format("%1.2f", x);
+            printfFormatter.appendFixed(sb, x, 2);
         }
     }
     
+    
     /**
      * Returns a complete listing of the data contained in the report. The
      * result of this function is the output saved when the user chooses to
-     * save a report file from the V.AveLib GUI.
+     * save a report file from the V.AveLib GUI. For long reports, consider
+     * {@link #writeFullReport(java.lang.Appendable)} instead, which writes
+     * the same lines without keeping them all in memory.
      * @return a complete listing of the data contained in the report
      */
     public List<String> fullReport(){
-        textTable reportData = new textTable();
-        int i;
         List<String> result;
-        int n = this.originalDataSet.length;
         
-        //unweighted average report
-        if(this.differenceFromMeanSq != null){
-            reportData.setCell(0, 0, "Data Point");
-            reportData.setCell(0, 1, "(Difference from mean)**2");
-            for(i=0; i<this.differenceFromMeanSq.length; i++){
-                reportData.setCell(i+1, 0, this.originalDataSet[i].toString(true));
-                reportData.setCell(i+1, 1, doublePrint(this.differenceFromMeanSq[i]));
+        result = new ArrayList<>();
+        try{
+            writeFullReport(new reportLines(null, null, result));
+        }catch(IOException e){ //not thrown when collecting lines in a List
+            throw new UncheckedIOException(e);
+        }
+        return result;
+    }
+    
+    /**
+     * Writes the {@link #fullReport() full report} to <code>out</code> (e.g.
+     * a <code>BufferedWriter</code>) as it is generated, ending each line with
+     * the given line separator. The widths of the columns of the data point
+     * table are found in a first pass over the data, so no table is built.
+     * @param out where to write the report
+     * @param lineSeparator the String written after each line
+     * @throws IOException if <code>out</code> cannot be written to
+     */
+    public void writeFullReport(Appendable out, String lineSeparator) throws IOException{
+        writeFullReport(new reportLines(out, lineSeparator, null));
+    }
+    
+    /**
+     * Calls <code>{@link #writeFullReport(java.lang.Appendable, java.lang.String)
+     * writeFullReport(out, System.lineSeparator())}</code>, which gives the
+     * same file as writing the {@link #fullReport() full report} with
+     * <code>{@link text_io.textFileIO#write(java.util.List, java.lang.String)
+     * textFileIO.write}</code>.
+     * @param out where to write the report
+     * @throws IOException if <code>out</code> cannot be written to
+     */
+    public void writeFullReport(Appendable out) throws IOException{
+        writeFullReport(out, System.lineSeparator());
+    }
+    
+    //receives the lines of the full report, either writing them to an
+    //Appendable or collecting them in a List
+    private static final class reportLines{
+        private final Appendable out;
+        private final String lineSeparator;
+        private final List<String> lines;
+        
+        private reportLines(Appendable out, String lineSeparator, List<String> lines){
+            this.out = out;
+            this.lineSeparator = lineSeparator;
+            this.lines = lines;
+        }
+        
+        private void add(CharSequence line) throws IOException{
+            if(this.lines != null){
+                this.lines.add(line.toString());
+            }else{
+                this.out.append(line).append(this.lineSeparator);
             }
+        }
+    }
+    
+    private void writeFullReport(reportLines result) throws IOException{
+        String[] headers;
+        double[][] columns;
+        double[] scales;
+        dataPt[] points;
+        boolean marked;
+        int rows, i;
+        int n = this.originalDataSet.length;
+        StringBuilder line;
+        
+        //copy any arrays which have not been read yet
+        this.getRelativeWeights();
+        this.getPtChiSq();
+        this.getDifferenceFromMeanSq();
+        
+        //choose the columns of the data point table
+        headers = null;
+        columns = new double[0][];
+        scales = new double[0];
+        points = null;
+        rows = 0;
+        marked = false;
+        if(this.differenceFromMeanSq != null){ //unweighted average report
+            headers = new String[]{"Data Point", "(Difference from mean)**2"};
+            columns = new double[][]{this.differenceFromMeanSq};
+            scales = new double[]{1d};
+            points = this.originalDataSet;
+            rows = this.differenceFromMeanSq.length;
         }else if(this.normalizedResiduals != null){ //NRM report
-            reportData.setCell(0, 0, "Data Point");
-            reportData.setCell(0, 1, "Relative Weight (%)");
-            reportData.setCell(0, 2, "Point Chi**2");
-            reportData.setCell(0, 3, "Normalized Residual");
-            for(i=0; i<this.adjustedDataSet.length; i++){
-                if(Arrays.asList(this.changedPoints).contains(i)){
-                    reportData.setCell(i+1, 0, this.adjustedDataSet[i].toString(true) + "**");
-                }else{
-                    reportData.setCell(i+1, 0, this.adjustedDataSet[i].toString(true));
-                }
-                reportData.setCell(i+1, 1, doublePrint(this.relativeWeights[i]*100d));
-                reportData.setCell(i+1, 2, doublePrint(this.ptChiSq[i]));
-                reportData.setCell(i+1, 3, doublePrint(this.normalizedResiduals[i]));
-            }
-        }else if (this.hypTestRpt != null){ // EVM report
-            reportData.setCell(0, 0, "Data Point");
-            reportData.setCell(0, 1, "Relative Weight (%)");
-            for(i=0; i<this.originalDataSet.length; i++){
-                reportData.setCell(i+1, 0, this.originalDataSet[i].toString(true));
-                reportData.setCell(i+1, 1, doublePrint(this.relativeWeights[i]*100d));
-            }
-        } else if (this.ptChiSq == null && this.useUnweightedMean == false && this.relativeWeights != null){ //MP Report
-            reportData.setCell(0, 0, "Data Point");
-            reportData.setCell(0, 1, "Relative Weight (%)");
-            for(i=0; i<this.originalDataSet.length; i++){
-                reportData.setCell(i+1, 0, this.originalDataSet[i].toString(true));
-                reportData.setCell(i+1, 1, doublePrint(this.relativeWeights[i]*100d));
-            }
+            headers = new String[]{"Data Point", "Relative Weight (%)",
+                "Point Chi**2", "Normalized Residual"};
+            columns = new double[][]{this.relativeWeights, this.ptChiSq,
+                this.normalizedResiduals};
+            scales = new double[]{100d, 1d, 1d};
+            points = this.adjustedDataSet;
+            rows = this.adjustedDataSet.length;
+            marked = true;
+        }else if (this.hypTestRpt != null || (this.ptChiSq == null && 
+                this.useUnweightedMean == false && this.relativeWeights != null)){ // EVM and MP reports
+            headers = new String[]{"Data Point", "Relative Weight (%)"};
+            columns = new double[][]{this.relativeWeights};
+            scales = new double[]{100d};
+            points = this.originalDataSet;
+            rows = this.originalDataSet.length;
         }else if (this.adjustedDataSet != null){ //RT and LWM
-            reportData.setCell(0, 0, "Data Point");
-            reportData.setCell(0, 1, "Relative Weight (%)");
-            reportData.setCell(0, 2, "Point Chi**2");
-            for(i=0; i<this.adjustedDataSet.length; i++){
-                if(this.changedPoints == null){
-                    reportData.setCell(i+1, 0, this.adjustedDataSet[i].toString(true));
-                }else{
-                    if(Arrays.asList(this.changedPoints).contains(i)){
-                        reportData.setCell(i+1, 0, this.adjustedDataSet[i].toString(true) + "**");
-                    }else{
-                        reportData.setCell(i+1, 0, this.adjustedDataSet[i].toString(true));
-                    }
-                }
-                reportData.setCell(i+1, 1, doublePrint(this.relativeWeights[i]*100d));
-                reportData.setCell(i+1, 2, doublePrint(this.ptChiSq[i]));
-            }
+            headers = new String[]{"Data Point", "Relative Weight (%)", "Point Chi**2"};
+            columns = new double[][]{this.relativeWeights, this.ptChiSq};
+            scales = new double[]{100d, 1d};
+            points = this.adjustedDataSet;
+            rows = this.adjustedDataSet.length;
+            marked = true;
         } else if (this.relativeWeights != null) { //weighted average report
-            reportData.setCell(0, 0, "Data Point");
-            reportData.setCell(0, 1, "Relative Weight (%)");
-            reportData.setCell(0, 2, "Point Chi**2");
-            for(i=0; i<this.originalDataSet.length; i++){
-                reportData.setCell(i+1, 0, this.originalDataSet[i].toString(true));
-                reportData.setCell(i+1, 1, doublePrint(this.relativeWeights[i]*100d));
-                reportData.setCell(i+1, 2, doublePrint(this.ptChiSq[i]));
-            }
+            headers = new String[]{"Data Point", "Relative Weight (%)", "Point Chi**2"};
+            columns = new double[][]{this.relativeWeights, this.ptChiSq};
+            scales = new double[]{100d, 1d};
+            points = this.originalDataSet;
+            rows = this.originalDataSet.length;
         }else if(this.bootstrap_NUM_MEDIANS != -1) {
-            reportData.setCell(0, 0, "Data Point");
-            //reportData.setCell(0, 1, "Relative Weight (%)");
-            //reportData.setCell(0, 2, "Point Chi**2");
-            for(i=0; i<this.originalDataSet.length; i++){
-                reportData.setCell(i+1, 0, this.originalDataSet[i].toString(true));
-                //reportData.setCell(i+1, 1, doublePrint(this.relativeWeights[i]*100d));
-                //reportData.setCell(i+1, 2, doublePrint(this.ptChiSq[i]));
+            headers = new String[]{"Data Point"};
+            points = this.originalDataSet;
+            rows = this.originalDataSet.length;
+        }
+        for(i=0; i<columns.length; i++){
+            if(columns[i] == null){ //per-point details were not saved
+                headers = new String[]{"Data Point"};
+                columns = new double[0][];
+                scales = new double[0];
+                marked = false;
+                break;
             }
         }
-        
-        result = new ArrayList<>();
-        
+
         if(this.dataSetName != null){
             result.add(this.dataSetHeader());
         }
@@ -318,19 +547,17 @@ public class averagingReport {
             result.add(this.methodHeader());
         }
         
-        if(!reportData.isEmpty()){
-            for(String line : reportData.toStringList()){
-                result.add(line);
-            }
+        if(headers != null){
+            writeTable(result, headers, pointLabels(points, rows, marked), columns, scales);
         }
         
         if(this.bootstrap_NUM_MEDIANS != -1){ //bootstrap report
-        	result.add("");
+            result.add("");
             result.add("Number of sub-sample medians taken: " + 
                     String.valueOf((int) this.bootstrap_NUM_MEDIANS));
             result.add("Chi**2/(N-1): " + doublePrint(this.reducedChiSq));
         }
-        if(this.changedPoints != null){
+        if(this.changedPoints != null && marked){ //only under a table of marked points
             if(this.changedPoints.length > 0){
                 result.add("** Uncertainty adjusted");
             }
@@ -340,6 +567,7 @@ public class averagingReport {
             result.add("LWM Adopted the unweighted average since the weighted and unwighted averages did not agree within uncertainty.");
         }
         
+        line = new StringBuilder();
         if (this.hypTestRpt != null){
             result.add("");
             result.add("~~Confidence Test Summary~~");
@@ -349,7 +577,9 @@ public class averagingReport {
             result.add("Expected number of points above mean: " + 
                     String.valueOf(Math.round(hypTestRpt[1] * (double)n)));
             result.add("Observed number above mean: " + String.valueOf((int) hypTestRpt[3]));
-            result.add("Resulting statistic: " + String.format("%6.3f", this.hypTestRpt[4]));
+            line.append("Resulting statistic: ");
+            printfFormatter.appendFixed(line, this.hypTestRpt[4], 3, 6);
+            result.add(line);
         }
         
         if(this.outliers != null){
@@ -363,17 +593,25 @@ public class averagingReport {
         result.add("");
         result.add("Number of input values: " + String.valueOf(this.originalDataSet.length));
         
-        if (this.ptChiSq == null && this.useUnweightedMean == false && this.reducedChiSq > -1){
+        //printed with the critical value below if there is one
+        if (this.ptChiSq == null && this.useUnweightedMean == false && 
+                this.reducedChiSq > -1 && this.criticalChiSq <= -1){
             result.add("Chi**2/(N-1): " + doublePrint(this.reducedChiSq));
         }
         
         if(this.criticalChiSq > -1){
-            result.add("Chi**2/(N-1): " + String.format("%1.2f", this.reducedChiSq));
+            line.setLength(0);
+            line.append("Chi**2/(N-1): ");
+            printfFormatter.appendFixed(line, this.reducedChiSq, 2);
+            result.add(line);
             result.add("Critical Chi**2/(N-1): " + doublePrint(this.criticalChiSq));
         }
         if(this.hypTest != -1){
-            result.add("Confidence Level: "  + String.format("%1.1f", 
-                    this.hypTest*100d) + "%");
+            line.setLength(0);
+            line.append("Confidence Level: ");
+            printfFormatter.appendFixed(line, this.hypTest*100d, 1);
+            line.append('%');
+            result.add(line);
         }
         
         result.add("");
@@ -388,7 +626,72 @@ public class averagingReport {
         if(this.dataSetName != null){
             result.add(this.dataSetFooter());
         }
+    }
+    
+    //the first column of the data point table, with the points whose
+    //uncertainty was adjusted marked by "**" if marked is true
+    private String[] pointLabels(dataPt[] points, int rows, boolean marked){
+        String[] result;
+        boolean[] changed;
+        int i;
         
+        changed = new boolean[rows];
+        if(marked && this.changedPoints != null){
+            for(Integer c : this.changedPoints){
+                if(c != null && c >= 0 && c < rows){
+                    changed[c] = true;
+                }
+            }
+        }
+        result = new String[rows];
+        for(i=0; i<rows; i++){
+            result[i] = changed[i] ? points[i].toString(true) + "**" : points[i].toString(true);
+        }
         return result;
     }
+    
+    //writes the data point table in the same layout as textTable.toStringList,
+    //each column being two characters wider than its longest entry. The
+    //numbers are formatted once to find the column widths and again as each
+    //row is written.
+    private static void writeTable(reportLines result, String[] headers,
+            String[] labels, double[][] columns, double[] scales) throws IOException{
+        int[] widths;
+        StringBuilder row;
+        int i, j, end;
+        
+        row = new StringBuilder();
+        widths = new int[headers.length];
+        widths[0] = headers[0].length();
+        for(i=0; i<labels.length; i++){
+            widths[0] = Math.max(widths[0], labels[i].length());
+        }
+        for(j=1; j<headers.length; j++){
+            widths[j] = headers[j].length();
+            for(i=0; i<labels.length; i++){
+                row.setLength(0);
+                doublePrint(row, columns[j-1][i]*scales[j-1]);
+                widths[j] = Math.max(widths[j], row.length());
+            }
+        }
+        
+        for(i=-1; i<labels.length; i++){ //row -1 is the header
+            row.setLength(0);
+            end = 0;
+            for(j=0; j<headers.length; j++){
+                end += widths[j] + 2;
+                if(i < 0){
+                    row.append(headers[j]);
+                }else if(j == 0){
+                    row.append(labels[i]);
+                }else{
+                    doublePrint(row, columns[j-1][i]*scales[j-1]);
+                }
+                while(row.length() < end){
+                    row.append(' ');
+                }
+            }
+            result.add(row);
+        }
+    }
 }
@@ -0,0 +1,185 @@
+
+package averagingAlgorithms;
+
+import ensdf_datapoint.dataPt;
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * This class computes the result of the Consistent Minimum Variance method
+ * for a sequence of probability levels in a single sweep. <br><br>
+ *
+ * The consistent variance of a proposed mean, m, is given by
+ * <code>max( (m - x[i])^2/(2k) - sigma[i]^2 )</code>, where
+ * <code>k = inverseErf(2p - 1)^2</code>. Multiplying by 2k and subtracting
+ * m^2 turns each term into a straight line in m, so the maximum is the
+ * upper envelope of n lines whose slopes (-2x[i]) do not depend on p. The
+ * data are therefore sorted only once and the envelope for each level is
+ * rebuilt in linear time, after which the minimum is found exactly on one
+ * segment of the envelope. <br><br>
+ *
+ * Date Modified: 19/10/2026
+ */
+public class consistentVarianceCurve {
+    /**
+     * The probability levels (in %) at which the curve was evaluated
+     */
+    public final double[] p;
+    /**
+     * The Consistent Minimum Variance mean at each probability level
+     */
+    public final double[] means;
+    /**
+     * The Consistent Minimum Variance variance at each probability level
+     */
+    public final double[] variances;
+
+    /**
+     * Evaluates the Consistent Minimum Variance method on the dataset for
+     * each of the given probability levels.
+     * @param dataset the set of measurements to compute the mean of
+     * @param p the probabilities (in %) that the dataset is consistent with
+     * the mean
+     */
+    public consistentVarianceCurve(dataPt[] dataset, double[] p){
+        Integer[] order;
+        double[] x, v;
+        double[] slope, intercept;
+        int[] hull;
+        double shift, minVar, k, c;
+        int i, j, n;
+
+        n = dataset.length;
+        this.p = p.clone();
+        this.means = new double[p.length];
+        this.variances = new double[p.length];
+
+        //sort by central value once, this fixes the order of the slopes
+        //for every probability level
+        order = new Integer[n];
+        for(i=0; i<n; i++){
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparingDouble(
+                (Integer a) -> dataset[a].getValue()).reversed());
+
+        //work relative to the median central value to avoid cancellation
+        //in x^2 when the values are large compared to their spread
+        shift = dataset[order[n/2]].getValue();
+        x = new double[n];
+        v = new double[n];
+        minVar = dataset[0].gaussVariance();
+        for(i=0; i<n; i++){
+            x[i] = dataset[order[i]].getValue() - shift;
+            v[i] = dataset[order[i]].gaussVariance();
+            minVar = Math.min(minVar, v[i]);
+        }
+
+        slope = new double[n];
+        intercept = new double[n];
+        hull = new int[n];
+        for(i=0; i<n; i++){
+            slope[i] = -2d * x[i]; //increasing, since x is decreasing
+        }
+
+        for(j=0; j<p.length; j++){
+            k = MathSpecialFunctions.inverseErf(2.0d * (p[j] / 100.0d) - 1.0d);
+            k = k*k;
+            c = 2d * k;
+            for(i=0; i<n; i++){
+                intercept[i] = x[i]*x[i] - c*v[i];
+            }
+
+            this.means[j] = shift + minimizeEnvelope(slope, intercept, hull);
+            this.variances[j] = outlierMethods.consistantVariance(
+                    this.means[j], dataset, p[j]);
+            if(this.variances[j] < 0){
+                this.variances[j] = minVar;
+            }
+        }
+    }
+
+    /**
+     * Builds the upper envelope of the lines <code>slope[i]*m + intercept[i]</code>
+     * (with the slopes given in increasing order) and returns the value of
+     * m which minimizes <code>m^2</code> plus the envelope.
+     * @param slope slopes of the lines, in increasing order
+     * @param intercept intercepts of the lines
+     * @param hull work array, at least as long as <code>slope</code>, used to
+     * hold the indices of the lines on the envelope
+     * @return the minimizer of <code>m^2</code> plus the upper envelope
+     */
+    private static double minimizeEnvelope(double[] slope, double[] intercept,
+            int[] hull){
+        int i, h, size;
+        int a, b;
+        double lower, upper, best, bestValue, m, value;
+
+        size = 0;
+        for(i=0; i<slope.length; i++){
+            if(size > 0 && slope[hull[size-1]] == slope[i]){
+                //equal slopes (repeated central values), keep the larger line
+                if(intercept[i] <= intercept[hull[size-1]]){
+                    continue;
+                }
+                size -= 1;
+            }
+            while(size > 1){
+                a = hull[size-2];
+                b = hull[size-1];
+                //line b is never on top if line i overtakes line a before b does
+                if((intercept[a] - intercept[i]) * (slope[b] - slope[a]) <=
+                        (intercept[a] - intercept[b]) * (slope[i] - slope[a])){
+                    size -= 1;
+                }else{
+                    break;
+                }
+            }
+            hull[size] = i;
+            size += 1;
+        }
+
+        //on each segment the objective is m^2 + slope*m + intercept, which
+        //is minimized at m = -slope/2 clamped to the segment
+        best = 0d;
+        bestValue = Double.POSITIVE_INFINITY;
+        lower = Double.NEGATIVE_INFINITY;
+        for(h=0; h<size; h++){
+            a = hull[h];
+            if(h < size - 1){
+                b = hull[h+1];
+                upper = (intercept[a] - intercept[b]) / (slope[b] - slope[a]);
+            }else{
+                upper = Double.POSITIVE_INFINITY;
+            }
+            m = Math.min(Math.max(-0.5d * slope[a], lower), upper);
+            value = m*m + slope[a]*m + intercept[a];
+            if(value < bestValue){
+                bestValue = value;
+                best = m;
+            }
+            lower = upper;
+        }
+        return best;
+    }
+
+    /**
+     * Returns the Consistent Minimum Variance result at the i-th probability
+     * level.
+     * @param i index of the probability level
+     * @return the Consistent Minimum Variance result at the i-th probability
+     * level
+     */
+    public dataPt getPoint(int i){
+        return new dataPt(this.means[i], Math.sqrt(this.variances[i]),
+                Math.sqrt(this.variances[i]));
+    }
+
+    /**
+     * Returns the number of probability levels in the curve.
+     * @return the number of probability levels in the curve
+     */
+    public int size(){
+        return this.p.length;
+    }
+}
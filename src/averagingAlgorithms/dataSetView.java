@@ -0,0 +1,238 @@
+
+package averagingAlgorithms;
+
+import ensdf_datapoint.dataPt;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * This class is a view of a dataset with some points excluded (e.g. as
+ * outliers) and the uncertainties of others adjusted, as done by the
+ * {@link averagingMethods#lwm(ensdf_datapoint.dataPt[]) LWM},
+ * {@link averagingMethods#nrm(ensdf_datapoint.dataPt[]) NRM} and
+ * {@link averagingMethods#rt(ensdf_datapoint.dataPt[]) RT}. The underlying
+ * (base) dataset is never modified: excluded points are recorded in a
+ * {@link BitSet} and a point is only copied the first time its uncertainty
+ * is adjusted, so excluding or adjusting a point costs the same however
+ * large the dataset is. <br><br>
+ *
+ * Points of the view are numbered from 0 to {@link #size()}-1 in the order
+ * of the base dataset, skipping the excluded points. All points must be
+ * excluded before any uncertainty is adjusted. Every exclusion or adjustment
+ * increases the {@link #getVersion() version} of the view, so results
+ * computed from its points can be reused until it changes. <br><br>
+ *
+ * Date Modified: 19/10/2026
+ */
+public class dataSetView {
+    private final dataPt[] base;
+    private final BitSet excluded;
+    //adjusted copies of points, keyed by their index in the base dataset
+    private final Map<Integer, dataPt> adjusted;
+    //the points of the view, built when first needed
+    private dataPt[] points;
+    private int[] baseIndices;
+    //increased whenever a point is excluded or adjusted
+    private long version;
+
+    /**
+     * Creates a view of the whole dataset, with nothing excluded or adjusted.
+     * @param base the dataset to view
+     */
+    public dataSetView(dataPt[] base){
+        this.base = base;
+        this.excluded = new BitSet(base.length);
+        this.adjusted = new HashMap<>();
+        this.version = 0L;
+    }
+
+    /**
+     * Returns the number of times a point of this view has been excluded or
+     * adjusted. A view which still shows the whole base dataset, unchanged,
+     * has version 0.
+     * @return the version of the view
+     */
+    public long getVersion(){
+        return this.version;
+    }
+
+    /**
+     * Returns the dataset this view was created for.
+     * @return the base dataset
+     */
+    public dataPt[] getBase(){
+        return this.base;
+    }
+
+    /**
+     * Excludes the i-th point of the base dataset from the view.
+     * @param i index of the point in the base dataset
+     */
+    public void exclude(int i){
+        if(!this.adjusted.isEmpty()){
+            throw new IllegalStateException("Points must be excluded before "
+                    + "uncertainties are adjusted.");
+        }
+        this.excluded.set(i);
+        this.version += 1L;
+        this.points = null;
+        this.baseIndices = null;
+    }
+
+    /**
+     * Returns <code>true</code> if the i-th point of the base dataset is
+     * excluded from the view.
+     * @param i index of the point in the base dataset
+     * @return <code>true</code> if the point is excluded
+     */
+    public boolean isExcluded(int i){
+        return this.excluded.get(i);
+    }
+
+    /**
+     * Returns the number of points which have been excluded.
+     * @return the number of excluded points
+     */
+    public int numExcluded(){
+        return this.excluded.cardinality();
+    }
+
+    /**
+     * Returns the excluded points, in the order of the base dataset.
+     * @return the excluded points
+     */
+    public dataPt[] getExcluded(){
+        dataPt[] result;
+        int i, j;
+
+        result = new dataPt[this.excluded.cardinality()];
+        j = 0;
+        for(i=this.excluded.nextSetBit(0); i>=0; i=this.excluded.nextSetBit(i+1)){
+            result[j] = this.base[i];
+            j += 1;
+        }
+        return result;
+    }
+
+    /**
+     * Returns the number of points in the view.
+     * @return the number of points which are not excluded
+     */
+    public int size(){
+        return this.base.length - this.excluded.cardinality();
+    }
+
+    /**
+     * Returns the j-th point of the view, including any adjustment of its
+     * uncertainty. The point must not be modified.
+     * @param j index of the point in the view
+     * @return the j-th point of the view
+     */
+    public dataPt get(int j){
+        return points()[j];
+    }
+
+    /**
+     * Returns the index in the base dataset of the j-th point of the view.
+     * @param j index of the point in the view
+     * @return the index of the point in the base dataset
+     */
+    public int baseIndex(int j){
+        build();
+        return this.baseIndices[j];
+    }
+
+    /**
+     * Returns <code>true</code> if the uncertainty of the j-th point of the
+     * view has been adjusted.
+     * @param j index of the point in the view
+     * @return <code>true</code> if the point has been adjusted
+     */
+    public boolean isAdjusted(int j){
+        return this.adjusted.containsKey(baseIndex(j));
+    }
+
+    /**
+     * Sets the uncertainties of the j-th point of the view. The point in the
+     * base dataset is unchanged.
+     * @param j index of the point in the view
+     * @param upper the new upper uncertainty
+     * @param lower the new lower uncertainty
+     */
+    public void setUncertainty(int j, double upper, double lower){
+        dataPt pt;
+        int i;
+
+        build();
+        i = this.baseIndices[j];
+        pt = this.adjusted.get(i);
+        if(pt == null){
+            pt = new dataPt(this.base[i]);
+            this.adjusted.put(i, pt);
+            this.points[j] = pt;
+        }
+        pt.setUpper(upper);
+        pt.setLower(lower);
+        this.version += 1L;
+    }
+
+    /**
+     * Returns the points of the view, which are updated in place as
+     * uncertainties are adjusted. The array and its points must not be
+     * modified.
+     * @return the points of the view
+     */
+    dataPt[] points(){
+        build();
+        return this.points;
+    }
+
+    /**
+     * Returns the points of the view, including any adjustments.
+     * @return a copy of the array of points in the view
+     */
+    public dataPt[] toArray(){
+        return points().clone();
+    }
+
+    /**
+     * Returns the whole base dataset (including the excluded points) with the
+     * adjusted uncertainties of the points in the view.
+     * @return the base dataset with the adjustments of this view
+     */
+    public dataPt[] toAdjustedBase(){
+        dataPt[] result;
+
+        result = this.base.clone();
+        for(Map.Entry<Integer, dataPt> e : this.adjusted.entrySet()){
+            result[e.getKey()] = e.getValue();
+        }
+        return result;
+    }
+
+    private void build(){
+        int i, j;
+
+        if(this.points != null){
+            return;
+        }
+        if(this.excluded.isEmpty()){
+            this.points = this.base.clone();
+            this.baseIndices = new int[this.base.length];
+            for(i=0; i<this.base.length; i++){
+                this.baseIndices[i] = i;
+            }
+            return;
+        }
+        this.points = new dataPt[size()];
+        this.baseIndices = new int[this.points.length];
+        j = 0;
+        for(i=this.excluded.nextClearBit(0); i<this.base.length;
+                i=this.excluded.nextClearBit(i+1)){
+            this.points[j] = this.base[i];
+            this.baseIndices[j] = i;
+            j += 1;
+        }
+    }
+}
@@ -0,0 +1,383 @@
+
+package averagingAlgorithms;
+
+import ensdf_datapoint.dataPt;
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * This class evaluates the arithmetic mean of the asymmetric Gaussian
+ * distributions defined by a dataset (see {@link averagingMethods#totalG(ensdf_datapoint.dataPt[], double)
+ * totalG}) at many points with a controlled error. It is used by the
+ * scalable mode of the {@link averagingMethods#evm(ensdf_datapoint.dataPt[], double, averagingAlgorithms.averagingReport)
+ * Expected Value Method}. <br><br>
+ *
+ * The distributions are sorted by central value and arranged in a binary
+ * tree, where each node records the range of central values, the range of
+ * lower and upper uncertainties and the sum of the normalization constants
+ * of the distributions below it. For a node lying entirely on one side of
+ * the evaluation point these ranges bound the contribution of every
+ * distribution in the node, so when the bounds are close enough (or
+ * both negligible) the whole node is replaced by the midpoint of the bounds
+ * without evaluating any exponentials. Nodes close to the evaluation
+ * point are opened and summed exactly. <br><br>
+ *
+ * When the sum is needed at many points (e.g. the central values of the
+ * dataset) the same tree also bounds the second derivative of the sum, so
+ * that points lying between two directly evaluated ones can be linearly
+ * interpolated with a known error. Widely separated points are thus cheap
+ * because distant nodes are skipped, and densely packed points are cheap
+ * because most of them are interpolated; only for densely packed points
+ * combined with a very small tolerance does the cost approach that of the
+ * direct sum. <br><br>
+ *
+ * Date Modified: 19/10/2026
+ */
+public class gaussianMixtureSum {
+    private static final int LEAF_SIZE = 8;
+    private static final double SQRT_2_OVER_PI = Math.sqrt(2d / Math.PI);
+
+    private final int n;
+    //distributions sorted by central value
+    private final double[] center, lower, upper, norm;
+    //node data, stored heap-style with children of node k at 2k+1 and 2k+2
+    private final int[] nodeLo, nodeHi;
+    private final double[] nodeLowerMin, nodeLowerMax, nodeUpperMin,
+            nodeUpperMax, nodeNorm;
+
+    /**
+     * Creates the tree for the asymmetric Gaussian distributions defined
+     * by the dataset.
+     * @param dataset measurements defining the distributions
+     */
+    public gaussianMixtureSum(dataPt[] dataset){
+        Integer[] order;
+        int i, size;
+
+        this.n = dataset.length;
+        order = new Integer[n];
+        for(i=0; i<n; i++){
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparingDouble(
+                (Integer a) -> dataset[a].getValue()));
+
+        this.center = new double[n];
+        this.lower = new double[n];
+        this.upper = new double[n];
+        this.norm = new double[n];
+        for(i=0; i<n; i++){
+            this.center[i] = dataset[order[i]].getValue();
+            this.lower[i] = dataset[order[i]].getLower();
+            this.upper[i] = dataset[order[i]].getUpper();
+            this.norm[i] = SQRT_2_OVER_PI / (this.lower[i] + this.upper[i]);
+        }
+
+        size = 1;
+        while(size < n){
+            size *= 2;
+        }
+        size *= 2;
+        this.nodeLo = new int[size];
+        this.nodeHi = new int[size];
+        this.nodeLowerMin = new double[size];
+        this.nodeLowerMax = new double[size];
+        this.nodeUpperMin = new double[size];
+        this.nodeUpperMax = new double[size];
+        this.nodeNorm = new double[size];
+        if(n > 0){
+            build(0, 0, n);
+        }
+    }
+
+    /**
+     * Fills the node data for node k, which holds the (sorted)
+     * distributions with indices from lo (inclusive) to hi (exclusive).
+     * @param k node index
+     * @param lo first distribution in the node
+     * @param hi one past the last distribution in the node
+     */
+    private void build(int k, int lo, int hi){
+        int i, mid;
+
+        nodeLo[k] = lo;
+        nodeHi[k] = hi;
+        if(hi - lo <= LEAF_SIZE){
+            nodeLowerMin[k] = lower[lo];
+            nodeLowerMax[k] = lower[lo];
+            nodeUpperMin[k] = upper[lo];
+            nodeUpperMax[k] = upper[lo];
+            nodeNorm[k] = 0d;
+            for(i=lo; i<hi; i++){
+                nodeLowerMin[k] = Math.min(nodeLowerMin[k], lower[i]);
+                nodeLowerMax[k] = Math.max(nodeLowerMax[k], lower[i]);
+                nodeUpperMin[k] = Math.min(nodeUpperMin[k], upper[i]);
+                nodeUpperMax[k] = Math.max(nodeUpperMax[k], upper[i]);
+                nodeNorm[k] += norm[i];
+            }
+            return;
+        }
+        mid = (lo + hi) >>> 1;
+        build(2*k + 1, lo, mid);
+        build(2*k + 2, mid, hi);
+        nodeLowerMin[k] = Math.min(nodeLowerMin[2*k + 1], nodeLowerMin[2*k + 2]);
+        nodeLowerMax[k] = Math.max(nodeLowerMax[2*k + 1], nodeLowerMax[2*k + 2]);
+        nodeUpperMin[k] = Math.min(nodeUpperMin[2*k + 1], nodeUpperMin[2*k + 2]);
+        nodeUpperMax[k] = Math.max(nodeUpperMax[2*k + 1], nodeUpperMax[2*k + 2]);
+        nodeNorm[k] = nodeNorm[2*k + 1] + nodeNorm[2*k + 2];
+    }
+
+    /**
+     * Returns the sum (not the mean) of the probability densities of all the
+     * distributions evaluated at x. The absolute error of the result is at
+     * most <code>maxError</code>.
+     * @param x point at which to evaluate the densities
+     * @param maxError maximum allowed absolute error in the sum
+     * @return the sum of the probability densities evaluated at x
+     */
+    public double sum(double x, double maxError){
+        int[] stack;
+        int top, k, i;
+        double result, d, dMin, dMax, sMin, sMax, kMax, kMin, errorPerPoint;
+
+        if(n == 0){
+            return 0d;
+        }
+
+        errorPerPoint = maxError / (double)n;
+        stack = new int[64];
+        top = 0;
+        stack[top++] = 0;
+        result = 0d;
+        while(top > 0){
+            k = stack[--top];
+            if(nodeHi[k] - nodeLo[k] <= LEAF_SIZE){
+                for(i=nodeLo[k]; i<nodeHi[k]; i++){
+                    d = x - center[i];
+                    if(d <= 0d){
+                        result += norm[i] * Math.exp(-d*d / (2d * lower[i]*lower[i]));
+                    }else{
+                        result += norm[i] * Math.exp(-d*d / (2d * upper[i]*upper[i]));
+                    }
+                }
+                continue;
+            }
+
+            if(center[nodeLo[k]] >= x){ //all of the lower halves are used
+                dMin = center[nodeLo[k]] - x;
+                dMax = center[nodeHi[k] - 1] - x;
+                sMin = nodeLowerMin[k];
+                sMax = nodeLowerMax[k];
+            }else if(center[nodeHi[k] - 1] < x){ //all of the upper halves are used
+                dMin = x - center[nodeHi[k] - 1];
+                dMax = x - center[nodeLo[k]];
+                sMin = nodeUpperMin[k];
+                sMax = nodeUpperMax[k];
+            }else{ //node straddles x
+                stack[top++] = 2*k + 1;
+                stack[top++] = 2*k + 2;
+                continue;
+            }
+
+            kMax = Math.exp(-dMin*dMin / (2d * sMax*sMax));
+            kMin = Math.exp(-dMax*dMax / (2d * sMin*sMin));
+            if(0.5d * nodeNorm[k] * (kMax - kMin) <=
+                    errorPerPoint * (double)(nodeHi[k] - nodeLo[k])){
+                result += 0.5d * nodeNorm[k] * (kMax + kMin);
+            }else{
+                stack[top++] = 2*k + 1;
+                stack[top++] = 2*k + 2;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns an upper bound on the magnitude of the second derivative of
+     * the sum of the probability densities over the interval [a, b]. The
+     * second derivative of a distribution with width s at a distance d from
+     * its centre is <code>|t^2 - 1|exp(-t^2/2)/s^2</code> with t = d/s, which
+     * is bounded by <code>(1 + t'^2)exp(-t'^2/2)/s^2</code> with
+     * t' = max(t, 1), a decreasing function of the distance. Nodes that are
+     * well separated from the interval are bounded as a whole, all others
+     * are opened.
+     * @param a lower end of the interval
+     * @param b upper end of the interval
+     * @return an upper bound on the second derivative of the sum over [a, b]
+     */
+    private double curvatureBound(double a, double b){
+        int[] stack;
+        int top, k, i;
+        double result, span, dLower, dUpper;
+
+        stack = new int[64];
+        top = 0;
+        stack[top++] = 0;
+        result = 0d;
+        while(top > 0){
+            k = stack[--top];
+            if(nodeHi[k] - nodeLo[k] <= LEAF_SIZE){
+                for(i=nodeLo[k]; i<nodeHi[k]; i++){
+                    if(center[i] >= a){ //lower half used for a <= x <= center
+                        result += norm[i] * secondDerivativeBound(
+                                Math.max(0d, center[i] - b), lower[i], lower[i]);
+                    }
+                    if(center[i] < b){ //upper half used for center < x <= b
+                        result += norm[i] * secondDerivativeBound(
+                                Math.max(0d, a - center[i]), upper[i], upper[i]);
+                    }
+                }
+                continue;
+            }
+
+            span = center[nodeHi[k] - 1] - center[nodeLo[k]] + (b - a);
+            dLower = center[nodeLo[k]] - b;
+            dUpper = a - center[nodeHi[k] - 1];
+            if(dLower >= span){ //only the lower halves are used
+                result += nodeNorm[k] * secondDerivativeBound(dLower,
+                        nodeLowerMin[k], nodeLowerMax[k]);
+            }else if(dUpper >= span){ //only the upper halves are used
+                result += nodeNorm[k] * secondDerivativeBound(dUpper,
+                        nodeUpperMin[k], nodeUpperMax[k]);
+            }else{
+                stack[top++] = 2*k + 1;
+                stack[top++] = 2*k + 2;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns an upper bound on the magnitude of the second derivative of
+     * <code>exp(-d^2/(2s^2))</code> for any distance of at least dMin and any
+     * width s between sMin and sMax.
+     * @param dMin minimum distance from the centre of the distribution
+     * @param sMin minimum width
+     * @param sMax maximum width
+     * @return an upper bound on the magnitude of the second derivative
+     */
+    private static double secondDerivativeBound(double dMin, double sMin,
+            double sMax){
+        double t;
+
+        t = Math.max(dMin / sMax, 1d);
+        return (1d + t*t) * Math.exp(-0.5d * t*t) / (sMin*sMin);
+    }
+
+    /**
+     * Returns <code>{@link averagingMethods#totalG(ensdf_datapoint.dataPt[], double)
+     * totalG}(dataset, dataset[i].getValue())</code> for each point in the
+     * dataset, in the original order, with a relative error of at most
+     * <code>tolerance</code> (for tolerances well below 1). <br><br>
+     *
+     * The central values are visited in increasing order. Some of them are
+     * evaluated with {@link #sum(double, double) sum}, with a relative error
+     * of at most a quarter of the tolerance. The values in between two
+     * such points are linearly interpolated whenever the interpolation error,
+     * bounded by <code>h^2/8</code> times {@link #curvatureBound(double, double)
+     * the largest second derivative} on the interval of length h, is at most a
+     * quarter of the tolerance times the smaller end value and the end values
+     * differ by less than a factor of two. The interpolation step is doubled
+     * after each success and reduced after each failure, so where the points
+     * are densely packed most of them are interpolated, while isolated points
+     * are always evaluated directly.
+     * @param dataset the dataset this object was created from
+     * @param tolerance maximum relative error of each result
+     * @return the mean density evaluated at the central value of each point
+     */
+    public double[] meanDensityAtCenters(dataPt[] dataset, double tolerance){
+        Integer[] order;
+        double[] x, g;
+        boolean[] known;
+        double quarter, h, gMin, gMax, f;
+        int i, j, m, step;
+
+        x = new double[n];
+        g = new double[n];
+        known = new boolean[n];
+        if(n == 0){
+            return g;
+        }
+        order = new Integer[n];
+        for(i=0; i<n; i++){
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparingDouble(
+                (Integer a) -> dataset[a].getValue()));
+        for(i=0; i<n; i++){
+            x[i] = dataset[order[i]].getValue();
+        }
+
+        quarter = 0.25d * tolerance;
+        g[0] = sumAt(dataset[order[0]], quarter, 0d);
+        known[0] = true;
+        i = 0;
+        step = 1;
+        while(i < n - 1){
+            j = Math.min(i + step, n - 1);
+            if(!known[j]){
+                g[j] = sumAt(dataset[order[j]], quarter, g[i]);
+                known[j] = true;
+            }
+            if(j == i + 1){
+                i = j;
+                step *= 2;
+                continue;
+            }
+
+            h = x[j] - x[i];
+            gMin = Math.min(g[i], g[j]) * (1d - quarter);
+            gMax = Math.max(g[i], g[j]);
+            if(gMax < 2d*gMin &&
+                    0.125d * h*h * curvatureBound(x[i], x[j]) <= quarter * gMin){
+                for(m=i+1; m<j; m++){
+                    if(!known[m]){
+                        f = (h > 0d) ? (x[m] - x[i]) / h : 0d;
+                        g[m] = (1d - f) * g[i] + f * g[j];
+                        known[m] = true;
+                    }
+                }
+                i = j;
+                step *= 2;
+            }else{
+                step = Math.max(1, (j - i) / 4);
+            }
+        }
+
+        //reuse x for the results in the original order
+        for(i=0; i<n; i++){
+            x[order[i]] = g[i] / (double)n;
+        }
+        return x;
+    }
+
+    /**
+     * Evaluates the sum of the probability densities at the central value
+     * of the given point with a relative error of at most the given
+     * fraction. The point's own peak density is a lower bound on the sum,
+     * which always gives a valid error budget, but for densely packed data
+     * the sum is much larger, so the budget is first based on a guess of
+     * the sum (e.g. the value at a neighbouring point) and accepted only if
+     * the result proves it is within the allowed fraction of the true sum.
+     * @param point the point at whose central value to evaluate the sum
+     * @param fraction maximum relative error of the result
+     * @param guess an estimate of the sum, or 0 if none is available
+     * @return the sum of the probability densities at the central value
+     */
+    private double sumAt(dataPt point, double fraction, double guess){
+        double floor, budget, result;
+
+        floor = fraction * SQRT_2_OVER_PI / (point.getLower() + point.getUpper());
+        budget = Math.max(floor, 0.5d * fraction * guess);
+        result = sum(point.getValue(), budget);
+        if(budget > floor && budget > fraction * (result - budget)){
+            //the guess was too large, retry with a lower bound on the sum
+            budget = Math.max(floor, fraction * (result - budget));
+            result = sum(point.getValue(), budget);
+            if(budget > floor && budget > fraction * (result - budget)){
+                result = sum(point.getValue(), floor);
+            }
+        }
+        return result;
+    }
+}
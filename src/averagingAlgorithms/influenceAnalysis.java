@@ -0,0 +1,509 @@
+
+package averagingAlgorithms;
+
+import ensdf_datapoint.dataPt;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.stream.IntStream;
+import text_io.textTable;
+
+/**
+ * This class holds the results of a leave-one-out (influence) analysis of
+ * an averaging method: the result of the method with each measurement
+ * removed in turn, the corresponding reduced chi^2 (when the method reports
+ * one) and the jackknife estimate of the uncertainty of the result. <br><br>
+ *
+ * For the unweighted and weighted averages every leave-one-out result
+ * follows from totals over the full dataset (prefix and suffix sums over
+ * the sorted measurements for the weighted average) by removing (downdating)
+ * the contribution of the omitted point, so the whole analysis costs about
+ * as much as a single average. All other methods are rerun on each reduced
+ * dataset, in parallel where possible. The reduced datasets are built from
+ * copies of the measurements, so methods which adjust uncertainties do not
+ * modify the caller's dataset. <br><br>
+ *
+ * Date Modified: 19/10/2026
+ */
+public class influenceAnalysis {
+    /**
+     * The result of the method using all the measurements
+     */
+    public final dataPt result;
+    /**
+     * The result of the method with the i-th measurement removed
+     */
+    public final dataPt[] leaveOneOut;
+    /**
+     * The reduced chi^2 with the i-th measurement removed, or -1 if the
+     * method does not compute one (as in {@link averagingReport})
+     */
+    public final double[] reducedChiSq;
+    /**
+     * The change in the central value caused by removing the i-th
+     * measurement, <code>leaveOneOut[i].getValue() - result.getValue()</code>
+     */
+    public final double[] influence;
+    /**
+     * The result of the method with the jackknife estimate of the
+     * (symmetric) uncertainty, <code>sqrt( (n-1)/n * SUM( (x[i] - x_bar)^2 ) )</code>,
+     * where <code>x[i]</code> are the leave-one-out central values and
+     * <code>x_bar</code> is their mean
+     */
+    public final dataPt jackknife;
+
+    /**
+     * Creates the analysis from the full and leave-one-out results, and
+     * computes the influence of each point and the jackknife uncertainty.
+     * @param result the result using all the measurements
+     * @param leaveOneOut the result with each measurement removed
+     * @param reducedChiSq the reduced chi^2 with each measurement removed
+     */
+    private influenceAnalysis(dataPt result, dataPt[] leaveOneOut,
+            double[] reducedChiSq){
+        int i, n;
+        double mean, sumSq;
+
+        n = leaveOneOut.length;
+        this.result = result;
+        this.leaveOneOut = leaveOneOut;
+        this.reducedChiSq = reducedChiSq;
+        this.influence = new double[n];
+
+        mean = 0d;
+        for(i=0; i<n; i++){
+            this.influence[i] = leaveOneOut[i].getValue() - result.getValue();
+            mean += leaveOneOut[i].getValue();
+        }
+        mean /= (double)n;
+        sumSq = 0d;
+        for(i=0; i<n; i++){
+            sumSq += Math.pow(leaveOneOut[i].getValue() - mean, 2d);
+        }
+        sumSq = Math.sqrt(sumSq * (double)(n-1) / (double)n);
+        this.jackknife = new dataPt(result.getValue(), sumSq, sumSq,
+                result.getName() + " (Jackknife)");
+    }
+
+    /**
+     * Leave-one-out analysis of the {@link averagingMethods#unweightedAverage(ensdf_datapoint.dataPt[], averagingAlgorithms.averagingReport)
+     * unweighted average}. Removing the i-th point changes the mean to
+     * <code>(n*mean - x[i])/(n-1)</code>, the sum of squared deviations to
+     * <code>SS - n/(n-1)*(x[i] - mean)^2</code> and the sum of variances to
+     * <code>V - sigma[i]^2</code>, so each leave-one-out result costs
+     * constant time. Details of the full calculation are stored in
+     * <code>rpt</code> if it is not <code>null</code>.
+     * @param dataset measurements to average
+     * @param rpt variable to save details of the full calculation in
+     * @return the leave-one-out analysis of the unweighted average
+     */
+    public static influenceAnalysis unweightedAverage(dataPt[] dataset,
+            averagingReport rpt){
+        dataPt full;
+        dataPt[] loo;
+        double[] chiSq;
+        double mean, ss, v, m, looMean, looSS, internal, external;
+        int i, n;
+
+        n = dataset.length;
+        if(n < 4){
+            return rerun(dataset, (dataPt[] d, averagingReport r) ->
+                    averagingMethods.unweightedAverage(d, r), false, rpt);
+        }
+        full = averagingMethods.unweightedAverage(dataset, rpt);
+
+        mean = 0d;
+        v = 0d;
+        for(i=0; i<n; i++){
+            mean += dataset[i].getValue();
+            v += dataset[i].gaussVariance();
+        }
+        mean /= (double)n;
+        ss = 0d;
+        for(i=0; i<n; i++){
+            ss += Math.pow(dataset[i].getValue() - mean, 2d);
+        }
+
+        m = (double)(n-1);
+        loo = new dataPt[n];
+        chiSq = new double[n];
+        for(i=0; i<n; i++){
+            looMean = (mean * (double)n - dataset[i].getValue()) / m;
+            looSS = Math.max(ss - Math.pow(dataset[i].getValue() - mean, 2d) *
+                    (double)n / m, 0d);
+            external = Math.sqrt(looSS / (m * (m - 1d)));
+            internal = Math.sqrt(v - dataset[i].gaussVariance()) / m;
+            loo[i] = new dataPt(looMean, Math.max(internal, external),
+                    Math.max(internal, external), "Unweighted Average");
+            chiSq[i] = -1d;
+        }
+        return new influenceAnalysis(full, loo, chiSq);
+    }
+
+    /**
+     * Leave-one-out analysis of the {@link averagingMethods#weightedAverage(ensdf_datapoint.dataPt[], boolean, averagingAlgorithms.averagingReport)
+     * weighted average}. The weight of each measurement only depends on
+     * whether it lies above the mean (<code>1/lower^2</code>) or not
+     * (<code>1/upper^2</code>), so with the measurements sorted, the
+     * log-likelihood <code>-0.5*SUM( w[i](mu)*(x[i] - mu)^2 )</code> is a
+     * concave quadratic between consecutive central values, with
+     * coefficients given by prefix sums (of the upper weights) and suffix
+     * sums (of the lower weights) of <code>w</code>, <code>w*x</code> and
+     * <code>w*x^2</code>. Removing a measurement only removes its terms from
+     * these sums, so the mean (the fixed point of the weighted average) and
+     * the points where the log-likelihood drops by 0.5 (the uncertainties)
+     * are found by stepping from the interval containing the full result,
+     * which usually takes only a few steps. Details of the full calculation
+     * are stored in <code>rpt</code> if it is not <code>null</code>.
+     * @param dataset measurements to average
+     * @param forceInternalUncert if <code>true</code> then always use the
+     * "internal uncertainty", even if the "external uncertainty" is larger.
+     * @param rpt variable to save details of the full calculation in
+     * @return the leave-one-out analysis of the weighted average
+     */
+    public static influenceAnalysis weightedAverage(dataPt[] dataset,
+            boolean forceInternalUncert, averagingReport rpt){
+        dataPt full, internal, external;
+        dataPt[] loo;
+        Integer[] order;
+        double[] x, wl, wu, chiSq;
+        double[][] prefix, suffix;
+        double[] coef;
+        double shift, mu, lnLMax, lowerUncert, upperUncert, lo, hi;
+        int i, j, k, n, p, k0, dir;
+
+        n = dataset.length;
+        if(n < 4){
+            return rerun(dataset, (dataPt[] d, averagingReport r) ->
+                    averagingMethods.weightedAverage(d, forceInternalUncert, r),
+                    false, rpt);
+        }
+        full = averagingMethods.weightedAverage(dataset, forceInternalUncert, rpt);
+
+        //sort by central value, measured from the full result to avoid
+        //cancellation in the sums of w*x^2
+        order = new Integer[n];
+        for(i=0; i<n; i++){
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparingDouble(
+                (Integer a) -> dataset[a].getValue()));
+        shift = full.getValue();
+        x = new double[n];
+        wl = new double[n];
+        wu = new double[n];
+        for(i=0; i<n; i++){
+            x[i] = dataset[order[i]].getValue() - shift;
+            wl[i] = 1d / (dataset[order[i]].getLower() * dataset[order[i]].getLower());
+            wu[i] = 1d / (dataset[order[i]].getUpper() * dataset[order[i]].getUpper());
+        }
+
+        //prefix[m][k] = SUM_{j<k} wu[j]*x[j]^m, suffix[m][k] = SUM_{j>=k} wl[j]*x[j]^m
+        prefix = new double[3][n+1];
+        suffix = new double[3][n+1];
+        for(j=0; j<n; j++){
+            prefix[0][j+1] = prefix[0][j] + wu[j];
+            prefix[1][j+1] = prefix[1][j] + wu[j]*x[j];
+            prefix[2][j+1] = prefix[2][j] + wu[j]*x[j]*x[j];
+        }
+        for(j=n-1; j>=0; j--){
+            suffix[0][j] = suffix[0][j+1] + wl[j];
+            suffix[1][j] = suffix[1][j+1] + wl[j]*x[j];
+            suffix[2][j] = suffix[2][j+1] + wl[j]*x[j]*x[j];
+        }
+        //the full result lies in interval k0, i.e. x[k0-1] <= 0 < x[k0]
+        k0 = 0;
+        while(k0 < n && x[k0] <= 0d){
+            k0 += 1;
+        }
+
+        loo = new dataPt[n];
+        chiSq = new double[n];
+        coef = new double[3];
+        for(p=0; p<n; p++){
+            //the remaining measurements span [lo, hi]
+            lo = (p == 0) ? x[1] : x[0];
+            hi = (p == n-1) ? x[n-2] : x[n-1];
+
+            //step towards the interval which contains its own fixed point,
+            //or stop at the boundary where the fixed point changes sides
+            k = Math.max(1, Math.min(k0, n-1));
+            dir = 0;
+            while(true){
+                likelihoodCoefficients(prefix, suffix, x, wl, wu, p, k, coef);
+                mu = coef[1] / coef[0];
+                if(k > 1 && mu < x[k-1] && dir <= 0){
+                    k -= 1;
+                    dir = -1;
+                }else if(k < n-1 && mu >= x[k] && dir >= 0){
+                    k += 1;
+                    dir = 1;
+                }else{
+                    mu = Math.max(Math.min(mu, (k < n) ? x[k] : hi), x[k-1]);
+                    break;
+                }
+            }
+            mu = Math.max(Math.min(mu, hi), lo);
+            k = interval(x, mu);
+            likelihoodCoefficients(prefix, suffix, x, wl, wu, p, k, coef);
+            //chi^2 = -2*lnL(mu)
+            lnLMax = -0.5d * (coef[2] - 2d*coef[1]*mu + coef[0]*mu*mu);
+
+            lowerUncert = mu - likelihoodDrop(prefix, suffix, x, wl, wu, p,
+                    k, mu, lnLMax - 0.5d, -1, coef);
+            upperUncert = likelihoodDrop(prefix, suffix, x, wl, wu, p,
+                    k, mu, lnLMax - 0.5d, 1, coef) - mu;
+
+            chiSq[p] = Math.max(-2d * lnLMax, 0d) / (double)(n-2);
+            internal = new dataPt(shift + mu, upperUncert, lowerUncert,
+                    "Weighted Average");
+            external = new dataPt(internal);
+            external.setLower(Math.sqrt(chiSq[p])*internal.getLower());
+            external.setUpper(Math.sqrt(chiSq[p])*internal.getUpper());
+            if(internal.gaussVariance() < external.gaussVariance() &&
+                    !(forceInternalUncert)){
+                internal.setLower(external.getLower());
+                internal.setUpper(external.getUpper());
+            }
+            loo[order[p]] = internal;
+        }
+        return new influenceAnalysis(full, loo, reorder(chiSq, order));
+    }
+
+    /**
+     * Returns the index k such that exactly the first k sorted central values
+     * are less than or equal to mu.
+     * @param x sorted central values
+     * @param mu the proposed mean
+     * @return the number of central values less than or equal to mu
+     */
+    private static int interval(double[] x, double mu){
+        int lo, hi, mid;
+
+        lo = 0;
+        hi = x.length;
+        while(lo < hi){
+            mid = (lo + hi) >>> 1;
+            if(x[mid] <= mu){
+                lo = mid + 1;
+            }else{
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    /**
+     * Computes the totals <code>SUM(w)</code>, <code>SUM(w*x)</code> and
+     * <code>SUM(w*x^2)</code> for a mean with exactly k sorted central values
+     * below or equal to it, leaving out the p-th sorted measurement.
+     * @param prefix prefix sums of the upper weights
+     * @param suffix suffix sums of the lower weights
+     * @param x sorted (shifted) central values
+     * @param wl lower weights
+     * @param wu upper weights
+     * @param p index of the measurement to leave out
+     * @param k number of central values below or equal to the mean
+     * @param coef array to store the three totals in
+     */
+    private static void likelihoodCoefficients(double[][] prefix,
+            double[][] suffix, double[] x, double[] wl, double[] wu, int p,
+            int k, double[] coef){
+        double w;
+
+        w = (p < k) ? wu[p] : wl[p];
+        coef[0] = prefix[0][k] + suffix[0][k] - w;
+        coef[1] = prefix[1][k] + suffix[1][k] - w*x[p];
+        coef[2] = prefix[2][k] + suffix[2][k] - w*x[p]*x[p];
+    }
+
+    /**
+     * Returns the point below (direction -1) or above (direction 1) mu where
+     * the log-likelihood, which is a concave quadratic on each interval
+     * between sorted central values, falls to the given target.
+     * @param prefix prefix sums of the upper weights
+     * @param suffix suffix sums of the lower weights
+     * @param x sorted (shifted) central values
+     * @param wl lower weights
+     * @param wu upper weights
+     * @param p index of the measurement to leave out
+     * @param k interval containing mu
+     * @param mu the maximum likelihood mean
+     * @param target the log-likelihood to find
+     * @param direction -1 to search below mu, 1 to search above
+     * @param coef work array for the totals
+     * @return the point where the log-likelihood equals the target
+     */
+    private static double likelihoodDrop(double[][] prefix, double[][] suffix,
+            double[] x, double[] wl, double[] wu, int p, int k, double mu,
+            double target, int direction, double[] coef){
+        double disc, root, a, b;
+
+        while(true){
+            likelihoodCoefficients(prefix, suffix, x, wl, wu, p, k, coef);
+            //solve -0.5*(c2 - 2*c1*m + c0*m^2) = target for m
+            disc = Math.max(coef[1]*coef[1] - coef[0]*(coef[2] + 2d*target), 0d);
+            root = (coef[1] + direction*Math.sqrt(disc)) / coef[0];
+            a = (k > 0) ? x[k-1] : Double.NEGATIVE_INFINITY;
+            b = (k < x.length) ? x[k] : Double.POSITIVE_INFINITY;
+            if(direction < 0 && (root >= a || k == 0)){
+                return root;
+            }else if(direction > 0 && (root < b || k == x.length)){
+                return root;
+            }
+            k += direction;
+        }
+    }
+
+    /**
+     * Returns the values given in sorted order in the original order.
+     * @param sorted the values in sorted order
+     * @param order the original index of each sorted value
+     * @return the values in the original order
+     */
+    private static double[] reorder(double[] sorted, Integer[] order){
+        double[] result;
+        int i;
+
+        result = new double[sorted.length];
+        for(i=0; i<sorted.length; i++){
+            result[order[i]] = sorted[i];
+        }
+        return result;
+    }
+
+    /**
+     * Leave-one-out analysis of any averaging method, done by rerunning the
+     * method on each reduced dataset. Each rerun is given a copy of the
+     * remaining measurements and its own {@link averagingReport}, from which
+     * the reduced chi^2 is taken. If <code>parallel</code> is <code>true</code>
+     * the reruns are done concurrently, which is only appropriate for methods
+     * that do not interact with the user (e.g. by asking whether to exclude
+     * an outlier). Details of the full calculation are stored in
+     * <code>rpt</code> if it is not <code>null</code>.
+     * @param dataset measurements to average
+     * @param method the averaging method, taking the dataset and a report
+     * to fill in (as used by the V.AveLib GUI)
+     * @param parallel if <code>true</code> then rerun the method on the
+     * reduced datasets concurrently
+     * @param rpt variable to save details of the full calculation in
+     * @return the leave-one-out analysis of the method
+     */
+    public static influenceAnalysis rerun(dataPt[] dataset,
+            BiFunction<dataPt[], averagingReport, dataPt> method,
+            boolean parallel, averagingReport rpt){
+        dataPt full;
+        dataPt[] loo;
+        double[] chiSq;
+        IntStream indices;
+        int n;
+
+        n = dataset.length;
+        full = method.apply(copyWithout(dataset, -1), rpt);
+        try{
+            rpt.originalDataSet = dataset;
+        }catch(NullPointerException e){
+            // do nothing if rpt is null
+        }
+
+        loo = new dataPt[n];
+        chiSq = new double[n];
+        indices = IntStream.range(0, n);
+        if(parallel){
+            indices = indices.parallel();
+        }
+        indices.forEach((int i) -> {
+            //only the reduced chi^2 of each average is needed
+            averagingReport looRpt = new averagingReport(averagingReport.SUMMARY);
+            loo[i] = method.apply(copyWithout(dataset, i), looRpt);
+            chiSq[i] = looRpt.reducedChiSq;
+        });
+        return new influenceAnalysis(full, loo, chiSq);
+    }
+
+    /**
+     * Calls <code>{@link #rerun(ensdf_datapoint.dataPt[], java.util.function.BiFunction, boolean, averagingAlgorithms.averagingReport)
+     * rerun(dataset, method, false, rpt)}</code>, rerunning the method
+     * sequentially on the calling thread, since methods such as LWM and RT
+     * may ask the user whether to exclude an outlier.
+     * @param dataset measurements to average
+     * @param method the averaging method, taking the dataset and a report
+     * to fill in
+     * @param rpt variable to save details of the full calculation in
+     * @return the leave-one-out analysis of the method
+     */
+    public static influenceAnalysis rerun(dataPt[] dataset,
+            BiFunction<dataPt[], averagingReport, dataPt> method,
+            averagingReport rpt){
+        return rerun(dataset, method, false, rpt);
+    }
+
+    /**
+     * Returns copies of the measurements in the dataset, except for the
+     * measurement with the given index.
+     * @param dataset the measurements to copy
+     * @param skip index of the measurement to leave out, or -1 to copy all
+     * @return copies of the measurements, without the skipped one
+     */
+    private static dataPt[] copyWithout(dataPt[] dataset, int skip){
+        dataPt[] result;
+        int i, j;
+
+        result = new dataPt[skip < 0 ? dataset.length : dataset.length - 1];
+        j = 0;
+        for(i=0; i<dataset.length; i++){
+            if(i != skip){
+                result[j] = new dataPt(dataset[i]);
+                j += 1;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns a listing of the analysis, in the same format as the
+     * {@link averagingReport#fullReport() full report}: a table with each
+     * measurement, the result without it, the change in the central value
+     * and the reduced chi^2 without it, followed by the jackknife result.
+     * @param dataset the measurements the analysis was done on
+     * @return a listing of the analysis
+     */
+    public List<String> fullReport(dataPt[] dataset){
+        textTable reportData;
+        List<String> result;
+        boolean hasChiSq;
+        int i;
+
+        hasChiSq = false;
+        for(i=0; i<reducedChiSq.length; i++){
+            hasChiSq = hasChiSq || reducedChiSq[i] > -1d;
+        }
+
+        reportData = new textTable();
+        reportData.setCell(0, 0, "Data Point");
+        reportData.setCell(0, 1, "Result Without Point");
+        reportData.setCell(0, 2, "Change");
+        if(hasChiSq){
+            reportData.setCell(0, 3, "Chi**2/(N-1) Without Point");
+        }
+        for(i=0; i<leaveOneOut.length; i++){
+            reportData.setCell(i+1, 0, dataset[i].toString(true));
+            reportData.setCell(i+1, 1, leaveOneOut[i].toString(false));
+            reportData.setCell(i+1, 2, averagingReport.doublePrint(influence[i]));
+            if(hasChiSq){
+                reportData.setCell(i+1, 3, averagingReport.doublePrint(reducedChiSq[i]));
+            }
+        }
+
+        result = new ArrayList<>();
+        result.add("~~Leave-One-Out Analysis~~");
+        for(String line : reportData.toStringList()){
+            result.add(line);
+        }
+        result.add("");
+        result.add(jackknife.toString());
+        return result;
+    }
+}
@@ -0,0 +1,238 @@
+
+package averagingAlgorithms;
+
+import ensdf_datapoint.dataPt;
+
+/**
+ * This class evaluates the cumulative distribution function (CDF) of the
+ * asymmetric Gaussian distributions defined by a dataset (see
+ * {@link MathSpecialFunctions#normalIntegral(ensdf_datapoint.dataPt, double) normalIntegral})
+ * in batches. The central values, the scale factors <code>1/(sqrt(2)l)</code>
+ * and <code>1/(sqrt(2)u)</code> and the fractions <code>l/(l+u)</code> and
+ * <code>u/(l+u)</code> of every point are computed once and kept in
+ * primitive arrays, so that evaluating all of the CDFs at a value is a
+ * single loop without any method calls other than <code>Math.exp</code>.
+ * <br><br>
+ *
+ * The CDFs are computed from the complementary error function of a
+ * non-negative argument, which is evaluated as
+ * <code>erfc(z) = exp(-z^2) erfcx(z)</code>, where the scaled complementary
+ * error function <code>erfcx</code> is given by a Chebyshev series in
+ * <code>t = (z - 4)/(z + 4)</code> (see J.L. Schonfelder, Math. Comp. 32,
+ * 1232 (1978)). The coefficients give erfcx to about 1e-17 over the whole
+ * range of z, so erfc is correct to a few units in the last place for
+ * moderate arguments (the rounding of z^2 raises the relative error to
+ * about 1e-13 far in the tails). This is at least as accurate as the
+ * Apache Commons Math implementation, including in the tails where
+ * <code>1 + erf(z)</code> would lose all precision.
+ * <br><br>
+ *
+ * Date Modified: 19/10/2026
+ */
+public class normalCDF {
+    private static final double SQRT_HALF = Math.sqrt(0.5d);
+    //erfc underflows beyond this argument
+    private static final double MAX_ARGUMENT = 30d;
+    //Chebyshev coefficients of erfcx(z) in t = (z - 4)/(z + 4)
+    private static final double[] ERFCX_COEFFICIENTS = {
+        5.96203587387315159e-01, -4.29086441255805362e-01,
+        1.80272565687710551e-01, -6.52375244973489865e-02,
+        2.03672565767448639e-02, -5.44908706645900760e-03,
+        1.22785153726067547e-03, -2.24697942187730498e-04,
+        3.06854311309895126e-05, -2.31782349994685353e-06,
+        -1.46283564847275776e-07, 6.92783051874894869e-08,
+        -6.88311076336284643e-09, -6.85848914944545078e-10,
+        2.45937349894966843e-10, -7.81490917402809610e-12,
+        -5.88939473381726279e-12, 6.86923043856799302e-13,
+        1.25504925801082606e-13, -2.82325095027981522e-14,
+        -2.60316463431754325e-15, 1.02499601950092342e-15,
+        5.72841468125684966e-17, -3.69287512932721513e-17,
+        -1.57255072964202742e-18, 1.36880627386458507e-18
+    };
+
+    private final int n;
+    private final double[] center;
+    //1/(sqrt(2)*lower) and 1/(sqrt(2)*upper)
+    private final double[] lowerScale, upperScale;
+    //lower/(lower + upper) and upper/(lower + upper)
+    private final double[] lowerFraction, upperFraction;
+
+    /**
+     * Precomputes the scale factors of the asymmetric Gaussian distributions
+     * defined by the dataset.
+     * @param dataset the points defining the distributions
+     */
+    public normalCDF(dataPt[] dataset){
+        double l, u;
+        int i;
+
+        this.n = dataset.length;
+        this.center = new double[n];
+        this.lowerScale = new double[n];
+        this.upperScale = new double[n];
+        this.lowerFraction = new double[n];
+        this.upperFraction = new double[n];
+        for(i=0; i<n; i++){
+            l = dataset[i].getLower();
+            u = dataset[i].getUpper();
+            this.center[i] = dataset[i].getValue();
+            this.lowerScale[i] = SQRT_HALF / l;
+            this.upperScale[i] = SQRT_HALF / u;
+            this.lowerFraction[i] = l / (l + u);
+            this.upperFraction[i] = u / (l + u);
+        }
+    }
+
+    /**
+     * Returns the number of distributions.
+     * @return the number of distributions
+     */
+    public int size(){
+        return this.n;
+    }
+
+    /**
+     * Returns the CDF of the i-th distribution evaluated at x.
+     * @param i index of the distribution
+     * @param x value at which to compute the CDF
+     * @return the CDF of the i-th distribution evaluated at x
+     */
+    public double cdf(int i, double x){
+        double d;
+
+        d = x - center[i];
+        if(d <= 0d){
+            return lowerFraction[i] * erfcPositive(-d * lowerScale[i]);
+        }else{
+            return 1d - upperFraction[i] * erfcPositive(d * upperScale[i]);
+        }
+    }
+
+    /**
+     * Evaluates the CDF of every distribution at x.
+     * @param x value at which to compute the CDFs
+     * @param result array (at least as long as the dataset) to store the
+     * CDF of each distribution in
+     */
+    public void cdf(double x, double[] result){
+        double d, e;
+        boolean below;
+        int i;
+
+        for(i=0; i<n; i++){
+            d = x - center[i];
+            below = d <= 0d;
+            e = erfcPositive(below ? -d * lowerScale[i] : d * upperScale[i]);
+            result[i] = below ? lowerFraction[i] * e : 1d - upperFraction[i] * e;
+        }
+    }
+
+    /**
+     * Returns the mean of the CDFs of all the distributions evaluated at x,
+     * i.e. the probability that a value drawn from the mixture of the
+     * distributions is less than x.
+     * @param x value at which to compute the CDFs
+     * @return the mean of the CDFs evaluated at x
+     */
+    public double meanCDF(double x){
+        double d, e, sum;
+        boolean below;
+        int i;
+
+        if(n == 0){
+            return 0d;
+        }
+        sum = 0d;
+        for(i=0; i<n; i++){
+            d = x - center[i];
+            below = d <= 0d;
+            e = erfcPositive(below ? -d * lowerScale[i] : d * upperScale[i]);
+            sum += below ? lowerFraction[i] * e : 1d - upperFraction[i] * e;
+        }
+        return sum / (double)n;
+    }
+
+    /**
+     * Returns the area under the i-th distribution between a and b.
+     * @param i index of the distribution
+     * @param a lower end point of the interval
+     * @param b upper end point of the interval
+     * @return the area under the i-th distribution between a and b
+     */
+    public double area(int i, double a, double b){
+        return cdf(i, b) - cdf(i, a);
+    }
+
+    /**
+     * Returns the CDF of the asymmetric Gaussian distribution with the given
+     * central value and lower and upper uncertainties evaluated at x.
+     * @param v central value
+     * @param l lower uncertainty
+     * @param u upper uncertainty
+     * @param x value at which to compute the CDF
+     * @return the CDF evaluated at x
+     */
+    public static final double cdf(double v, double l, double u, double x){
+        if(x <= v){
+            return l / (l + u) * erfcPositive((v - x) * SQRT_HALF / l);
+        }else{
+            return 1d - u / (l + u) * erfcPositive((x - v) * SQRT_HALF / u);
+        }
+    }
+
+    /**
+     * Evaluates the CDF of the standard normal distribution at each element
+     * of <code>z</code>.
+     * @param z values at which to compute the CDF
+     * @param result array (at least as long as <code>z</code>) to store the
+     * results in, may be the same array as <code>z</code>
+     */
+    public static final void standardCDF(double[] z, double[] result){
+        double e;
+        boolean below;
+        int i;
+
+        for(i=0; i<z.length; i++){
+            below = z[i] <= 0d;
+            e = 0.5d * erfcPositive(Math.abs(z[i]) * SQRT_HALF);
+            result[i] = below ? e : 1d - e;
+        }
+    }
+
+    /**
+     * Returns erfc(z), the complementary error function, for any z.
+     * @param z number at which to compute the complementary error function
+     * @return erfc(z)
+     */
+    public static final double erfc(double z){
+        if(z >= 0d){
+            return erfcPositive(z);
+        }else{
+            return 2d - erfcPositive(-z);
+        }
+    }
+
+    /**
+     * Returns erfc(z) for z &ge; 0 (or NaN).
+     * @param z non-negative number at which to compute the complementary
+     * error function
+     * @return erfc(z)
+     */
+    private static double erfcPositive(double z){
+        double t, twoT, b0, b1, b2;
+        int k;
+
+        z = Math.min(z, MAX_ARGUMENT);
+        t = (z - 4d) / (z + 4d);
+        twoT = 2d * t;
+        //Clenshaw recurrence for the Chebyshev series
+        b1 = 0d;
+        b2 = 0d;
+        for(k=ERFCX_COEFFICIENTS.length - 1; k>0; k--){
+            b0 = twoT * b1 - b2 + ERFCX_COEFFICIENTS[k];
+            b2 = b1;
+            b1 = b0;
+        }
+        return Math.exp(-z*z) * (t * b1 - b2 + 0.5d * ERFCX_COEFFICIENTS[0]);
+    }
+}
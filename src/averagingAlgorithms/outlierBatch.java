@@ -0,0 +1,103 @@
+
+package averagingAlgorithms;
+
+import ensdf_datapoint.dataPt;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.ObjIntConsumer;
+import java.util.stream.IntStream;
+
+/**
+ * This class screens many datasets for outliers at once (e.g. every quantity
+ * in a nuclide chain), applying all of the criteria of an
+ * {@link outlierScreening} to each dataset. The datasets are screened in
+ * parallel on a work-stealing {@link ForkJoinPool}, so a few large datasets
+ * do not hold up the rest, and each result is passed on as soon as its
+ * dataset is finished. <br><br>
+ *
+ * The only table shared between the threads is that of the maximum
+ * deviations of Peirce's criterion (see {@link peirceTable}), which is safe
+ * to use from several threads. Anything else saved while screening a
+ * dataset, such as its weighted average, is kept by the
+ * {@link analysisContext} of that dataset and is not shared with the others.
+ * The datasets themselves are not modified. <br><br>
+ *
+ * Date Modified: 19/10/2026
+ */
+public final class outlierBatch {
+
+    private outlierBatch(){
+    }
+
+    /**
+     * Screens each of the datasets for outliers using the given pool.
+     * Birch's criterion uses the weighted average of each dataset as the
+     * given mean. As each dataset is finished, <code>listener</code> (if it is
+     * not <code>null</code>) is called with the screening and the index of the
+     * dataset in <code>datasets</code>; datasets finish in no particular
+     * order, but the listener is never called by two threads at the same
+     * time.
+     * @param datasets the datasets to screen
+     * @param birchK the maximum tolerable probability used by Birch's
+     * criterion (see {@link outlierMethods#BirchCriterion(ensdf_datapoint.dataPt[], ensdf_datapoint.dataPt, double)
+     * BirchCriterion})
+     * @param listener called with each screening as soon as it is finished
+     * @param pool the pool in which to do the screening
+     * @return the screening of each dataset, in the same order as
+     * <code>datasets</code>
+     * @throws InterruptedException if interrupted while waiting for the pool
+     * @throws ExecutionException if the screening of any dataset fails; the
+     * cause is the exception thrown by that screening
+     */
+    public static outlierScreening[] screen(List<dataPt[]> datasets,
+            double birchK, ObjIntConsumer<outlierScreening> listener,
+            ForkJoinPool pool) throws InterruptedException, ExecutionException{
+        final outlierScreening[] result;
+        final Object lock;
+
+        result = new outlierScreening[datasets.size()];
+        lock = new Object();
+        pool.submit(() -> IntStream.range(0, result.length).parallel()
+                .forEach((int i) -> {
+            result[i] = new outlierScreening(
+                    new analysisContext(datasets.get(i)), null, birchK);
+            if(listener != null){
+                synchronized(lock){
+                    listener.accept(result[i], i);
+                }
+            }
+        })).get();
+        return result;
+    }
+
+    /**
+     * Calls <code>{@link #screen(java.util.List, double, java.util.function.ObjIntConsumer, java.util.concurrent.ForkJoinPool)
+     * screen(datasets, 0.99d, listener, ForkJoinPool.commonPool())}</code>.
+     * @param datasets the datasets to screen
+     * @param listener called with each screening as soon as it is finished
+     * @return the screening of each dataset, in the same order as
+     * <code>datasets</code>
+     * @throws InterruptedException if interrupted while waiting for the pool
+     * @throws ExecutionException if the screening of any dataset fails
+     */
+    public static outlierScreening[] screen(List<dataPt[]> datasets,
+            ObjIntConsumer<outlierScreening> listener)
+            throws InterruptedException, ExecutionException{
+        return screen(datasets, 0.99d, listener, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Calls <code>{@link #screen(java.util.List, java.util.function.ObjIntConsumer)
+     * screen(datasets, null)}</code>.
+     * @param datasets the datasets to screen
+     * @return the screening of each dataset, in the same order as
+     * <code>datasets</code>
+     * @throws InterruptedException if interrupted while waiting for the pool
+     * @throws ExecutionException if the screening of any dataset fails
+     */
+    public static outlierScreening[] screen(List<dataPt[]> datasets)
+            throws InterruptedException, ExecutionException{
+        return screen(datasets, null);
+    }
+}
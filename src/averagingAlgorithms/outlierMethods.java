@@ -25,51 +25,142 @@ public class outlierMethods {
      * criterion
      */
     public static final dataPt[] ChauvenetCriterion(dataPt[] dataset){
-        List<dataPt> points;
-        List<dataPt> outliers;
-        dataPt[] dataPt_arr;
+        return ChauvenetCriterion(dataset, 
+                averagingMethods.unweightedAverage(dataset));
+    }
+    /**
+     * Returns the outliers in the dataset, as identified by Chauvenet's
+     * criterion, using the given unweighted average of the whole dataset in
+     * the first iteration. <br><br>
+     * 
+     * The points are sorted by central value once, so the points rejected
+     * in each iteration (those too far below or above the mean) are always
+     * taken from the two ends of the remaining sorted range. The sums needed
+     * for the unweighted average and its uncertainty are updated as each
+     * point is removed, so the whole search costs O(n log n). Outliers are
+     * returned in the order they are rejected, and in their order in the
+     * dataset within an iteration.
+     * @param dataset dataset in which to look for outliers
+     * @param datasetUnwtAv the {@link averagingMethods#unweightedAverage(ensdf_datapoint.dataPt[]) 
+     * unweighted average} of <code>dataset</code>
+     * @return the outliers in the dataset, as identified by Chauvenet's
+     * criterion
+     */
+    public static final dataPt[] ChauvenetCriterion(dataPt[] dataset,
+            dataPt datasetUnwtAv){
+        return toPoints(dataset, chauvenetIndices(dataset, datasetUnwtAv, 
+                gaussVariances(dataset), valueOrder(dataset)));
+    }
+    /**
+     * Performs the search of {@link #ChauvenetCriterion(ensdf_datapoint.dataPt[], ensdf_datapoint.dataPt) 
+     * ChauvenetCriterion} using the given variances and order of the points.
+     * @param dataset dataset in which to look for outliers
+     * @param datasetUnwtAv the unweighted average of <code>dataset</code>
+     * @param variances the {@link #gaussVariances(ensdf_datapoint.dataPt[]) 
+     * Gaussian variance} of each point
+     * @param order the {@link #valueOrder(ensdf_datapoint.dataPt[]) indices 
+     * of the points in increasing order of central value}
+     * @return the indices of the outliers, in the order they are rejected
+     */
+    static int[] chauvenetIndices(dataPt[] dataset, dataPt datasetUnwtAv,
+            double[] variances, int[] order){
+        List<Integer> outliers;
+        List<Integer> rejected;
         int i = 0; //for counting loops
         int n = 0; //number of points
-	int rejectNum;
+        int lo, hi; //remaining points are order[lo] to order[hi]
 	double mean;
 	double stdDev;
 	double maxDev; //maximum deviation from mean
-	dataPt unwtAv;
+        double shift; //values are summed relative to this to avoid cancellation
+        double sum, sumSq, sumVar; //sums of shifted values, their squares and variances
+        double sumSqScale, sumVarScale; //sizes of the sums when last computed in full
+        double internaluncert, externaluncert;
 	boolean leaveLoop;
         
         n = dataset.length;
-        leaveLoop = false;
         outliers = new ArrayList<>();
-        points = new ArrayList<>();
-        dataPt_arr = new dataPt[0];
+        rejected = new ArrayList<>();
         
+        shift = datasetUnwtAv.getValue();
+        if(Double.isNaN(shift) || Double.isInfinite(shift)){
+            shift = 0d;
+        }
+        sum = 0d;
+        sumSq = 0d;
+        sumVar = 0d;
         for(i=0; i<n; i++){
-            points.add(dataset[i]);
+            sum += dataset[i].getValue() - shift;
+            sumSq += (dataset[i].getValue() - shift) * (dataset[i].getValue() - shift);
+            sumVar += variances[i];
         }
+        sumSqScale = sumSq;
+        sumVarScale = sumVar;
         
-        while(!leaveLoop){
-            n = points.size();
-            leaveLoop = true;
-            unwtAv = averagingMethods.unweightedAverage(points.toArray(dataPt_arr));
-            mean = unwtAv.getValue();
-            //multiply by square root of n to recover sample standard
-            // deviation from unweighted average estimate
-            stdDev = unwtAv.getLower() * Math.sqrt((double)n);
+        lo = 0;
+        hi = n - 1;
+        leaveLoop = false;
+        while(!leaveLoop && lo <= hi){
+            n = hi - lo + 1;
+            if(n == dataset.length){
+                mean = datasetUnwtAv.getValue();
+                //multiply by square root of n to recover sample standard
+                // deviation from unweighted average estimate
+                stdDev = datasetUnwtAv.getLower() * Math.sqrt((double)n);
+            }else{
+                // same as the uncertainty of the unweighted average
+                mean = shift + sum / (double)n;
+                externaluncert = Math.sqrt(Math.max(sumSq - sum*sum/(double)n, 0d)
+                        / ((double)n*(n-1)));
+                internaluncert = Math.sqrt(sumVar) / ((double) n);
+                stdDev = Math.max(internaluncert, externaluncert) * 
+                        Math.sqrt((double)n);
+            }
             maxDev = Math.sqrt(2d) * MathSpecialFunctions.inverseErf(
                     ((double)(2*n) - 1d) / ((double)(2*n))) * stdDev;
             
-            rejectNum = 0;
-            for(i=0; i<n; i++){
-                if(Math.abs(points.get(i - rejectNum).getValue() - mean) > 
-                        maxDev){
-                    outliers.add(points.get(i - rejectNum));
-                    points.remove(i - rejectNum);
-                    leaveLoop = false;
-                    rejectNum += 1;
+            // points too far from the mean can only be at the ends
+            rejected.clear();
+            while(lo <= hi && Math.abs(dataset[order[lo]].getValue() - mean) > 
+                    maxDev){
+                rejected.add(order[lo]);
+                lo += 1;
+            }
+            while(lo <= hi && Math.abs(dataset[order[hi]].getValue() - mean) > 
+                    maxDev){
+                rejected.add(order[hi]);
+                hi -= 1;
+            }
+            
+            leaveLoop = rejected.isEmpty();
+            Collections.sort(rejected);
+            for(Integer j : rejected){
+                sum -= dataset[j].getValue() - shift;
+                sumSq -= (dataset[j].getValue() - shift) * (dataset[j].getValue() - shift);
+                sumVar -= variances[j];
+                outliers.add(j);
+            }
+            if(lo <= hi && (sumSq - sum*sum/(double)(hi - lo + 1) < 1e-3 * sumSqScale
+                    || sumVar < 1e-3 * sumVarScale)){
+                // most of the spread was removed, so the differences have
+                // lost precision; sum the remaining points again about their
+                // new mean (each time the spread must have fallen by a
+                // factor of 1000, so this can only happen a few times)
+                shift += sum / (double)(hi - lo + 1);
+                sum = 0d;
+                sumSq = 0d;
+                sumVar = 0d;
+                for(i=lo; i<=hi; i++){
+                    sum += dataset[order[i]].getValue() - shift;
+                    sumSq += (dataset[order[i]].getValue() - shift) * 
+                            (dataset[order[i]].getValue() - shift);
+                    sumVar += variances[order[i]];
                 }
+                sumSqScale = sumSq;
+                sumVarScale = sumVar;
             }
         }
-        return(outliers.toArray(dataPt_arr));
+        return toIndexArray(outliers);
     }
     
     // returns outliers in the data set as identified by Birch's
@@ -94,12 +185,32 @@ public class outlierMethods {
      * criterion
      */
     public static final dataPt[] BirchCriterion(dataPt[] dataset, dataPt givenMean, double k){
-        List<dataPt> outliers;
-        List<dataPt> sortedSet;
-        dataPt[] dataPt_arr;
-        int i, j;
+        double[] variances;
+        
+        variances = gaussVariances(dataset);
+        return toPoints(dataset, birchIndices(dataset, givenMean, k, variances,
+                normalizedDeviations(dataset, variances, givenMean.getValue())));
+    }
+    /**
+     * Performs the test of {@link #BirchCriterion(ensdf_datapoint.dataPt[], ensdf_datapoint.dataPt, double) 
+     * BirchCriterion} using the given variances and normalized deviations.
+     * @param dataset dataset in which to search for outliers
+     * @param givenMean given mean to check for consistency with
+     * @param k maximum tolerable probability with which a data point is 
+     * inconstant with the given mean
+     * @param variances the {@link #gaussVariances(ensdf_datapoint.dataPt[]) 
+     * Gaussian variance} of each point
+     * @param normDev the {@link #normalizedDeviations(ensdf_datapoint.dataPt[], double[], double) 
+     * normalized deviation} of each point from the given mean
+     * @return the indices of the outliers, in decreasing order of normalized
+     * deviation
+     */
+    static int[] birchIndices(dataPt[] dataset, dataPt givenMean, double k,
+            double[] variances, double[] normDev){
+        List<Integer> candidates;
+        int i;
         int n;
-        int rejectNum;
+        int first; //point with the largest normalized deviation
         double mean, meanVariance;
         double deviation, totalVariance;
         
@@ -107,34 +218,38 @@ public class outlierMethods {
         mean = givenMean.getValue();
         meanVariance = givenMean.gaussVariance();
         
-        sortedSet = new ArrayList<>();
-        //copy data points into list to be sorted
+        // every point is tested, so test them in their original order and
+        // only sort the ones which fail
+        candidates = new ArrayList<>();
+        first = 0;
         for(i=0; i<n; i++){
-            sortedSet.add(dataset[i]);
+            if(Double.compare(normDev[i], normDev[first]) > 0){
+                first = i;
+            }
+            deviation = Math.abs(dataset[i].getValue() - mean);
+            totalVariance = variances[i] + meanVariance;
+            if(0.5d + 0.5d*MathSpecialFunctions.erf(deviation / 
+                    Math.sqrt((2d * totalVariance))) > k){
+                candidates.add(i);
+            }
         }
         
-        //sort points according to normalized deviation (in decreasing order)
-        Collections.sort(sortedSet, 
-                dataPt.normalizedDeviationComparatorConstructor(mean));
+        //sort outliers according to normalized deviation (in decreasing order)
+        Collections.sort(candidates, (Integer a, Integer b) -> 
+                Double.compare(normDev[b], normDev[a]));
         
-        outliers = new ArrayList<>();
-        dataPt_arr = new dataPt[0];
+        //with fewer than three points only the first point is considered
+        if(n < 3 && !candidates.isEmpty() && candidates.get(0) != first){
+            candidates.clear();
+        }
         
-        rejectNum = 0;
-        for(i=0; i<n; i++){
-            deviation = Math.abs(sortedSet.get(i).getValue() - mean);
-            totalVariance = sortedSet.get(i).gaussVariance() 
-                    + meanVariance;
-            if(0.5d + 0.5d*MathSpecialFunctions.erf(deviation / 
-                    Math.sqrt((2d * totalVariance))) > k){
-                outliers.add(sortedSet.get(i));
-                rejectNum += 1;
-            }
-            if(n - rejectNum < 3){ //exit if only a pair of points remain
-                break;
-            }
+        //exit if only a pair of points remain
+        if(n >= 3 && candidates.size() > n - 2){
+            return toIndexArray(candidates.subList(0, n - 2));
+        }else if(n < 3 && candidates.size() > 1){
+            return toIndexArray(candidates.subList(0, 1));
         }
-        return(outliers.toArray(dataPt_arr));
+        return toIndexArray(candidates);
     }
     /**
      * Uses {@link #BirchCriterion(ensdf_datapoint.dataPt[], ensdf_datapoint.dataPt, double) 
@@ -176,7 +291,10 @@ public class outlierMethods {
     // the standard deviation using Peirces's criterion
     /**
      * Calculates the maximum deviation from the mean normalized to 
-     * the standard deviation using Peirces's criterion.
+     * the standard deviation using Peirces's criterion. The fixed point
+     * iteration stops when successive values of R agree to 1e-12, or after
+     * 10000 iterations. {@link peirceTable#maxNormDev(int, int) peirceTable.maxNormDev}
+     * should be used instead to avoid repeating this calculation.
      * @param numPts the number of measurements in the dataset
      * @param numOutliers the number of outliers believed to be in the
      * dataset
@@ -185,7 +303,9 @@ public class outlierMethods {
      */
     public static final double calcPeircesMaxNormDev(int numPts, int numOutliers){
         final double precision = 1e-12;
+        final int maxIterations = 10000;
         final double sqrt2 = Math.sqrt(2d);
+        int iteration;
         double result;
         double NlnQ, lambda, x, R, newR;
         
@@ -201,7 +321,7 @@ public class outlierMethods {
                 (double)numPts * Math.log((double)numPts);
         
         // iterate to find R
-        while(true){
+        for(iteration=1; ; iteration++){
             // use Q and R to find lambda
             lambda = Math.exp((NlnQ - (double)numOutliers * Math.log(R)) / 
                     ((double)(numPts - numOutliers)));
@@ -211,7 +331,7 @@ public class outlierMethods {
             // use x to find R
             newR = Math.exp(0.5d * (x*x - 1d)) * 
                     MathSpecialFunctions.erfc(x / sqrt2);
-            if(Math.abs(R - newR) < precision){
+            if(Math.abs(R - newR) < precision || iteration >= maxIterations){
                 break;
             }else{
                 R = newR;
@@ -228,42 +348,93 @@ public class outlierMethods {
      * @return outliers in the dataset as identified by Peirce's criterion.
      */
     public static final dataPt[] PeirceCriterion(dataPt[] dataset){
-        List<dataPt> outliers;
-        dataPt[] dataPt_arr;
+        return PeirceCriterion(dataset, averagingMethods.unweightedAverage(dataset));
+    }
+    /**
+     * Returns outliers in the dataset as identified by Peirce's criterion,
+     * using the given unweighted average of the dataset.
+     * @param dataset dataset in which to search for outliers
+     * @param unwtAv the {@link averagingMethods#unweightedAverage(ensdf_datapoint.dataPt[]) 
+     * unweighted average} of <code>dataset</code>
+     * @return outliers in the dataset as identified by Peirce's criterion.
+     */
+    public static final dataPt[] PeirceCriterion(dataPt[] dataset, dataPt unwtAv){
+        return toPoints(dataset, peirceIndices(dataset, unwtAv, 
+                valueOrder(dataset)));
+    }
+    /**
+     * Performs the search of {@link #PeirceCriterion(ensdf_datapoint.dataPt[], ensdf_datapoint.dataPt) 
+     * PeirceCriterion} using the given order of the points.
+     * @param dataset dataset in which to search for outliers
+     * @param unwtAv the unweighted average of <code>dataset</code>
+     * @param order the {@link #valueOrder(ensdf_datapoint.dataPt[]) indices 
+     * of the points in increasing order of central value}
+     * @return the indices of the outliers, in increasing order
+     */
+    static int[] peirceIndices(dataPt[] dataset, dataPt unwtAv, int[] order){
+        List<Integer> outliers;
         int i, n;
-        dataPt unwtAv;
-        double mean, stdDev;
-        boolean[] isOutlier;
+        int lo, hi;
+        double mean, stdDev, dLo, dHi;
+        double[] normDev, sortedNormDev; //normalized deviation of each point
         int globalNumOutliers, interationNumOutliers;
+        int numMarked; //the largest numMarked deviations are outliers
         boolean leaveLoop;
         double maxNormDev;
         
         n = dataset.length;
         
-        unwtAv = averagingMethods.unweightedAverage(dataset);
         mean = unwtAv.getValue();
         stdDev = unwtAv.getLower() * Math.sqrt((double)n);
         
-        isOutlier = new boolean[n];
+        normDev = new double[n];
         for(i=0; i<n; i++){
-            isOutlier[i] = false;
+            normDev[i] = Math.abs(dataset[i].getValue() - mean) / stdDev;
+            if(Double.isNaN(normDev[i])){
+                normDev[i] = Double.NEGATIVE_INFINITY; //never an outlier
+            }
+        }
+        
+        // the largest deviation in a range of points sorted by central value
+        // is at one of its ends, so the deviations can be put in order by
+        // repeatedly taking the larger end (points with undefined central
+        // values are sorted last and are never outliers)
+        sortedNormDev = new double[n];
+        hi = n - 1;
+        while(hi >= 0 && Double.isNaN(dataset[order[hi]].getValue())){
+            sortedNormDev[n - 1 - hi] = Double.NEGATIVE_INFINITY;
+            hi -= 1;
+        }
+        lo = 0;
+        i = n - 1;
+        while(lo <= hi){
+            dLo = Math.abs(dataset[order[lo]].getValue() - mean);
+            dHi = Math.abs(dataset[order[hi]].getValue() - mean);
+            if(dLo > dHi){
+                sortedNormDev[i] = normDev[order[lo]];
+                lo += 1;
+            }else{
+                sortedNormDev[i] = normDev[order[hi]];
+                hi -= 1;
+            }
+            i -= 1;
         }
         
+        // each iteration marks the largest remaining deviations which exceed
+        // the maximum, so the outliers are always the numMarked largest
         leaveLoop = false;
+        numMarked = 0;
         globalNumOutliers = 1; // assume one outlier
         while(!leaveLoop){
             leaveLoop = true;
-            maxNormDev = calcPeircesMaxNormDev(n, globalNumOutliers);
+            maxNormDev = peirceTable.maxNormDev(n, globalNumOutliers);
             
             globalNumOutliers -= 1;
             interationNumOutliers = 0;
-            for(i=0; i<n; i++){
-                if(!(isOutlier[i]) && (Math.abs(dataset[i].getValue() - mean) 
-                        / stdDev > maxNormDev)){
-                    isOutlier[i] = true;
-                    interationNumOutliers += 1;
-                    globalNumOutliers += 1;
-                }
+            while(numMarked < n && sortedNormDev[n - 1 - numMarked] > maxNormDev){
+                numMarked += 1;
+                interationNumOutliers += 1;
+                globalNumOutliers += 1;
             }
             if(interationNumOutliers > 0){
                 globalNumOutliers += 1; // assume one extra outlier
@@ -272,14 +443,13 @@ public class outlierMethods {
         }
         
         outliers = new ArrayList<>();
-        dataPt_arr = new dataPt[0];
         
-        for(i=0; i<n; i++){
-            if(isOutlier[i]){
-                outliers.add(dataset[i]);
+        for(i=0; numMarked > 0 && i<n; i++){
+            if(normDev[i] >= sortedNormDev[n - numMarked]){
+                outliers.add(i);
             }
         }
-        return(outliers.toArray(dataPt_arr));
+        return toIndexArray(outliers);
     }
     
     /**
@@ -290,44 +460,62 @@ public class outlierMethods {
      * Modified Peirce's criterion.
      */
     public static final dataPt[] ModifiedPeirceCriterion(dataPt[] dataset){
+        if(dataset.length == 2){ //Don't try anything on Two data points
+            return new dataPt[0];
+        }
+        return ModifiedPeirceCriterion(dataset, 
+                averagingMethods.weightedAverage(dataset));
+    }
+    /**
+     * Returns outliers in the dataset as identified by the 
+     * Modified Peirce's criterion, using the given weighted average of the
+     * dataset.
+     * @param dataset dataset in which to search for outliers
+     * @param wtAv the {@link averagingMethods#weightedAverage(ensdf_datapoint.dataPt[]) 
+     * weighted average} of <code>dataset</code>
+     * @return outliers in the dataset as identified by the 
+     * Modified Peirce's criterion.
+     */
+    public static final dataPt[] ModifiedPeirceCriterion(dataPt[] dataset,
+            dataPt wtAv){
+        return toPoints(dataset, modifiedPeirceIndices(dataset, 
+                normalizedDeviations(dataset, gaussVariances(dataset), 
+                        wtAv.getValue())));
+    }
+    /**
+     * Performs the search of {@link #ModifiedPeirceCriterion(ensdf_datapoint.dataPt[], ensdf_datapoint.dataPt) 
+     * ModifiedPeirceCriterion} using the given normalized deviations.
+     * @param dataset dataset in which to search for outliers
+     * @param normDev the {@link #normalizedDeviations(ensdf_datapoint.dataPt[], double[], double) 
+     * normalized deviation} of each point from the weighted average
+     * @return the indices of the outliers, in decreasing order of normalized
+     * deviation
+     */
+    static int[] modifiedPeirceIndices(dataPt[] dataset, double[] normDev){
         final double sqrt2 = Math.sqrt(2d);
-        List<dataPt> outliers;
-        List<dataPt> sortedSet;
-        dataPt[] dataPt_arr;
+        List<Integer> outliers;
         int i, n, m;
-        dataPt wtAv;
-        double mean;
         boolean leaveLoop;
         
-        double[] normDev; //normalized deviation
+        int[] heap; //the j-th largest deviation is normDev[heap[n-j]] once popped
+        int heapSize;
         double nmRatio, k, rmax;
         
         n = dataset.length;
         outliers = new ArrayList<>();
-        dataPt_arr = new dataPt[0];
         if(n == 2){ //Don't try anything on Two data points
-            return(outliers.toArray(dataPt_arr));
+            return toIndexArray(outliers);
         }
         
-        wtAv = averagingMethods.weightedAverage(dataset);
-        mean = wtAv.getValue();
-        
-        normDev = new double[n];
-        sortedSet = new ArrayList<>();
-        
-        //copy data points to list
+        heap = new int[n];
         for(i=0; i<n; i++){
-            sortedSet.add(dataset[i]);
+            heap[i] = i;
         }
         
-        //sort points according to normalized deviation (in decreasing order)
-        Collections.sort(sortedSet, 
-                dataPt.normalizedDeviationComparatorConstructor(mean));
-        
-        //calculate normalized deviations
-        for(i=0; i<n; i++){
-            normDev[i] = sortedSet.get(i).normalizedDeviation(mean);
-        }
+        //only the largest few deviations are usually needed, so order the
+        //points (in decreasing order of normalized deviation) as required
+        buildDeviationHeap(heap, normDev);
+        heapSize = popDeviationHeap(heap, n, normDev);
         
         leaveLoop = false;
         m=1;
@@ -339,11 +527,14 @@ public class outlierMethods {
                     - nmRatio * Math.log((double)n));
             rmax = sqrt2 * MathSpecialFunctions.inverseErf(1d - k);
             
-            if(rmax < normDev[m - 1]){ //point exceeds maximum deviation
+            if(rmax < normDev[heap[n - m]]){ //point exceeds maximum deviation
                 //remove all points with too large deviation
-                while(rmax < normDev[m-1] && n-m > 1){
-                    outliers.add(sortedSet.get(m-1));
+                while(rmax < normDev[heap[n - m]] && n-m > 1){
+                    outliers.add(heap[n - m]);
                     m += 1;
+                    if(n - heapSize < m){
+                        heapSize = popDeviationHeap(heap, heapSize, normDev);
+                    }
                 }
                 leaveLoop = false;
             }
@@ -352,7 +543,214 @@ public class outlierMethods {
             }
         }
         m -= 1;
-        return(outliers.toArray(dataPt_arr));
+        return toIndexArray(outliers);
+    }
+    
+    /**
+     * Returns <code>true</code> if point <code>a</code> comes before point
+     * <code>b</code> in decreasing order of normalized deviation, with ties
+     * kept in their original order.
+     * @param a index of the first point
+     * @param b index of the second point
+     * @param normDev normalized deviations of the points
+     * @return <code>true</code> if point <code>a</code> comes first
+     */
+    private static boolean deviationBefore(int a, int b, double[] normDev){
+        int c;
+        
+        c = Double.compare(normDev[a], normDev[b]);
+        return c > 0 || (c == 0 && a < b);
+    }
+    
+    /**
+     * Moves the point at position <code>i</code> of the heap down until
+     * neither of its children comes before it.
+     * @param heap heap of point indices
+     * @param i position to move down from
+     * @param size number of points in the heap
+     * @param normDev normalized deviations of the points
+     */
+    private static void sinkDeviationHeap(int[] heap, int i, int size,
+            double[] normDev){
+        int child, tmp;
+        
+        while(2*i + 1 < size){
+            child = 2*i + 1;
+            if(child + 1 < size && deviationBefore(heap[child + 1], heap[child], normDev)){
+                child += 1;
+            }
+            if(!deviationBefore(heap[child], heap[i], normDev)){
+                break;
+            }
+            tmp = heap[i];
+            heap[i] = heap[child];
+            heap[child] = tmp;
+            i = child;
+        }
+    }
+    
+    /**
+     * Arranges the point indices into a heap with the largest normalized
+     * deviation first.
+     * @param heap point indices to arrange
+     * @param normDev normalized deviations of the points
+     */
+    private static void buildDeviationHeap(int[] heap, double[] normDev){
+        int i;
+        
+        for(i=heap.length/2 - 1; i>=0; i--){
+            sinkDeviationHeap(heap, i, heap.length, normDev);
+        }
+    }
+    
+    /**
+     * Removes the first point from the heap and stores it just after the
+     * end of the (now smaller) heap, as in heapsort.
+     * @param heap heap of point indices
+     * @param size number of points in the heap
+     * @param normDev normalized deviations of the points
+     * @return the new number of points in the heap
+     */
+    private static int popDeviationHeap(int[] heap, int size, double[] normDev){
+        int tmp;
+        
+        if(size == 0){
+            return 0;
+        }
+        tmp = heap[0];
+        heap[0] = heap[size - 1];
+        heap[size - 1] = tmp;
+        sinkDeviationHeap(heap, 0, size - 1, normDev);
+        return size - 1;
+    }
+    
+    /**
+     * Returns the indices of the points in the dataset in increasing order of
+     * central value.
+     * @param dataset the data points
+     * @return the indices of the points in increasing order of central value
+     */
+    static int[] valueOrder(dataPt[] dataset){
+        Integer[] order;
+        int[] result;
+        int i;
+        
+        order = new Integer[dataset.length];
+        for(i=0; i<order.length; i++){
+            order[i] = i;
+        }
+        Arrays.sort(order, (Integer a, Integer b) -> 
+                Double.compare(dataset[a].getValue(), dataset[b].getValue()));
+        result = new int[order.length];
+        for(i=0; i<order.length; i++){
+            result[i] = order[i];
+        }
+        return result;
+    }
+    
+    /**
+     * Returns the {@link ensdf_datapoint.dataPt#gaussVariance() Gaussian variance}
+     * of each point in the dataset.
+     * @param dataset the data points
+     * @return the Gaussian variance of each point
+     */
+    static double[] gaussVariances(dataPt[] dataset){
+        double[] result;
+        int i;
+        
+        result = new double[dataset.length];
+        for(i=0; i<result.length; i++){
+            result[i] = dataset[i].gaussVariance();
+        }
+        return result;
+    }
+    
+    /**
+     * Returns the {@link ensdf_datapoint.dataPt#normalizedDeviation(double) 
+     * normalized deviation} of each point in the dataset from the given mean.
+     * @param dataset the data points
+     * @param variances the Gaussian variance of each point
+     * @param mean the mean to compute deviations from
+     * @return the normalized deviation of each point
+     */
+    static double[] normalizedDeviations(dataPt[] dataset, double[] variances,
+            double mean){
+        double[] result;
+        int i;
+        
+        result = new double[dataset.length];
+        for(i=0; i<result.length; i++){
+            result[i] = Math.abs(dataset[i].getValue() - mean) / 
+                    Math.sqrt(variances[i]);
+        }
+        return result;
+    }
+    
+    /**
+     * Converts a List of indices into an array.
+     * @param indices the indices
+     * @return the indices as an array
+     */
+    private static int[] toIndexArray(List<Integer> indices){
+        int[] result;
+        int i;
+        
+        result = new int[indices.size()];
+        for(i=0; i<result.length; i++){
+            result[i] = indices.get(i);
+        }
+        return result;
+    }
+    
+    /**
+     * Returns the indices of the outliers in the dataset of the given context,
+     * as identified by the given criterion, in the same order as the
+     * corresponding method returns the outliers themselves.
+     * @param context shared quantities of the dataset
+     * @param outlierMethod the criterion used: 0 for Chauvenet's, 1 for
+     * Peirce's, 2 for Modified Peirce's and 3 for Birch's (with the weighted
+     * average as the given mean and 99% probability)
+     * @return the indices of the outliers
+     */
+    static int[] outlierIndices(analysisContext context, int outlierMethod){
+        dataPt[] dataset;
+        double[] variances;
+        dataPt mean;
+
+        dataset = context.getDataset();
+        variances = context.variances();
+        if(outlierMethod == 0){
+            return chauvenetIndices(dataset, context.unweightedAverage(),
+                    variances, valueOrder(dataset));
+        }else if(outlierMethod == 1){
+            return peirceIndices(dataset, context.unweightedAverage(),
+                    valueOrder(dataset));
+        }else if(outlierMethod == 2){
+            return modifiedPeirceIndices(dataset, normalizedDeviations(dataset,
+                    variances, context.weightedAverage().getValue()));
+        }else if(outlierMethod == 3){
+            mean = context.weightedAverage();
+            return birchIndices(dataset, mean, 0.99d, variances,
+                    normalizedDeviations(dataset, variances, mean.getValue()));
+        }
+        return new int[0];
+    }
+
+    /**
+     * Returns the points of the dataset with the given indices.
+     * @param dataset the data points
+     * @param indices indices of the points to return
+     * @return the points with the given indices, in the same order
+     */
+    static dataPt[] toPoints(dataPt[] dataset, int[] indices){
+        dataPt[] result;
+        int i;
+        
+        result = new dataPt[indices.length];
+        for(i=0; i<result.length; i++){
+            result[i] = dataset[indices[i]];
+        }
+        return result;
     }
     
     /**
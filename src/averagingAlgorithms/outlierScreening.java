@@ -0,0 +1,184 @@
+
+package averagingAlgorithms;
+
+import ensdf_datapoint.dataPt;
+
+/**
+ * This class applies all of the outlier criteria in {@link outlierMethods}
+ * (Chauvenet's, Peirce's, Modified Peirce's and Birch's) to one dataset and
+ * records, for each point, which of the criteria identify it as an outlier.
+ * <br><br>
+ *
+ * The quantities the criteria have in common are computed once: the
+ * unweighted and weighted averages (through an {@link analysisContext}), the
+ * Gaussian variance of each point, the order of the points by central value
+ * (used by Chauvenet's and Peirce's criteria) and the normalized deviations
+ * from the weighted average (used by the Modified Peirce and, with the
+ * default mean, Birch criteria). Screening with all four criteria therefore
+ * costs little more than the most expensive one on its own. The outliers
+ * found by each criterion are the same, and in the same order, as those
+ * returned by the corresponding method of {@link outlierMethods}.
+ * <br><br>
+ *
+ * Date Modified: 19/10/2026
+ */
+public class outlierScreening {
+    /**
+     * Index of {@link outlierMethods#ChauvenetCriterion(ensdf_datapoint.dataPt[]) Chauvenet's criterion}
+     */
+    public static final int CHAUVENET = 0;
+    /**
+     * Index of {@link outlierMethods#PeirceCriterion(ensdf_datapoint.dataPt[]) Peirce's criterion}
+     */
+    public static final int PEIRCE = 1;
+    /**
+     * Index of {@link outlierMethods#ModifiedPeirceCriterion(ensdf_datapoint.dataPt[]) Modified Peirce's criterion}
+     */
+    public static final int MODIFIED_PEIRCE = 2;
+    /**
+     * Index of {@link outlierMethods#BirchCriterion(ensdf_datapoint.dataPt[], ensdf_datapoint.dataPt, double) Birch's criterion}
+     */
+    public static final int BIRCH = 3;
+    /**
+     * Names of the criteria, by index
+     */
+    public static final String[] CRITERIA = {"Chauvenet", "Peirce",
+        "Modified Peirce", "Birch"};
+
+    private final dataPt[] dataset;
+    //outliers[c] holds the indices of the outliers found by criterion c
+    private final int[][] outliers;
+    //verdicts[i][c] is true if point i is an outlier according to criterion c
+    private final boolean[][] verdicts;
+
+    /**
+     * Screens the dataset with all of the criteria. Birch's criterion uses
+     * the given mean and probability.
+     * @param context shared quantities of the dataset to screen
+     * @param birchMean the mean used by Birch's criterion, or <code>null</code>
+     * to use the weighted average
+     * @param birchK the maximum tolerable probability used by Birch's
+     * criterion (see {@link outlierMethods#BirchCriterion(ensdf_datapoint.dataPt[], ensdf_datapoint.dataPt, double)
+     * BirchCriterion})
+     */
+    public outlierScreening(analysisContext context, dataPt birchMean,
+            double birchK){
+        dataPt unwtAv, wtAv;
+        double[] variances, normDev, birchNormDev;
+        int[] order;
+        int i, c, n;
+
+        this.dataset = context.getDataset();
+        n = this.dataset.length;
+        this.outliers = new int[CRITERIA.length][];
+
+        unwtAv = context.unweightedAverage();
+        wtAv = context.weightedAverage();
+        if(birchMean == null){
+            birchMean = wtAv;
+        }
+        variances = context.variances();
+        order = outlierMethods.valueOrder(this.dataset);
+        normDev = outlierMethods.normalizedDeviations(this.dataset, variances,
+                wtAv.getValue());
+        if(Double.compare(birchMean.getValue(), wtAv.getValue()) == 0){
+            birchNormDev = normDev;
+        }else{
+            birchNormDev = outlierMethods.normalizedDeviations(this.dataset,
+                    variances, birchMean.getValue());
+        }
+
+        this.outliers[CHAUVENET] = outlierMethods.chauvenetIndices(this.dataset,
+                unwtAv, variances, order);
+        this.outliers[PEIRCE] = outlierMethods.peirceIndices(this.dataset,
+                unwtAv, order);
+        if(n == 2){ //Modified Peirce does not try anything on two data points
+            this.outliers[MODIFIED_PEIRCE] = new int[0];
+        }else{
+            this.outliers[MODIFIED_PEIRCE] = outlierMethods.modifiedPeirceIndices(
+                    this.dataset, normDev);
+        }
+        this.outliers[BIRCH] = outlierMethods.birchIndices(this.dataset,
+                birchMean, birchK, variances, birchNormDev);
+
+        this.verdicts = new boolean[n][CRITERIA.length];
+        for(c=0; c<CRITERIA.length; c++){
+            for(i=0; i<this.outliers[c].length; i++){
+                this.verdicts[this.outliers[c][i]][c] = true;
+            }
+        }
+    }
+    /**
+     * Calls <code>{@link #outlierScreening(averagingAlgorithms.analysisContext, ensdf_datapoint.dataPt, double)
+     * outlierScreening(new analysisContext(dataset), null, 0.99d)}</code>.
+     * @param dataset the dataset to screen
+     */
+    public outlierScreening(dataPt[] dataset){
+        this(new analysisContext(dataset), null, 0.99d);
+    }
+
+    /**
+     * Returns the number of points in the dataset.
+     * @return the number of points in the dataset
+     */
+    public int size(){
+        return this.dataset.length;
+    }
+
+    /**
+     * Returns <code>true</code> if the i-th point is an outlier according to
+     * the given criterion.
+     * @param i index of the point
+     * @param criterion index of the criterion (e.g. {@link #CHAUVENET})
+     * @return <code>true</code> if the point is an outlier according to the
+     * criterion
+     */
+    public boolean isOutlier(int i, int criterion){
+        return this.verdicts[i][criterion];
+    }
+
+    /**
+     * Returns the number of criteria which identify the i-th point as an
+     * outlier.
+     * @param i index of the point
+     * @return the number of criteria which identify the point as an outlier
+     */
+    public int countVerdicts(int i){
+        int c, count;
+
+        count = 0;
+        for(c=0; c<CRITERIA.length; c++){
+            if(this.verdicts[i][c]){
+                count += 1;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Returns the verdict matrix, with one row per point and one column per
+     * criterion (see {@link #CRITERIA}). An element is <code>true</code> if
+     * the criterion identifies the point as an outlier.
+     * @return a copy of the verdict matrix
+     */
+    public boolean[][] getVerdicts(){
+        boolean[][] result;
+        int i;
+
+        result = new boolean[this.verdicts.length][];
+        for(i=0; i<result.length; i++){
+            result[i] = this.verdicts[i].clone();
+        }
+        return result;
+    }
+
+    /**
+     * Returns the outliers identified by the given criterion, in the same
+     * order as the corresponding method of {@link outlierMethods}.
+     * @param criterion index of the criterion (e.g. {@link #CHAUVENET})
+     * @return the outliers identified by the criterion
+     */
+    public dataPt[] getOutliers(int criterion){
+        return outlierMethods.toPoints(this.dataset, this.outliers[criterion]);
+    }
+}
@@ -0,0 +1,77 @@
+
+package averagingAlgorithms;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * This class holds the maximum normalized deviations allowed by Peirce's
+ * criterion (see {@link outlierMethods#calcPeircesMaxNormDev(int, int)
+ * calcPeircesMaxNormDev}), which depend only on the number of points and the
+ * number of assumed outliers. Each value is computed at most once and then
+ * looked up. <br><br>
+ *
+ * For up to {@link #MAX_TABLE_POINTS} points the values are kept in one row
+ * per number of points, holding the values for 1, 2, ... outliers. A row is
+ * only generated as far as it has been needed; when a larger number of
+ * outliers is requested the missing values are appended and the longer row
+ * replaces the old one. Rows are never modified after they are published, so
+ * lookups need no locking. Values outside the table are computed on demand
+ * and cached in a concurrent map. <br><br>
+ *
+ * Date Modified: 19/10/2026
+ */
+public final class peirceTable {
+    /**
+     * The largest number of points for which values are kept in the table
+     */
+    public static final int MAX_TABLE_POINTS = 5000;
+    //rows[N] holds the values for N points and 1, 2, ..., rows[N].length outliers
+    private static final AtomicReferenceArray<double[]> rows =
+            new AtomicReferenceArray<>(MAX_TABLE_POINTS + 1);
+    //values outside the table, keyed by (number of points, number of outliers)
+    private static final ConcurrentHashMap<Long, Double> others =
+            new ConcurrentHashMap<>();
+
+    private peirceTable(){
+    }
+
+    /**
+     * Returns the maximum deviation from the mean normalized to the standard
+     * deviation allowed by Peirce's criterion, computing it only if it has not
+     * been requested before.
+     * @param numPts the number of measurements in the dataset
+     * @param numOutliers the number of outliers believed to be in the
+     * dataset
+     * @return the maximum deviation from the mean normalized to
+     * the standard deviation using Peirces's criterion
+     */
+    public static final double maxNormDev(int numPts, int numOutliers){
+        double[] row, longer;
+        int m;
+
+        if(numPts > MAX_TABLE_POINTS || numOutliers < 1 || numOutliers >= numPts){
+            return others.computeIfAbsent(((long)numPts << 32) | (numOutliers & 0xffffffffL),
+                    (Long key) -> outlierMethods.calcPeircesMaxNormDev(numPts, numOutliers));
+        }
+        while(true){
+            row = rows.get(numPts);
+            if(row != null && row.length >= numOutliers){
+                return row[numOutliers - 1];
+            }
+            //extend the row (at least doubling it) up to numOutliers
+            longer = new double[Math.min(numPts - 1, Math.max(numOutliers,
+                    row == null ? 8 : 2*row.length))];
+            m = 0;
+            if(row != null){
+                System.arraycopy(row, 0, longer, 0, row.length);
+                m = row.length;
+            }
+            for(; m<longer.length; m++){
+                longer[m] = outlierMethods.calcPeircesMaxNormDev(numPts, m + 1);
+            }
+            //if another thread published a row first, use that one instead
+            rows.compareAndSet(numPts, row, longer);
+        }
+    }
+}
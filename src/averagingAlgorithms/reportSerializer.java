@@ -0,0 +1,389 @@
+package averagingAlgorithms;
+
+import ensdf_datapoint.dataPt;
+import java.io.IOException;
+
+/**
+ * This class writes the results held in {@link averagingReport} objects in
+ * a machine-readable form, one record for each dataset and averaging method,
+ * so that other programs can read them without parsing the text of the
+ * {@link averagingReport#fullReport() full report}. Each record is written to
+ * the given <code>Appendable</code> (e.g. a <code>BufferedWriter</code>) as
+ * soon as it is passed in, so batches of any size can be written. <br><br>
+ *
+ * Two formats are supported:
+ * <ul>
+ * <li>{@link #NDJSON}: one JSON object per line, with the fields "dataset",
+ * "method", "n" (the number of input values), "means" (each with "name",
+ * "value", "upper" and "lower"), "reducedChiSq", "criticalChiSq",
+ * "outliers" (each like the means), "changedPoints" (indices of the points
+ * whose uncertainties were adjusted) and "relativeWeights". Fields which
+ * the method does not give are <code>null</code>, as are numbers which
+ * are not finite.</li>
+ * <li>{@link #CSV}: one row per record, with the columns named by
+ * {@link #CSV_COLUMNS}, after a header row written by
+ * {@link #writeHeader()}. The "value", "upper" and "lower" columns hold the
+ * first of the means; all of the means, the outliers, changed points and
+ * weights are given as lists separated by ';', where the value, upper and
+ * lower uncertainty of each point are separated by spaces. Missing fields
+ * are left empty.</li>
+ * </ul>
+ *
+ * Date Modified: 19/10/2026
+ */
+public class reportSerializer {
+    /**
+     * The formats which can be written.
+     */
+    public static final int NDJSON = 0;
+    public static final int CSV = 1;
+    /**
+     * The columns written in the {@link #CSV} format.
+     */
+    public static final String[] CSV_COLUMNS = {"dataset", "method", "n",
+        "value", "upper", "lower", "means", "meanNames", "reducedChiSq",
+        "criticalChiSq", "outliers", "changedPoints", "relativeWeights"};
+
+    private final Appendable out;
+    private final int format;
+    private final String lineSeparator;
+    //the record being written, reused between records
+    private final StringBuilder record;
+    private final StringBuilder field;
+
+    /**
+     * Creates a serializer which writes records in the given format to
+     * <code>out</code>, each ending with the given line separator.
+     * @param out where to write the records
+     * @param format {@link #NDJSON} or {@link #CSV}
+     * @param lineSeparator the String written after each record
+     */
+    public reportSerializer(Appendable out, int format, String lineSeparator){
+        if(format != NDJSON && format != CSV){
+            throw new IllegalArgumentException("Unknown report format: " + String.valueOf(format));
+        }
+        this.out = out;
+        this.format = format;
+        this.lineSeparator = lineSeparator;
+        this.record = new StringBuilder();
+        this.field = new StringBuilder();
+    }
+
+    /**
+     * Calls <code>{@link #reportSerializer(java.lang.Appendable, int, java.lang.String)
+     * reportSerializer(out, format, "\n")}</code>.
+     * @param out where to write the records
+     * @param format {@link #NDJSON} or {@link #CSV}
+     */
+    public reportSerializer(Appendable out, int format){
+        this(out, format, "\n");
+    }
+
+    /**
+     * Returns the format to use for the file specified by the given String,
+     * from its extension: {@link #NDJSON} for ".ndjson" or ".jsonl",
+     * {@link #CSV} for ".csv", or -1 for any other file.
+     * @param file path to the file
+     * @return the format of the file, or -1 if it is not machine-readable
+     */
+    public static int formatOf(String file){
+        String lower;
+
+        lower = file.toLowerCase();
+        if(lower.endsWith(".ndjson") || lower.endsWith(".jsonl")){
+            return NDJSON;
+        }else if(lower.endsWith(".csv")){
+            return CSV;
+        }
+        return -1;
+    }
+
+    /**
+     * Writes the header row naming the columns, if the format is
+     * {@link #CSV}. Nothing is written for {@link #NDJSON}.
+     * @throws IOException if the records cannot be written
+     */
+    public void writeHeader() throws IOException{
+        int i;
+
+        if(this.format != CSV){
+            return;
+        }
+        this.record.setLength(0);
+        for(i=0; i<CSV_COLUMNS.length; i++){
+            if(i > 0){
+                this.record.append(',');
+            }
+            this.record.append(CSV_COLUMNS[i]);
+        }
+        this.out.append(this.record).append(this.lineSeparator);
+    }
+
+    /**
+     * Calls <code>{@link #write(averagingAlgorithms.averagingReport, java.lang.String)
+     * write(rpt, rpt.dataSetName)}</code>.
+     * @param rpt the report to write
+     * @throws IOException if the record cannot be written
+     */
+    public void write(averagingReport rpt) throws IOException{
+        write(rpt, rpt.dataSetName);
+    }
+
+    /**
+     * Writes the record of one report, given the name of its dataset (e.g.
+     * when comparing methods, where the reports of the individual methods
+     * are not named).
+     * @param rpt the report to write
+     * @param dataSetName the name of the dataset, or <code>null</code>
+     * @throws IOException if the record cannot be written
+     */
+    public void write(averagingReport rpt, String dataSetName) throws IOException{
+        this.record.setLength(0);
+        if(this.format == NDJSON){
+            appendJSON(rpt, dataSetName);
+        }else{
+            appendCSV(rpt, dataSetName);
+        }
+        this.out.append(this.record).append(this.lineSeparator);
+    }
+
+    private void appendJSON(averagingReport rpt, String dataSetName){
+        StringBuilder sb;
+        double[] weights;
+        int i;
+
+        sb = this.record;
+        weights = rpt.getRelativeWeights();
+        sb.append("{\"dataset\":");
+        jsonString(sb, dataSetName);
+        sb.append(",\"method\":");
+        jsonString(sb, rpt.methodName);
+        sb.append(",\"n\":");
+        if(rpt.originalDataSet != null){
+            sb.append(rpt.originalDataSet.length);
+        }else{
+            sb.append("null");
+        }
+        sb.append(",\"means\":");
+        jsonPoints(sb, rpt.means);
+        sb.append(",\"reducedChiSq\":");
+        jsonNumber(sb, rpt.reducedChiSq > -1 ? rpt.reducedChiSq : Double.NaN);
+        sb.append(",\"criticalChiSq\":");
+        jsonNumber(sb, rpt.criticalChiSq > -1 ? rpt.criticalChiSq : Double.NaN);
+        sb.append(",\"outliers\":");
+        jsonPoints(sb, rpt.outliers);
+        sb.append(",\"changedPoints\":");
+        if(rpt.changedPoints == null){
+            sb.append("null");
+        }else{
+            sb.append('[');
+            for(i=0; i<rpt.changedPoints.length; i++){
+                if(i > 0){
+                    sb.append(',');
+                }
+                sb.append(rpt.changedPoints[i]);
+            }
+            sb.append(']');
+        }
+        sb.append(",\"relativeWeights\":");
+        if(weights == null){
+            sb.append("null");
+        }else{
+            sb.append('[');
+            for(i=0; i<weights.length; i++){
+                if(i > 0){
+                    sb.append(',');
+                }
+                jsonNumber(sb, weights[i]);
+            }
+            sb.append(']');
+        }
+        sb.append('}');
+    }
+
+    private static void jsonPoints(StringBuilder sb, dataPt[] points){
+        int i;
+
+        if(points == null){
+            sb.append("null");
+            return;
+        }
+        sb.append('[');
+        for(i=0; i<points.length; i++){
+            if(i > 0){
+                sb.append(',');
+            }
+            sb.append("{\"name\":");
+            jsonString(sb, points[i].getName());
+            sb.append(",\"value\":");
+            jsonNumber(sb, points[i].getValue());
+            sb.append(",\"upper\":");
+            jsonNumber(sb, points[i].getUpper());
+            sb.append(",\"lower\":");
+            jsonNumber(sb, points[i].getLower());
+            sb.append('}');
+        }
+        sb.append(']');
+    }
+
+    //JSON has no NaN or infinity, so they are written as null
+    private static void jsonNumber(StringBuilder sb, double x){
+        if(Double.isNaN(x) || Double.isInfinite(x)){
+            sb.append("null");
+        }else{
+            sb.append(x);
+        }
+    }
+
+    private static void jsonString(StringBuilder sb, String s){
+        int i;
+        char c;
+
+        if(s == null){
+            sb.append("null");
+            return;
+        }
+        sb.append('"');
+        for(i=0; i<s.length(); i++){
+            c = s.charAt(i);
+            if(c == '"' || c == '\\'){
+                sb.append('\\').append(c);
+            }else if(c == '\n'){
+                sb.append("\\n");
+            }else if(c == '\r'){
+                sb.append("\\r");
+            }else if(c == '\t'){
+                sb.append("\\t");
+            }else if(c < 0x20){
+                sb.append("\\u00");
+                sb.append(Character.forDigit(c >> 4, 16));
+                sb.append(Character.forDigit(c & 0xF, 16));
+            }else{
+                sb.append(c);
+            }
+        }
+        sb.append('"');
+    }
+
+    private void appendCSV(averagingReport rpt, String dataSetName){
+        StringBuilder sb, f;
+        dataPt first;
+        double[] weights;
+        int i;
+
+        sb = this.record;
+        f = this.field;
+        weights = rpt.getRelativeWeights();
+        csvField(sb, dataSetName);
+        sb.append(',');
+        csvField(sb, rpt.methodName);
+        sb.append(',');
+        if(rpt.originalDataSet != null){
+            sb.append(rpt.originalDataSet.length);
+        }
+        first = rpt.means != null && rpt.means.length > 0 ? rpt.means[0] : null;
+        sb.append(',');
+        if(first != null){
+            sb.append(first.getValue());
+        }
+        sb.append(',');
+        if(first != null){
+            sb.append(first.getUpper());
+        }
+        sb.append(',');
+        if(first != null){
+            sb.append(first.getLower());
+        }
+        sb.append(',');
+        csvPoints(sb, rpt.means);
+        sb.append(',');
+        if(rpt.means != null){
+            f.setLength(0);
+            for(i=0; i<rpt.means.length; i++){
+                if(i > 0){
+                    f.append(';');
+                }
+                if(rpt.means[i].getName() != null){
+                    f.append(rpt.means[i].getName());
+                }
+            }
+            csvField(sb, f);
+        }
+        sb.append(',');
+        if(rpt.reducedChiSq > -1){
+            sb.append(rpt.reducedChiSq);
+        }
+        sb.append(',');
+        if(rpt.criticalChiSq > -1){
+            sb.append(rpt.criticalChiSq);
+        }
+        sb.append(',');
+        csvPoints(sb, rpt.outliers);
+        sb.append(',');
+        if(rpt.changedPoints != null){
+            for(i=0; i<rpt.changedPoints.length; i++){
+                if(i > 0){
+                    sb.append(';');
+                }
+                sb.append(rpt.changedPoints[i]);
+            }
+        }
+        sb.append(',');
+        if(weights != null){
+            for(i=0; i<weights.length; i++){
+                if(i > 0){
+                    sb.append(';');
+                }
+                sb.append(weights[i]);
+            }
+        }
+    }
+
+    //each point as "value upper lower", separated by ';'
+    private static void csvPoints(StringBuilder sb, dataPt[] points){
+        int i;
+
+        if(points == null){
+            return;
+        }
+        for(i=0; i<points.length; i++){
+            if(i > 0){
+                sb.append(';');
+            }
+            sb.append(points[i].getValue());
+            sb.append(' ');
+            sb.append(points[i].getUpper());
+            sb.append(' ');
+            sb.append(points[i].getLower());
+        }
+    }
+
+    //quotes the field if it contains a separator, quote or line break
+    private static void csvField(StringBuilder sb, CharSequence s){
+        int i;
+        boolean quote;
+        char c;
+
+        if(s == null){
+            return;
+        }
+        quote = false;
+        for(i=0; i<s.length() && !quote; i++){
+            c = s.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if(!quote){
+            sb.append(s);
+            return;
+        }
+        sb.append('"');
+        for(i=0; i<s.length(); i++){
+            c = s.charAt(i);
+            if(c == '"'){
+                sb.append('"');
+            }
+            sb.append(c);
+        }
+        sb.append('"');
+    }
+}
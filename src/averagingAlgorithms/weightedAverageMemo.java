@@ -0,0 +1,157 @@
+package averagingAlgorithms;
+
+import ensdf_datapoint.dataPt;
+
+/**
+ * This class stores the result of a {@link averagingMethods#weightedAverage(ensdf_datapoint.dataPt[], boolean, averagingAlgorithms.averagingReport)
+ * weighted average} calculation on the points of a {@link dataSetView},
+ * together with the {@link dataSetView#getVersion() version} of the view it
+ * was computed from, so that asking again for the weighted average of a view
+ * which has not changed since can be answered without redoing the
+ * calculation. <br><br>
+ *
+ * Only the details up to the {@link averagingReport#getDetail() detail level}
+ * asked for are computed and kept. Asking for more detail later computes the
+ * missing details from the saved mean, without repeating the maximum
+ * likelihood calculation. <br><br>
+ *
+ * Memos are kept by the {@link analysisContext} of one analysis run and are
+ * discarded with it. <br><br>
+ *
+ * Date Modified: 19/10/2026
+ */
+public class weightedAverageMemo {
+    private final long version;
+    private final dataPt internal;
+    private final dataPt external;
+    private int detail;
+    private double reducedChiSq;
+    private double criticalChiSq;
+    private double rejectionConfidence;
+    private double[] relativeWeights;
+    private double[] ptChiSq;
+
+    /**
+     * Stores the result of a weighted average calculation, with the details
+     * saved in its report. The arrays of the report are kept by the memo, so
+     * the report must not be changed afterwards.
+     * @param version the version of the view whose points were averaged
+     * @param rpt the report filled in by the calculation
+     */
+    public weightedAverageMemo(long version, averagingReport rpt){
+        this.version = version;
+        this.internal = new dataPt(rpt.means[0]);
+        this.external = new dataPt(rpt.means[1]);
+        this.detail = rpt.getDetail();
+        this.reducedChiSq = rpt.reducedChiSq;
+        this.criticalChiSq = rpt.criticalChiSq;
+        this.rejectionConfidence = rpt.rejectionConfidence;
+        this.relativeWeights = rpt.getRelativeWeights();
+        this.ptChiSq = rpt.getPtChiSq();
+    }
+
+    /**
+     * Computes the weighted average of the given points, saving the details
+     * up to the given level.
+     * @param points the measurements to average
+     * @param version the version of the view the points belong to
+     * @param level one of {@link averagingReport#VALUE}, {@link averagingReport#SUMMARY}
+     * or {@link averagingReport#FULL}
+     * @return the memo of the calculation
+     */
+    static weightedAverageMemo compute(dataPt[] points, long version, int level){
+        averagingReport rpt;
+
+        rpt = new averagingReport(Math.max(averagingReport.VALUE, level));
+        averagingMethods.computeWeightedAverage(points, rpt);
+        return new weightedAverageMemo(version, rpt);
+    }
+
+    /**
+     * Returns <code>true</code> if this memo was computed from the given
+     * version of its view.
+     * @param otherVersion the current version of the view
+     * @return <code>true</code> if this memo applies to the view
+     */
+    public boolean matches(long otherVersion){
+        return this.version == otherVersion;
+    }
+
+    /**
+     * Makes sure the details up to the given level are saved, computing any
+     * which are missing from the saved mean.
+     * @param points the measurements (identical to those the memo was
+     * computed from)
+     * @param level one of {@link averagingReport#VALUE}, {@link averagingReport#SUMMARY}
+     * or {@link averagingReport#FULL}
+     */
+    void require(dataPt[] points, int level){
+        averagingReport rpt;
+        double mean;
+
+        if(this.detail >= level){
+            return;
+        }
+        mean = this.internal.getValue();
+        rpt = new averagingReport(level);
+        averagingMethods.weightedAverageDetails(points, mean,
+                averagingMethods.WeightedAveChiSq(points, mean) /
+                        (double)(points.length - 1), rpt);
+        this.reducedChiSq = rpt.reducedChiSq;
+        this.criticalChiSq = rpt.criticalChiSq;
+        this.rejectionConfidence = rpt.rejectionConfidence;
+        this.relativeWeights = rpt.getRelativeWeights();
+        this.ptChiSq = rpt.getPtChiSq();
+        this.detail = level;
+    }
+
+    /**
+     * Returns the weighted average, with the same uncertainty as
+     * {@link averagingMethods#weightedAverage(ensdf_datapoint.dataPt[], boolean, averagingAlgorithms.averagingReport)
+     * weightedAverage} would return, and saves the details of the calculation
+     * in <code>rpt</code> if it is not <code>null</code>. The details must
+     * have been {@link #require(ensdf_datapoint.dataPt[], int) computed} up
+     * to the detail level of <code>rpt</code>.
+     * @param dataset the measurements (identical to those the memo was
+     * computed from) to reference in the report
+     * @param forceInternalUncert if <code>true</code> then return the "internal uncertainty", even
+     * if the "external uncertainty" is larger.
+     * @param rpt save details of the calculation to this variable
+     * @return the weighted average of the dataset
+     */
+    public dataPt getResult(dataPt[] dataset, boolean forceInternalUncert,
+            averagingReport rpt){
+        dataPt result;
+
+        result = new dataPt(this.internal);
+        result.setName("Weighted Average");
+
+        try{
+            rpt.originalDataSet = dataset;
+            rpt.means = new dataPt[2];
+            rpt.means[0] = new dataPt(this.internal);
+            rpt.means[1] = new dataPt(this.external);
+            rpt.methodName = "Weighted Average";
+            if(rpt.includes(averagingReport.SUMMARY)){
+                rpt.reducedChiSq = this.reducedChiSq;
+                rpt.criticalChiSq = this.criticalChiSq;
+                rpt.rejectionConfidence = this.rejectionConfidence;
+            }
+            if(rpt.includes(averagingReport.FULL)){
+                //copied only if they are read
+                rpt.setRelativeWeights(() -> this.relativeWeights.clone());
+                rpt.setPtChiSq(() -> this.ptChiSq.clone());
+            }
+        }catch(NullPointerException e){
+            // do nothing if rpt is null
+        }
+
+        // return external uncertaity if greater than internal
+        if(result.gaussVariance() < this.external.gaussVariance() &&
+                !(forceInternalUncert)){
+            result.setLower(this.external.getLower());
+            result.setUpper(this.external.getUpper());
+        }
+        return result;
+    }
+}
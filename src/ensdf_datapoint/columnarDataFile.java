@@ -0,0 +1,459 @@
+package ensdf_datapoint;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This class reads and writes datasets in a compact binary file, stored by
+ * column rather than as text, so that large evaluations can be reloaded
+ * without parsing. The file is memory-mapped when read, and the value,
+ * upper and lower uncertainty of every point are read straight from the
+ * mapped columns. <br><br>
+ *
+ * The file (little-endian) is made of:
+ * <ul>
+ * <li>a header: the characters "VAVB", the format version, the number of
+ * datasets, the number of points and the number of names (5 ints) and
+ * 4 bytes of padding,</li>
+ * <li>the index of the first point of each dataset and the total number of
+ * points (ints), the source display precision of each dataset (the place
+ * value of its least significant figure, ints) and the title of each
+ * dataset (indices of names, ints), padded to a multiple of 8 bytes,</li>
+ * <li>the value, upper uncertainty and lower uncertainty columns (doubles),
+ * the name column (indices of names, ints) and the column of the least
+ * significant place of each point as it was input (ints),</li>
+ * <li>the dictionary of names, each given by its length in bytes (int) and
+ * its UTF-8 encoding.</li>
+ * </ul>
+ * Missing titles or names are stored as the index -1, and missing places
+ * or precisions as {@link #NO_PLACE}. <br><br>
+ *
+ * Date Modified: 19/10/2026
+ */
+public class columnarDataFile implements Closeable {
+    /**
+     * The precision or place stored when there is none.
+     */
+    public static final int NO_PLACE = Integer.MIN_VALUE;
+    /**
+     * The usual extension of files in this format.
+     */
+    public static final String EXTENSION = ".vavb";
+
+    private static final int MAGIC = 0x42564156; //"VAVB" in little-endian
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 24;
+    //size of the buffer used when writing
+    private static final int WRITE_BUFFER = 1 << 16;
+
+    private final FileChannel channel;
+    private final int numDataSets, numPoints;
+    private final int[] starts, precisions, titles;
+    private final DoubleBuffer values, uppers, lowers;
+    private final IntBuffer names, places;
+    private final String[] dictionary;
+
+    /**
+     * Opens the binary data file specified by the given String, mapping its
+     * columns into memory.
+     * @param file path to the data file
+     * @throws IOException if the file cannot be read or is not in this
+     * format
+     */
+    public columnarDataFile(String file) throws IOException{
+        ByteBuffer buffer;
+        IntBuffer table;
+        int numNames, pos, length, i;
+        byte[] bytes;
+
+        this.channel = FileChannel.open(Paths.get(file), StandardOpenOption.READ);
+        try{
+            if(this.channel.size() > Integer.MAX_VALUE){
+                throw new IOException("Data file is too large to read.");
+            }
+            buffer = this.channel.map(FileChannel.MapMode.READ_ONLY, 0,
+                    this.channel.size()).order(ByteOrder.LITTLE_ENDIAN);
+            if(buffer.limit() < HEADER_SIZE || buffer.getInt(0) != MAGIC){
+                throw new IOException("Not a binary data file.");
+            }
+            if(buffer.getInt(4) != VERSION){
+                throw new IOException("Unsupported binary data file version "
+                        + String.valueOf(buffer.getInt(4)) + ".");
+            }
+            this.numDataSets = buffer.getInt(8);
+            this.numPoints = buffer.getInt(12);
+            numNames = buffer.getInt(16);
+
+            pos = HEADER_SIZE;
+            table = slice(buffer, pos, 4*(3*this.numDataSets + 1)).asIntBuffer();
+            this.starts = new int[this.numDataSets + 1];
+            this.precisions = new int[this.numDataSets];
+            this.titles = new int[this.numDataSets];
+            table.get(this.starts);
+            table.get(this.precisions);
+            table.get(this.titles);
+            pos = align(pos + 4*(3*this.numDataSets + 1));
+
+            this.values = slice(buffer, pos, 8*this.numPoints).asDoubleBuffer();
+            pos += 8*this.numPoints;
+            this.uppers = slice(buffer, pos, 8*this.numPoints).asDoubleBuffer();
+            pos += 8*this.numPoints;
+            this.lowers = slice(buffer, pos, 8*this.numPoints).asDoubleBuffer();
+            pos += 8*this.numPoints;
+            this.names = slice(buffer, pos, 4*this.numPoints).asIntBuffer();
+            pos += 4*this.numPoints;
+            this.places = slice(buffer, pos, 4*this.numPoints).asIntBuffer();
+            pos += 4*this.numPoints;
+
+            this.dictionary = new String[numNames];
+            for(i=0; i<numNames; i++){
+                length = buffer.getInt(pos);
+                bytes = new byte[length];
+                buffer.duplicate().position(pos + 4).get(bytes);
+                this.dictionary[i] = new String(bytes, StandardCharsets.UTF_8);
+                pos += 4 + length;
+            }
+            check(numNames);
+        }catch(IOException e){
+            this.channel.close();
+            throw e;
+        }catch(RuntimeException e){ //truncated or corrupt file
+            this.channel.close();
+            throw new IOException("Binary data file is corrupt.", e);
+        }
+    }
+
+    /**
+     * Returns the number of datasets in the file.
+     * @return the number of datasets
+     */
+    public int size(){
+        return this.numDataSets;
+    }
+
+    /**
+     * Returns the number of points in the i-th dataset.
+     * @param i index of the dataset
+     * @return the number of points in the dataset
+     */
+    public int size(int i){
+        return this.starts[i + 1] - this.starts[i];
+    }
+
+    /**
+     * Returns the title of the i-th dataset.
+     * @param i index of the dataset
+     * @return the title, or <code>null</code> if it has none
+     */
+    public String getTitle(int i){
+        return this.titles[i] < 0 ? null : this.dictionary[this.titles[i]];
+    }
+
+    /**
+     * Returns the source display precision of the i-th dataset, i.e. the
+     * place value of the least significant figure of its input.
+     * @param i index of the dataset
+     * @return the precision, or {@link #NO_PLACE} if none was stored
+     */
+    public int getPrecision(int i){
+        return this.precisions[i];
+    }
+
+    /**
+     * Returns the central values of the i-th dataset, read directly from
+     * the mapped file.
+     * @param i index of the dataset
+     * @return a read-only view of the central values
+     */
+    public DoubleBuffer getValues(int i){
+        return column(this.values, i);
+    }
+
+    /**
+     * Returns the upper uncertainties of the i-th dataset, read directly
+     * from the mapped file.
+     * @param i index of the dataset
+     * @return a read-only view of the upper uncertainties
+     */
+    public DoubleBuffer getUppers(int i){
+        return column(this.uppers, i);
+    }
+
+    /**
+     * Returns the lower uncertainties of the i-th dataset, read directly
+     * from the mapped file.
+     * @param i index of the dataset
+     * @return a read-only view of the lower uncertainties
+     */
+    public DoubleBuffer getLowers(int i){
+        return column(this.lowers, i);
+    }
+
+    /**
+     * Returns the points of the i-th dataset, with their names and (if
+     * stored) the least significant place of their input.
+     * @param i index of the dataset
+     * @return the points of the dataset
+     */
+    public dataPt[] getDataset(int i){
+        return getDataset(i, true);
+    }
+
+    /**
+     * Returns the points of the i-th dataset, with their names and, if
+     * <code>keepMinPlace</code> is <code>true</code> (and it was stored), the
+     * least significant place of their input. Without the places the points
+     * are the same as those parsed from the text of the dataset by default.
+     * @param i index of the dataset
+     * @param keepMinPlace if <code>true</code> then set the minimum display
+     * place of each point which has one stored
+     * @return the points of the dataset
+     */
+    public dataPt[] getDataset(int i, boolean keepMinPlace){
+        dataPt[] result;
+        int j, k, name;
+
+        result = new dataPt[size(i)];
+        for(j=0; j<result.length; j++){
+            k = this.starts[i] + j;
+            result[j] = new dataPt(this.values.get(k), this.uppers.get(k),
+                    this.lowers.get(k));
+            name = this.names.get(k);
+            if(name >= 0){
+                result[j].setName(this.dictionary[name]);
+            }
+            if(keepMinPlace && this.places.get(k) != NO_PLACE){
+                result[j].setMinDisplayPlace(String.valueOf(this.places.get(k)));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Closes the file. Buffers returned by this object can still be used.
+     * @throws IOException if the file cannot be closed
+     */
+    @Override public void close() throws IOException{
+        this.channel.close();
+    }
+
+    /**
+     * Writes datasets to the file specified by the given String, overwriting
+     * it if it exists.
+     * @param file path of the file to write
+     * @param titles the title of each dataset (elements may be
+     * <code>null</code>)
+     * @param datasets the datasets to write
+     * @param precisions the source display precision of each dataset (see
+     * {@link #getPrecision(int) getPrecision}), or <code>null</code> if
+     * there are none
+     * @throws IOException if the file cannot be written
+     */
+    public static void write(String file, List<String> titles,
+            List<dataPt[]> datasets, int[] precisions) throws IOException{
+        Map<String, Integer> nameIndices;
+        List<String> nameList;
+        ByteBuffer buffer;
+        int numPoints, i, start;
+        byte[] bytes;
+
+        nameIndices = new HashMap<>();
+        nameList = new ArrayList<>();
+        numPoints = 0;
+        for(dataPt[] d : datasets){
+            numPoints += d.length;
+        }
+        buffer = ByteBuffer.allocate(WRITE_BUFFER).order(ByteOrder.LITTLE_ENDIAN);
+        try(FileChannel out = FileChannel.open(Paths.get(file),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)){
+            //header (the number of names is filled in at the end)
+            buffer.putInt(MAGIC).putInt(VERSION).putInt(datasets.size())
+                    .putInt(numPoints).putInt(0).putInt(0);
+
+            start = 0;
+            for(dataPt[] d : datasets){
+                putInt(out, buffer, start);
+                start += d.length;
+            }
+            putInt(out, buffer, start);
+            for(i=0; i<datasets.size(); i++){
+                putInt(out, buffer, precisions == null ? NO_PLACE : precisions[i]);
+            }
+            for(i=0; i<datasets.size(); i++){
+                putInt(out, buffer, nameIndex(titles.get(i), nameIndices, nameList));
+            }
+            if((3*datasets.size() + 1) % 2 != 0){
+                putInt(out, buffer, 0);
+            }
+
+            for(dataPt[] d : datasets){
+                for(dataPt p : d){
+                    putDouble(out, buffer, p.getValue());
+                }
+            }
+            for(dataPt[] d : datasets){
+                for(dataPt p : d){
+                    putDouble(out, buffer, p.getUpper());
+                }
+            }
+            for(dataPt[] d : datasets){
+                for(dataPt p : d){
+                    putDouble(out, buffer, p.getLower());
+                }
+            }
+            for(dataPt[] d : datasets){
+                for(dataPt p : d){
+                    putInt(out, buffer, nameIndex(p.getName(), nameIndices, nameList));
+                }
+            }
+            for(dataPt[] d : datasets){
+                for(dataPt p : d){
+                    putInt(out, buffer, place(p));
+                }
+            }
+
+            for(String name : nameList){
+                bytes = name.getBytes(StandardCharsets.UTF_8);
+                putInt(out, buffer, bytes.length);
+                for(i=0; i<bytes.length; i++){
+                    if(!buffer.hasRemaining()){
+                        flush(out, buffer);
+                    }
+                    buffer.put(bytes[i]);
+                }
+            }
+            flush(out, buffer);
+
+            buffer.putInt(nameList.size());
+            buffer.flip();
+            while(buffer.hasRemaining()){
+                out.write(buffer, 16 + buffer.position());
+            }
+        }
+    }
+
+    /**
+     * Calls <code>{@link #write(java.lang.String, java.util.List, java.util.List, int[])
+     * write(file, titles, datasets, null)}</code>.
+     * @param file path of the file to write
+     * @param titles the title of each dataset (elements may be
+     * <code>null</code>)
+     * @param datasets the datasets to write
+     * @throws IOException if the file cannot be written
+     */
+    public static void write(String file, List<String> titles,
+            List<dataPt[]> datasets) throws IOException{
+        write(file, titles, datasets, null);
+    }
+
+    //checks that the dataset ranges and the indices of names read from the
+    //file are within the file, so that a corrupt file is rejected when it is
+    //opened rather than when its datasets are read
+    private void check(int numNames) throws IOException{
+        int i;
+
+        if(this.starts[0] != 0 || this.starts[this.numDataSets] != this.numPoints){
+            throw new IOException("Binary data file is corrupt.");
+        }
+        for(i=0; i<this.numDataSets; i++){
+            if(this.starts[i + 1] < this.starts[i] ||
+                    this.titles[i] < -1 || this.titles[i] >= numNames){
+                throw new IOException("Binary data file is corrupt.");
+            }
+        }
+        for(i=0; i<this.numPoints; i++){
+            if(this.names.get(i) < -1 || this.names.get(i) >= numNames){
+                throw new IOException("Binary data file is corrupt.");
+            }
+        }
+    }
+
+    //the i-th dataset's part of a column
+    private DoubleBuffer column(DoubleBuffer c, int i){
+        DoubleBuffer result;
+
+        result = c.duplicate();
+        result.position(this.starts[i]);
+        result.limit(this.starts[i + 1]);
+        return result.slice().asReadOnlyBuffer();
+    }
+
+    //the little-endian bytes from pos to pos+length
+    private static ByteBuffer slice(ByteBuffer buffer, int pos, int length){
+        ByteBuffer result;
+
+        result = buffer.duplicate();
+        result.position(pos);
+        result.limit(pos + length);
+        return result.slice().order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    //rounds up to a multiple of 8
+    private static int align(int pos){
+        return (pos + 7) & ~7;
+    }
+
+    //the least significant place of a point's input, or NO_PLACE
+    private static int place(dataPt p){
+        try{
+            return Integer.parseInt(p.getMinDisplayPlace());
+        }catch(NumberFormatException e){ //also thrown for null
+            return NO_PLACE;
+        }
+    }
+
+    //the index of a name in the dictionary, adding it if it is new
+    private static int nameIndex(String name, Map<String, Integer> indices,
+            List<String> names){
+        Integer result;
+
+        if(name == null){
+            return -1;
+        }
+        result = indices.get(name);
+        if(result == null){
+            result = names.size();
+            indices.put(name, result);
+            names.add(name);
+        }
+        return result;
+    }
+
+    private static void putInt(FileChannel out, ByteBuffer buffer, int x)
+            throws IOException{
+        if(buffer.remaining() < 4){
+            flush(out, buffer);
+        }
+        buffer.putInt(x);
+    }
+
+    private static void putDouble(FileChannel out, ByteBuffer buffer, double x)
+            throws IOException{
+        if(buffer.remaining() < 8){
+            flush(out, buffer);
+        }
+        buffer.putDouble(x);
+    }
+
+    private static void flush(FileChannel out, ByteBuffer buffer)
+            throws IOException{
+        buffer.flip();
+        while(buffer.hasRemaining()){
+            out.write(buffer);
+        }
+        buffer.clear();
+    }
+}
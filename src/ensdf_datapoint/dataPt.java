@@ -170,7 +170,7 @@ public class dataPt {
      * Returns <code>true</code> if the String s can be parsed into a dataPt
      * object. If d is not null and the result of the function is 
      * <code>true</code> then d will be assigned to be the dataPt created
-     * by parsing s.
+     * by parsing s. The parsing is done by {@link ensdfValueParser}.
      * @param s the String to parse
      * @param d the dataPt object to assign if s can be parsed
      * @param keepMinPlace <code>true</code> if the resulting dataPt should
@@ -179,6 +179,20 @@ public class dataPt {
      * object
      */
     public static final boolean isParsable(String s, dataPt d, boolean keepMinPlace){
+        return ensdfValueParser.parse(s, d, keepMinPlace);
+    }
+    /**
+     * The original String-based version of {@link #isParsable(java.lang.String, ensdf_datapoint.dataPt, boolean) 
+     * isParsable}, used by {@link ensdfValueParser} for input which is not in
+     * the usual form.
+     * @param s the String to parse
+     * @param d the dataPt object to assign if s can be parsed
+     * @param keepMinPlace <code>true</code> if the resulting dataPt should
+     *        retain the same minimum place value as the input string.
+     * @return <code>true</code> if the String s can be parsed into a dataPt
+     * object
+     */
+    static boolean isParsableLegacy(String s, dataPt d, boolean keepMinPlace){
         String name;
         String valueStr, uncertStr, upperStr, lowerStr;
         int minPlaceValue;
@@ -402,6 +416,15 @@ public class dataPt {
     public void setName(String n){
         this.name = n;
     }
+    /**
+     * Returns the smallest place value for which digits will be printed, as
+     * set by {@link #setMinDisplayPlace(java.lang.String) setMinDisplayPlace}.
+     * @return a String representing the minimum place value to print, which
+     * cannot be parsed into an <code>int</code> if none has been set
+     */
+    public String getMinDisplayPlace(){
+        return this.minDisplayPlace;
+    }
     /**
      * Sets the smallest place value for which digits will be printed.
      * @param s a String which can be parsed into an <code>int</code>
@@ -0,0 +1,294 @@
+package ensdf_datapoint;
+
+/**
+ * This class prints quantities in the ENSDF format (e.g. "10.5(12)" or
+ * "10.5(+12-8)") directly into a {@link StringBuilder}, using integer
+ * arithmetic on the rounded digits instead of building {@link placeValueRep}
+ * objects. The output is the same as that of {@link fmtHandler#double_to_ENSDF(double[], int)
+ * fmtHandler.double_to_ENSDF}: each number is rounded in the same way
+ * (<code>Math.round(x*10^n)/10^n</code>) and its digits are those the
+ * original method would read back from the rounded value. <br><br>
+ *
+ * Numbers are printed directly when their rounded value has at most 15
+ * significant digits, so that those digits are exactly the digits of the
+ * rounded integer, and (for central values) is written by
+ * {@link Double#toString(double)} in plain rather than scientific notation.
+ * Anything else (very large or very small central values, uncertainties
+ * which cannot be read by <code>Integer.parseInt</code>, non-finite values)
+ * is printed by the original method. <br><br>
+ *
+ * Date Modified: 19/10/2026
+ */
+public final class ensdfFormatter {
+    //the largest power of ten which is exactly representable as a double
+    private static final int MAX_EXACT_POW10 = 22;
+    private static final double[] EXACT_POW10 = new double[MAX_EXACT_POW10 + 1];
+    //the doubles nearest to 10^-1, ..., 10^-22
+    private static final double[] NEAREST_NEG_POW10 = new double[MAX_EXACT_POW10 + 1];
+    //10^-n as computed by placeValueRep.round for rounding to place n > 0
+    private static final int MAX_ROUND_PLACE = 64;
+    private static final double[] ROUND_POW10 = new double[MAX_ROUND_PLACE + 1];
+    private static final long[] LONG_POW10 = new long[19];
+    //the largest number of digits printed directly
+    private static final int MAX_DIGITS = 15;
+
+    static{
+        int i;
+
+        EXACT_POW10[0] = 1d;
+        NEAREST_NEG_POW10[0] = 1d;
+        for(i=1; i<=MAX_EXACT_POW10; i++){
+            EXACT_POW10[i] = 10d*EXACT_POW10[i-1];
+            NEAREST_NEG_POW10[i] = 1d/EXACT_POW10[i];
+        }
+        for(i=0; i<=MAX_ROUND_PLACE; i++){
+            ROUND_POW10[i] = Math.pow(10d, (double)(-i));
+        }
+        LONG_POW10[0] = 1L;
+        for(i=1; i<LONG_POW10.length; i++){
+            LONG_POW10[i] = 10L*LONG_POW10[i-1];
+        }
+    }
+
+    private ensdfFormatter(){
+    }
+
+    /**
+     * Appends the quantity with central value, upper uncertainty and lower
+     * uncertainty given by <code>x</code> (in that order) to <code>sb</code>
+     * in the ENSDF format, printing digits down to the place value
+     * <code>minDisplayPlace</code>. The result is the same as
+     * {@link fmtHandler#double_to_ENSDF(double[], int) fmtHandler.double_to_ENSDF(x, minDisplayPlace)}.
+     * @param sb where to append the quantity
+     * @param x the central value, upper uncertainty and lower uncertainty
+     * @param minDisplayPlace the smallest place value of the digits to print
+     * @return <code>sb</code>
+     */
+    public static StringBuilder append(StringBuilder sb, double[] x,
+            int minDisplayPlace){
+        if(!appendENSDF(sb, x[0], x[1], x[2], minDisplayPlace)){
+            sb.append(fmtHandler.double_to_ENSDF_legacy(x, minDisplayPlace));
+        }
+        return sb;
+    }
+
+    /**
+     * Appends the quantity with central value, upper uncertainty and lower
+     * uncertainty given by <code>x</code> (in that order) to <code>sb</code>
+     * in the ENSDF format, with two digits in the uncertainty. The result is
+     * the same as {@link fmtHandler#double_to_ENSDF(double[], boolean) fmtHandler.double_to_ENSDF(x, max25)}.
+     * @param sb where to append the quantity
+     * @param x the central value, upper uncertainty and lower uncertainty
+     * @param max25 (currently not used, see {@link fmtHandler#double_to_ENSDF(double[], boolean)
+     * fmtHandler.double_to_ENSDF})
+     * @return <code>sb</code>
+     */
+    public static StringBuilder append(StringBuilder sb, double[] x,
+            boolean max25){
+        int upperPlace, lowerPlace, lowestPlace;
+
+        upperPlace = leadingPlace(x[1]);
+        lowerPlace = leadingPlace(x[2]);
+        if(upperPlace != Integer.MIN_VALUE && lowerPlace != Integer.MIN_VALUE){
+            lowestPlace = Math.min(upperPlace - 1, lowerPlace - 1);
+            //the uncertainties must print as short non-zero integers
+            if(isShortNonZero(sb, x[1], lowestPlace)
+                    && isShortNonZero(sb, x[2], lowestPlace)
+                    && appendENSDF(sb, x[0], x[1], x[2], lowestPlace)){
+                return sb;
+            }
+        }
+        sb.append(fmtHandler.double_to_ENSDF_legacy(x, max25));
+        return sb;
+    }
+
+    /**
+     * Appends the {@link dataPt} to <code>sb</code> in the ENSDF format, with
+     * two digits in the uncertainty.
+     * @param sb where to append the quantity
+     * @param x the quantity
+     * @return <code>sb</code>
+     */
+    public static StringBuilder append(StringBuilder sb, dataPt x){
+        return append(sb, x.toDouble(), false);
+    }
+
+    //appends value(uncertainty) with all numbers printed down to the given place,
+    //or returns false (with sb unchanged) if any number cannot be printed directly
+    private static boolean appendENSDF(StringBuilder sb, double value,
+            double upper, double lower, int place){
+        int start, upperStart, lowerStart, end, i;
+        boolean same;
+
+        start = sb.length();
+        if(!appendRounded(sb, value, place, true)){
+            sb.setLength(start);
+            return false;
+        }
+        sb.append('(');
+        upperStart = sb.length();
+        if(!appendRounded(sb, upper, place, false)){
+            sb.setLength(start);
+            return false;
+        }
+        lowerStart = sb.length();
+        if(!appendRounded(sb, lower, place, false)){
+            sb.setLength(start);
+            return false;
+        }
+        end = sb.length();
+
+        same = (end - lowerStart) == (lowerStart - upperStart);
+        for(i=0; same && i<end - lowerStart; i++){
+            same = sb.charAt(upperStart + i) == sb.charAt(lowerStart + i);
+        }
+        if(same){
+            sb.setLength(lowerStart);
+        }else{
+            sb.insert(lowerStart, '-');
+            sb.insert(upperStart, '+');
+        }
+        sb.append(')');
+        return true;
+    }
+
+    //appends x rounded to the given place exactly as
+    //placeValueRep(x).toString(place, printDecimal) prints it, or returns false
+    //if the digits of the rounded value cannot be found without Double.toString
+    private static boolean appendRounded(StringBuilder sb, double x, int place,
+            boolean printDecimal){
+        double y, r;
+        long m, mag;
+        int exp, top, i, start;
+
+        if(Double.isNaN(x) || Double.isInfinite(x)){
+            return false;
+        }
+        if(place <= 0){
+            if(place < -MAX_EXACT_POW10){
+                return false;
+            }
+            y = EXACT_POW10[-place];
+        }else{
+            if(place > MAX_ROUND_PLACE){
+                return false;
+            }
+            y = ROUND_POW10[place];
+        }
+        if(!(Math.abs(x*y) < 1e15)){
+            return false;
+        }
+        m = Math.round(x*y);
+
+        if(m == 0L){ //zero is printed with all decimal places
+            sb.append('0');
+            if(place < 0){
+                sb.append('.');
+                for(i=0; i<-place; i++){
+                    sb.append('0');
+                }
+            }
+            return true;
+        }
+
+        //the rounded number is mag*10^exp
+        r = (double)m / y;
+        if(place <= 0){
+            //r is the double nearest to m*10^place
+            mag = Math.abs(m);
+            exp = place;
+        }else{
+            //10^place is not exact, so r is only used if it is an integer
+            if(r != Math.rint(r)){
+                return false;
+            }
+            mag = (long)Math.abs(r);
+            exp = 0;
+        }
+        top = exp + numDigits(mag) - 1;
+        if(top - exp + 1 > MAX_DIGITS){
+            return false;
+        }
+        //Double.toString uses plain notation from 10^-3 to 10^7, outside of
+        //which only the printing of the decimal point differs
+        if(printDecimal && (top < -3 || top > 6)){
+            return false;
+        }
+
+        start = sb.length();
+        if(r < 0d){
+            sb.append('-');
+        }
+        if(top < 0 && printDecimal){
+            sb.append("0.");
+            for(i=-1; i>top; i--){
+                sb.append('0');
+            }
+        }
+        for(i=top; true; i--){
+            if(i < place){
+                if(i < 0){
+                    break;
+                }else{
+                    sb.append('0');
+                }
+            }else if(i < exp){
+                sb.append('0');
+            }else{
+                sb.append((char)('0' + (mag / LONG_POW10[i - exp]) % 10L));
+            }
+            if(i == 0 && printDecimal){
+                sb.append('.');
+            }
+        }
+        //get rid of a trailing decimal point
+        if(sb.length() > start && sb.charAt(sb.length() - 1) == '.'){
+            sb.setLength(sb.length() - 1);
+        }
+        return true;
+    }
+
+    //returns true if x rounded to the given place prints as a non-zero
+    //integer which Integer.parseInt can read, leaving sb unchanged
+    private static boolean isShortNonZero(StringBuilder sb, double x, int place){
+        int start, length;
+        boolean result;
+
+        start = sb.length();
+        result = appendRounded(sb, x, place, false);
+        length = sb.length() - start;
+        result = result && length <= 9 && !(length == 1 && sb.charAt(start) == '0');
+        sb.setLength(start);
+        return result;
+    }
+
+    //returns the place value of the leading digit of x as printed by
+    //Double.toString, or Integer.MIN_VALUE if x is zero or out of range
+    private static int leadingPlace(double x){
+        int q;
+
+        x = Math.abs(x);
+        if(!(x >= NEAREST_NEG_POW10[MAX_EXACT_POW10]) ||
+                !(x < EXACT_POW10[MAX_EXACT_POW10])){
+            return Integer.MIN_VALUE;
+        }
+        //the largest q such that the double nearest to 10^q is at most x
+        if(x >= 1d){
+            for(q=0; EXACT_POW10[q+1] <= x; q++){
+            }
+        }else{
+            for(q=-1; NEAREST_NEG_POW10[-q] > x; q--){
+            }
+        }
+        return q;
+    }
+
+    //returns the number of decimal digits of n > 0
+    private static int numDigits(long n){
+        int i;
+
+        for(i=1; i<LONG_POW10.length && n >= LONG_POW10[i]; i++){
+        }
+        return i;
+    }
+}
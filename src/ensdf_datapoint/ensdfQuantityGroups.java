@@ -0,0 +1,231 @@
+package ensdf_datapoint;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This class groups the measurements read by an {@link ensdfRecordReader}
+ * by quantity, so that each group holds the measurements of one quantity
+ * (e.g. the energy or half-life of one level) from the different data sets
+ * of a file, ready to be averaged. The groups are given as a
+ * <code>List&lt;dataPt[]&gt;</code>, as used by
+ * <code>averagingAlgorithms.outlierBatch.screen</code>. <br><br>
+ *
+ * Levels (and gammas) of the same nuclide in different data sets are taken
+ * to be the same when their energies differ by at most the larger of the
+ * given tolerance and three times their combined uncertainty. Each level is
+ * matched to the closest such level found so far which has no measurement
+ * from the same data set, otherwise it starts a new group. <br><br>
+ *
+ * Date Modified: 19/10/2026
+ */
+public class ensdfQuantityGroups {
+    //a level or gamma seen in one or more data sets
+    private static class cluster{
+        private final String label;
+        private final double energy, sigma;
+        private int lastDataSet;
+        //index of the group of each quantity, -1 if there is none yet
+        private final int[] groups;
+
+        private cluster(String label, double energy, double sigma){
+            int i;
+
+            this.label = label;
+            this.energy = energy;
+            this.sigma = sigma;
+            this.lastDataSet = -1;
+            this.groups = new int[ensdfRecordReader.QUANTITIES.length];
+            for(i=0; i<this.groups.length; i++){
+                this.groups[i] = -1;
+            }
+        }
+    }
+
+    private final double tolerance;
+    private final List<String> names;
+    private final List<List<dataPt>> members;
+    //the levels and gammas of each nuclide and record type
+    private final Map<String, List<cluster>> clusters;
+    //the cluster of the last record added
+    private cluster lastCluster;
+    private int lastRecord;
+
+    /**
+     * Creates an empty set of groups.
+     * @param tolerance the largest difference in energy (in keV) always
+     * allowed between measurements of the same level or gamma
+     */
+    public ensdfQuantityGroups(double tolerance){
+        this.tolerance = tolerance;
+        this.names = new ArrayList<>();
+        this.members = new ArrayList<>();
+        this.clusters = new HashMap<>();
+        this.lastCluster = null;
+        this.lastRecord = -1;
+    }
+
+    /**
+     * Adds the current measurement of the reader to its group.
+     * @param reader a reader positioned at a measurement
+     */
+    public void add(ensdfRecordReader reader){
+        cluster c;
+        int quantity;
+
+        if(reader.getRecordNumber() == this.lastRecord){
+            c = this.lastCluster;
+        }else{
+            c = findCluster(reader);
+            this.lastCluster = c;
+            this.lastRecord = reader.getRecordNumber();
+        }
+        quantity = reader.getQuantity();
+        if(c.groups[quantity] < 0){
+            c.groups[quantity] = this.names.size();
+            this.names.add(c.label + " " + ensdfRecordReader.QUANTITIES[quantity]);
+            this.members.add(new ArrayList<>());
+        }
+        this.members.get(c.groups[quantity]).add(reader.getMeasurement());
+    }
+
+    /**
+     * Adds every measurement remaining in the reader.
+     * @param reader the reader to read from
+     * @throws IOException if the reader cannot read its file
+     */
+    public void addAll(ensdfRecordReader reader) throws IOException{
+        while(reader.next()){
+            add(reader);
+        }
+    }
+
+    /**
+     * Returns the number of groups.
+     * @return the number of groups
+     */
+    public int size(){
+        return this.names.size();
+    }
+
+    /**
+     * Returns the name of each group, e.g. "56FE level 846.77 T1/2", in the
+     * order the groups were first found.
+     * @return the names of the groups
+     */
+    public List<String> getNames(){
+        return new ArrayList<>(this.names);
+    }
+
+    /**
+     * Returns the measurements of each group, in the same order as
+     * {@link #getNames()}.
+     * @return the measurements of each group
+     */
+    public List<dataPt[]> getDatasets(){
+        return getDatasets(1);
+    }
+
+    /**
+     * Returns the measurements of each group with at least
+     * <code>minSize</code> of them (e.g. 2 to keep only the quantities which
+     * can be averaged), in the order the groups were first found.
+     * @param minSize the smallest number of measurements of a group to return
+     * @return the measurements of the groups
+     */
+    public List<dataPt[]> getDatasets(int minSize){
+        List<dataPt[]> result;
+
+        result = new ArrayList<>();
+        for(List<dataPt> m : this.members){
+            if(m.size() >= minSize){
+                result.add(m.toArray(new dataPt[0]));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the names of the groups with at least <code>minSize</code>
+     * measurements, in the same order as {@link #getDatasets(int)}.
+     * @param minSize the smallest number of measurements of a group to return
+     * @return the names of the groups
+     */
+    public List<String> getNames(int minSize){
+        List<String> result;
+        int i;
+
+        result = new ArrayList<>();
+        for(i=0; i<this.members.size(); i++){
+            if(this.members.get(i).size() >= minSize){
+                result.add(this.names.get(i));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Reads and groups all of the measurements in the ENSDF file specified
+     * by the given String.
+     * @param file path to the ENSDF file
+     * @param tolerance the largest difference in energy (in keV) always
+     * allowed between measurements of the same level or gamma
+     * @return the groups of measurements in the file
+     * @throws IOException if the file cannot be read
+     */
+    public static ensdfQuantityGroups read(String file, double tolerance)
+            throws IOException{
+        ensdfQuantityGroups result;
+
+        result = new ensdfQuantityGroups(tolerance);
+        try(ensdfRecordReader reader = new ensdfRecordReader(file)){
+            result.addAll(reader);
+        }
+        return result;
+    }
+
+    //finds (or creates) the level or gamma of the reader's current record
+    private cluster findCluster(ensdfRecordReader reader){
+        List<cluster> candidates;
+        cluster best;
+        double energy, sigma, distance, bestDistance;
+        String key;
+
+        key = reader.getNucid() + " " + reader.getRecordType();
+        candidates = this.clusters.get(key);
+        if(candidates == null){
+            candidates = new ArrayList<>();
+            this.clusters.put(key, candidates);
+        }
+        energy = reader.getEnergy();
+        if(reader.getQuantity() == ensdfRecordReader.LEVEL_ENERGY ||
+                reader.getQuantity() == ensdfRecordReader.GAMMA_ENERGY){
+            sigma = Math.max(reader.getMeasurement().getUpper(),
+                    reader.getMeasurement().getLower());
+        }else{ //the energy has no uncertainty
+            sigma = 0d;
+        }
+        best = null;
+        bestDistance = Double.POSITIVE_INFINITY;
+        for(cluster c : candidates){
+            distance = Math.abs(energy - c.energy);
+            if(c.lastDataSet != reader.getDataSetNumber() && distance < bestDistance &&
+                    distance <= Math.max(this.tolerance,
+                            3d*Math.sqrt(sigma*sigma + c.sigma*c.sigma))){
+                best = c;
+                bestDistance = distance;
+            }
+        }
+        if(best == null){
+            best = new cluster(reader.getNucid() + " " +
+                    (reader.getRecordType() == 'L' ? "level " : "gamma ") +
+                    String.valueOf(energy), energy, sigma);
+            candidates.add(best);
+        }
+        best.lastDataSet = reader.getDataSetNumber();
+        return best;
+    }
+}
@@ -0,0 +1,312 @@
+package ensdf_datapoint;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.regex.Pattern;
+
+/**
+ * This class reads measurements from files of ENSDF data sets, one 80-column
+ * record at a time, so that files of any size can be read. Each call to
+ * {@link #next()} moves to the next measurement with a numerical value and
+ * uncertainty found on a level (L) or gamma (G) record: the level energy and
+ * its half-life (in seconds) or width (in keV), or the gamma energy and
+ * relative intensity. The value and uncertainty fields are read with
+ * {@link fmtHandler#ENSDF_to_dataPt(java.lang.String) fmtHandler.ENSDF_to_dataPt}
+ * and each measurement is named by the identification (DSID) of the data set
+ * it comes from. <br><br>
+ *
+ * Only primary data records are read: comment, continuation and other
+ * records are skipped, as are fields with limits or approximate values
+ * (e.g. "LT", "AP"), without an uncertainty, or with non-numerical values
+ * (e.g. "1234.5+X"). Data sets start with an identification record and end
+ * with a blank record. <br><br>
+ *
+ * Date Modified: 19/10/2026
+ */
+public class ensdfRecordReader implements Closeable {
+    /**
+     * The quantities read from the records.
+     */
+    public static final int LEVEL_ENERGY = 0;
+    public static final int HALF_LIFE = 1;
+    public static final int WIDTH = 2;
+    public static final int GAMMA_ENERGY = 3;
+    public static final int GAMMA_INTENSITY = 4;
+    /**
+     * Names of the quantities read from the records, in the order of their
+     * constants.
+     */
+    public static final String[] QUANTITIES = {"E(level)", "T1/2", "Width",
+        "E(gamma)", "RI"};
+
+    //numerical values, as opposed to e.g. "1234.5+X" or "(1234.5)"
+    private static final Pattern NUMBER = Pattern.compile(
+            "[0-9]*\\.?[0-9]+([eE][+-]?[0-9]+)?|[0-9]+\\.");
+    //uncertainties in units of the last digit of the value
+    private static final Pattern UNCERTAINTY = Pattern.compile(
+            "[0-9]+|\\+[0-9]+-[0-9]+|-[0-9]+\\+[0-9]+");
+    //half-life units (in seconds) and width units (in keV)
+    private static final String[] TIME_UNITS = {"Y", "D", "H", "M", "S",
+        "MS", "US", "NS", "PS", "FS", "AS"};
+    private static final double[] TIME_FACTORS = {365.2422d*86400d, 86400d,
+        3600d, 60d, 1d, 1e-3, 1e-6, 1e-9, 1e-12, 1e-15, 1e-18};
+    private static final String[] WIDTH_UNITS = {"EV", "KEV", "MEV"};
+    private static final double[] WIDTH_FACTORS = {1e-3, 1d, 1e3};
+
+    private final BufferedReader in;
+    private boolean inDataSet;
+    private int dataSetNumber, recordNumber;
+    private String nucid, dataSetId;
+    private char recordType;
+    private double energy;
+    //the measurements of the current record not yet returned
+    private final int[] quantities;
+    private final dataPt[] measurements;
+    private int numPending, current;
+
+    /**
+     * Creates a reader of the ENSDF records given by <code>in</code>.
+     * @param in the source of the records
+     */
+    public ensdfRecordReader(Reader in){
+        this.in = in instanceof BufferedReader ? (BufferedReader)in :
+                new BufferedReader(in);
+        this.inDataSet = false;
+        this.dataSetNumber = -1;
+        this.recordNumber = -1;
+        this.quantities = new int[2];
+        this.measurements = new dataPt[2];
+        this.numPending = 0;
+        this.current = -1;
+    }
+
+    /**
+     * Creates a reader of the ENSDF file specified by the given String.
+     * @param file path to the ENSDF file
+     * @throws IOException if the file cannot be opened
+     */
+    public ensdfRecordReader(String file) throws IOException{
+        this(Files.newBufferedReader(Paths.get(file), StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Moves to the next measurement in the file.
+     * @return <code>true</code> if there is another measurement,
+     * <code>false</code> at the end of the file
+     * @throws IOException if the file cannot be read
+     */
+    public boolean next() throws IOException{
+        String record;
+
+        this.current += 1;
+        while(this.current >= this.numPending){
+            record = this.in.readLine();
+            if(record == null){
+                this.numPending = 0;
+                this.current = -1;
+                return false;
+            }
+            readRecord(record);
+        }
+        return true;
+    }
+
+    /**
+     * Returns the current measurement, named by the identification of its
+     * data set.
+     * @return the current measurement
+     */
+    public dataPt getMeasurement(){
+        return this.measurements[this.current];
+    }
+
+    /**
+     * Returns which quantity the current measurement is, one of
+     * {@link #LEVEL_ENERGY}, {@link #HALF_LIFE}, {@link #WIDTH},
+     * {@link #GAMMA_ENERGY} or {@link #GAMMA_INTENSITY}.
+     * @return the quantity of the current measurement
+     */
+    public int getQuantity(){
+        return this.quantities[this.current];
+    }
+
+    /**
+     * Returns the type of the record of the current measurement, 'L' for a
+     * level or 'G' for a gamma.
+     * @return the record type
+     */
+    public char getRecordType(){
+        return this.recordType;
+    }
+
+    /**
+     * Returns the energy (in keV) of the level or gamma of the current
+     * measurement, which identifies it within its nuclide.
+     * @return the energy of the level or gamma
+     */
+    public double getEnergy(){
+        return this.energy;
+    }
+
+    /**
+     * Returns the nuclide identification (NUCID) of the current data set,
+     * e.g. "56FE".
+     * @return the nuclide of the current data set
+     */
+    public String getNucid(){
+        return this.nucid;
+    }
+
+    /**
+     * Returns the identification (DSID) of the current data set, e.g.
+     * "56MN B- DECAY".
+     * @return the identification of the current data set
+     */
+    public String getDataSetId(){
+        return this.dataSetId;
+    }
+
+    /**
+     * Returns the number of the current data set, counting from zero.
+     * @return the number of the current data set
+     */
+    public int getDataSetNumber(){
+        return this.dataSetNumber;
+    }
+
+    /**
+     * Returns the number of the record of the current measurement, counting
+     * from zero. Measurements from the same record have the same number.
+     * @return the number of the current record
+     */
+    public int getRecordNumber(){
+        return this.recordNumber;
+    }
+
+    @Override public void close() throws IOException{
+        this.in.close();
+    }
+
+    /**
+     * Returns the characters in columns <code>first</code> to
+     * <code>last</code> (counting from one, inclusive) of an 80-column
+     * record, trimmed. Columns past the end of the record are blank.
+     * @param record the record
+     * @param first the first column of the field
+     * @param last the last column of the field
+     * @return the trimmed field
+     */
+    public static String field(String record, int first, int last){
+        if(first > record.length()){
+            return "";
+        }
+        return record.substring(first - 1, Math.min(last, record.length())).trim();
+    }
+
+    //the character in the given column (counting from one), blank past the
+    //end of the record
+    private static char column(String record, int c){
+        return c <= record.length() ? record.charAt(c - 1) : ' ';
+    }
+
+    //sets the data set, or finds the measurements of a record
+    private void readRecord(String record){
+        char type;
+
+        this.recordNumber += 1;
+        this.numPending = 0;
+        this.current = 0;
+        if(record.trim().isEmpty()){ //end of data set
+            this.inDataSet = false;
+            return;
+        }
+        if(!this.inDataSet){ //identification record
+            this.inDataSet = true;
+            this.dataSetNumber += 1;
+            this.nucid = field(record, 1, 5);
+            this.dataSetId = field(record, 10, 39);
+            return;
+        }
+        //primary data records have a blank or '1' in column 6 and a blank
+        //column 7
+        if((column(record, 6) != ' ' && column(record, 6) != '1') ||
+                column(record, 7) != ' '){
+            return;
+        }
+        type = column(record, 8);
+        if(type == 'L'){
+            this.recordType = 'L';
+            this.energy = energy(field(record, 10, 19));
+            if(Double.isNaN(this.energy)){
+                return;
+            }
+            add(LEVEL_ENERGY, field(record, 10, 19), field(record, 20, 21), 1d);
+            addHalfLife(field(record, 40, 49), field(record, 50, 55));
+        }else if(type == 'G'){
+            this.recordType = 'G';
+            this.energy = energy(field(record, 10, 19));
+            if(Double.isNaN(this.energy)){
+                return;
+            }
+            add(GAMMA_ENERGY, field(record, 10, 19), field(record, 20, 21), 1d);
+            add(GAMMA_INTENSITY, field(record, 22, 29), field(record, 30, 31), 1d);
+        }
+    }
+
+    //reads a half-life, e.g. "12.3 MS", converting it to seconds (or a
+    //width to keV)
+    private void addHalfLife(String value, String uncertainty){
+        String[] parts;
+        int i;
+
+        parts = value.split("\\s+");
+        if(parts.length != 2){
+            return;
+        }
+        for(i=0; i<TIME_UNITS.length; i++){
+            if(parts[1].equals(TIME_UNITS[i])){
+                add(HALF_LIFE, parts[0], uncertainty, TIME_FACTORS[i]);
+                return;
+            }
+        }
+        for(i=0; i<WIDTH_UNITS.length; i++){
+            if(parts[1].equals(WIDTH_UNITS[i])){
+                add(WIDTH, parts[0], uncertainty, WIDTH_FACTORS[i]);
+                return;
+            }
+        }
+    }
+
+    //adds a measurement if the value and uncertainty are numerical
+    private void add(int quantity, String value, String uncertainty, double factor){
+        dataPt d;
+
+        if(!NUMBER.matcher(value).matches() ||
+                !UNCERTAINTY.matcher(uncertainty).matches()){
+            return;
+        }
+        d = fmtHandler.ENSDF_to_dataPt(value + " " + uncertainty);
+        if(factor != 1d){
+            d.setValue(factor*d.getValue());
+            d.setUpper(factor*d.getUpper());
+            d.setLower(factor*d.getLower());
+        }
+        d.setName(this.dataSetId);
+        this.quantities[this.numPending] = quantity;
+        this.measurements[this.numPending] = d;
+        this.numPending += 1;
+    }
+
+    //the value of an energy field, or NaN if it is not numerical
+    private static double energy(String value){
+        if(NUMBER.matcher(value).matches()){
+            return Double.parseDouble(value);
+        }
+        return Double.NaN;
+    }
+}
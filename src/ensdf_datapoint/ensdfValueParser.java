@@ -0,0 +1,315 @@
+package ensdf_datapoint;
+
+/**
+ * This class parses measurements written in the ENSDF format (e.g.
+ * "Name: 10.5(12)", "10.5 12" or "10.5 +12-8") in a single pass over a
+ * {@link CharSequence}, without creating intermediate Strings. The rules are
+ * exactly those of {@link dataPt#isParsable(java.lang.String, ensdf_datapoint.dataPt, boolean)
+ * dataPt.isParsable}: the name is everything before the first ':', the
+ * value is separated from the uncertainty by the first space or else by
+ * '(' and the uncertainty is given in units of the least significant place
+ * of the value, either symmetric or as +upper-lower (or -lower+upper). <br><br>
+ *
+ * Input in the usual form (a plain decimal value, optionally with an
+ * exponent, and an uncertainty made of digits) is parsed directly. Anything
+ * else is passed on to the original String-based parser, so that unusual
+ * input is accepted or rejected exactly as before. <br><br>
+ *
+ * Date Modified: 19/10/2026
+ */
+public final class ensdfValueParser {
+    //the largest power of ten which is exactly representable as a double
+    private static final int MAX_EXACT_POW10 = 22;
+    private static final double[] EXACT_POW10 = new double[MAX_EXACT_POW10 + 1];
+    //powers of ten used to scale uncertainties to the least significant place,
+    //computed exactly as the original parser does
+    private static final int MIN_PLACE = -64;
+    private static final int MAX_PLACE = 64;
+    private static final double[] PLACE_POW10 = new double[MAX_PLACE - MIN_PLACE + 1];
+    //the most digits read into a long without overflow
+    private static final int MAX_DIGITS = 18;
+
+    static{
+        int i;
+
+        EXACT_POW10[0] = 1d;
+        for(i=1; i<=MAX_EXACT_POW10; i++){
+            EXACT_POW10[i] = 10d*EXACT_POW10[i-1];
+        }
+        for(i=MIN_PLACE; i<=MAX_PLACE; i++){
+            PLACE_POW10[i - MIN_PLACE] = Math.pow(10, i);
+        }
+    }
+
+    private ensdfValueParser(){
+    }
+
+    /**
+     * Parses the characters <code>start</code> to <code>end-1</code> of
+     * <code>s</code>, giving the same result as {@link dataPt#isParsable(java.lang.String, ensdf_datapoint.dataPt, boolean)
+     * dataPt.isParsable} on the corresponding String. If the measurement can
+     * be parsed and <code>d</code> is not <code>null</code> then the value,
+     * uncertainties and name (and the least significant place, if
+     * <code>keepMinPlace</code> is <code>true</code>) of <code>d</code> are
+     * set to those parsed.
+     * @param s the characters to parse
+     * @param start index of the first character of the measurement
+     * @param end index after the last character of the measurement
+     * @param d the dataPt object to assign, may be <code>null</code>
+     * @param keepMinPlace <code>true</code> if <code>d</code> should
+     * retain the same minimum place value as the input
+     * @return <code>true</code> if the characters can be parsed into a dataPt
+     * object
+     */
+    public static final boolean parse(CharSequence s, int start, int end,
+            dataPt d, boolean keepMinPlace){
+        int colon, a, b, sep, i, n;
+        int vStart, vEnd, point, mantEnd, fracDigits, numDigits;
+        int exp, expDigits, minPlaceValue, e10;
+        long mant, first, second;
+        boolean neg, expNeg, anyDigit;
+        char c, form;
+        double value, upper, lower, scale;
+
+        //the name is before the first ':', the value after it
+        colon = indexOf(s, ':', start, end);
+        a = colon < 0 ? start : colon + 1;
+        b = end;
+        while(a < b && s.charAt(a) <= ' '){
+            a += 1;
+        }
+        while(b > a && s.charAt(b - 1) <= ' '){
+            b -= 1;
+        }
+
+        //the value ends at the first space, or else at the first '(' (in
+        //which case it is trimmed)
+        vStart = a;
+        sep = indexOf(s, ' ', a, b);
+        if(sep >= 0){
+            vEnd = sep;
+        }else{
+            sep = indexOf(s, '(', a, b);
+            if(sep < 0 || indexOf(s, ')', a, b) < 0){
+                return legacy(s, start, end, d, keepMinPlace);
+            }
+            vEnd = sep;
+            while(vEnd > vStart && s.charAt(vEnd - 1) <= ' '){
+                vEnd -= 1;
+            }
+        }
+
+        //value: [+-]digits[.digits][(e|E)[+-]digits]
+        i = vStart;
+        neg = false;
+        if(i < vEnd && (s.charAt(i) == '+' || s.charAt(i) == '-')){
+            neg = s.charAt(i) == '-';
+            i += 1;
+        }
+        mant = 0L;
+        numDigits = 0;
+        fracDigits = 0;
+        point = -1;
+        anyDigit = false;
+        for(; i<vEnd; i++){
+            c = s.charAt(i);
+            if(c >= '0' && c <= '9'){
+                anyDigit = true;
+                if(point >= 0){
+                    fracDigits += 1;
+                }
+                if(mant != 0L || c != '0'){ //skip leading zeros
+                    numDigits += 1;
+                    if(numDigits > 15){ //not exactly representable
+                        return legacy(s, start, end, d, keepMinPlace);
+                    }
+                    mant = 10L*mant + (long)(c - '0');
+                }
+            }else if(c == '.' && point < 0){
+                point = i;
+            }else{
+                break;
+            }
+        }
+        mantEnd = i;
+        if(!anyDigit){
+            return legacy(s, start, end, d, keepMinPlace);
+        }
+        exp = 0;
+        if(i < vEnd && (s.charAt(i) == 'e' || s.charAt(i) == 'E')){
+            i += 1;
+            expNeg = false;
+            if(i < vEnd && (s.charAt(i) == '+' || s.charAt(i) == '-')){
+                expNeg = s.charAt(i) == '-';
+                i += 1;
+            }
+            expDigits = 0;
+            for(; i<vEnd && s.charAt(i) >= '0' && s.charAt(i) <= '9'; i++){
+                exp = 10*exp + (s.charAt(i) - '0');
+                expDigits += 1;
+            }
+            if(expDigits == 0 || expDigits > 9){
+                return legacy(s, start, end, d, keepMinPlace);
+            }
+            if(expNeg){
+                exp = -exp;
+            }
+        }
+        if(i != vEnd){
+            return legacy(s, start, end, d, keepMinPlace);
+        }
+
+        //least significant place, as in dataPt.minPlace
+        if(point >= 0){
+            minPlaceValue = point - mantEnd + 1 + exp;
+        }else{
+            minPlaceValue = exp;
+        }
+
+        //the value is exact when both the digits and the power of ten are
+        //exactly representable, since then only one rounding is done
+        e10 = exp - fracDigits;
+        if(mant == 0L){
+            value = 0d;
+        }else if(e10 >= 0 && e10 <= MAX_EXACT_POW10){
+            value = (double)mant * EXACT_POW10[e10];
+        }else if(e10 < 0 && e10 >= -MAX_EXACT_POW10){
+            value = (double)mant / EXACT_POW10[-e10];
+        }else{
+            value = Math.abs(Double.parseDouble(s.subSequence(vStart, vEnd).toString()));
+        }
+        if(neg){
+            value = -value;
+        }
+
+        //uncertainty: digits, +digits-digits or -digits+digits, ignoring
+        //brackets and spaces
+        n = b;
+        form = 0;
+        second = 0L;
+        i = skipBrackets(s, sep + 1, n);
+        if(i < n && (s.charAt(i) == '+' || s.charAt(i) == '-')){
+            form = s.charAt(i);
+            i = skipBrackets(s, i + 1, n);
+        }
+        numDigits = 0;
+        first = 0L;
+        for(; i<n; i = skipBrackets(s, i + 1, n)){
+            c = s.charAt(i);
+            if(c < '0' || c > '9'){
+                break;
+            }
+            first = 10L*first + (long)(c - '0');
+            numDigits += 1;
+        }
+        if(numDigits == 0 || numDigits > MAX_DIGITS){
+            return legacy(s, start, end, d, keepMinPlace);
+        }
+        if(form != 0){
+            //the other sign must follow
+            if(i >= n || s.charAt(i) != (form == '+' ? '-' : '+')){
+                return legacy(s, start, end, d, keepMinPlace);
+            }
+            numDigits = 0;
+            for(i = skipBrackets(s, i + 1, n); i<n; i = skipBrackets(s, i + 1, n)){
+                c = s.charAt(i);
+                if(c < '0' || c > '9'){
+                    break;
+                }
+                second = 10L*second + (long)(c - '0');
+                numDigits += 1;
+            }
+            if(numDigits == 0 || numDigits > MAX_DIGITS){
+                return legacy(s, start, end, d, keepMinPlace);
+            }
+        }
+        if(i != n){
+            return legacy(s, start, end, d, keepMinPlace);
+        }
+
+        if(minPlaceValue >= MIN_PLACE && minPlaceValue <= MAX_PLACE){
+            scale = PLACE_POW10[minPlaceValue - MIN_PLACE];
+        }else{
+            scale = Math.pow(10, minPlaceValue);
+        }
+        if(form == '+'){
+            upper = (double)first*scale;
+            lower = (double)second*scale;
+        }else if(form == '-'){
+            lower = (double)first*scale;
+            upper = (double)second*scale;
+        }else{
+            upper = (double)first*scale;
+            lower = upper;
+        }
+
+        if(d != null){
+            d.setLower(lower);
+            d.setUpper(upper);
+            d.setValue(value);
+            if(colon < 0){
+                d.setName(dataPt.defaultName);
+            }else{
+                a = start;
+                b = colon;
+                while(a < b && s.charAt(a) <= ' '){
+                    a += 1;
+                }
+                while(b > a && s.charAt(b - 1) <= ' '){
+                    b -= 1;
+                }
+                d.setName(s.subSequence(a, b).toString());
+            }
+            if (keepMinPlace) d.setMinDisplayPlace(String.valueOf(minPlaceValue));
+        }
+        return true;
+    }
+
+    /**
+     * Calls <code>{@link #parse(java.lang.CharSequence, int, int, ensdf_datapoint.dataPt, boolean)
+     * parse(s, 0, s.length(), d, keepMinPlace)}</code>.
+     * @param s the characters to parse
+     * @param d the dataPt object to assign, may be <code>null</code>
+     * @param keepMinPlace <code>true</code> if <code>d</code> should
+     * retain the same minimum place value as the input
+     * @return <code>true</code> if the characters can be parsed into a dataPt
+     * object
+     */
+    public static final boolean parse(CharSequence s, dataPt d, boolean keepMinPlace){
+        return parse(s, 0, s.length(), d, keepMinPlace);
+    }
+
+    //parses the characters with the original String-based parser
+    private static boolean legacy(CharSequence s, int start, int end,
+            dataPt d, boolean keepMinPlace){
+        return dataPt.isParsableLegacy(s.subSequence(start, end).toString(),
+                d, keepMinPlace);
+    }
+
+    //returns the index of the first occurence of c in s between start and end,
+    //or -1 if there is none
+    private static int indexOf(CharSequence s, char c, int start, int end){
+        int i;
+
+        for(i=start; i<end; i++){
+            if(s.charAt(i) == c){
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    //returns the index of the first character at or after i which is not a
+    //bracket or a space (these are ignored in uncertainties)
+    private static int skipBrackets(CharSequence s, int i, int end){
+        char c;
+
+        for(; i<end; i++){
+            c = s.charAt(i);
+            if(c != '(' && c != ')' && c != ' '){
+                break;
+            }
+        }
+        return i;
+    }
+}
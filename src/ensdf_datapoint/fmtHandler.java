@@ -117,6 +117,21 @@ public class fmtHandler {
      * @return a String representing the quantity in the ENSDF format
      */
     public static String double_to_ENSDF(double[] x, int minDisplayPlace){
+        return ensdfFormatter.append(new StringBuilder(24), x, minDisplayPlace)
+                .toString();
+    }
+    
+    /**
+     * Prints the quantity as {@link #double_to_ENSDF(double[], int) 
+     * double_to_ENSDF} does, using {@link placeValueRep} objects. This is
+     * used by {@link ensdfFormatter} for numbers it does not print itself.
+     * @param x double array with elements given by the  central value, 
+     * upper uncertainty, and lower uncertainty, respectively
+     * @param minDisplayPlace the smallest place
+     * value of the digits in the central value to print
+     * @return a String representing the quantity in the ENSDF format
+     */
+    static String double_to_ENSDF_legacy(double[] x, int minDisplayPlace){
         //place value representations of the value,
         //upper and lower uncertainties respectively.
         placeValueRep v_pv, u_pv, l_pv;
@@ -154,6 +169,21 @@ public class fmtHandler {
      * @return a String representing the quantity in the ENSDF format
      */
     public static String double_to_ENSDF(double[] x, boolean max25){
+        return ensdfFormatter.append(new StringBuilder(24), x, max25)
+                .toString();
+    }
+    
+    /**
+     * Prints the quantity as {@link #double_to_ENSDF(double[], boolean) 
+     * double_to_ENSDF} does, using {@link placeValueRep} objects. This is
+     * used by {@link ensdfFormatter} for numbers it does not print itself.
+     * @param x double array with elements given by the  central value, 
+     * upper uncertainty, and lower uncertainty, respectively
+     * @param max25 see {@link #double_to_ENSDF(double[], boolean) 
+     * double_to_ENSDF}
+     * @return a String representing the quantity in the ENSDF format
+     */
+    static String double_to_ENSDF_legacy(double[] x, boolean max25){
         placeValueRep u_pv, l_pv;
         String temp1, temp2;
         int lowestPlace;
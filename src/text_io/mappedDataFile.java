@@ -0,0 +1,312 @@
+
+package text_io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads a data file containing several data sets (separated by lines
+ * "*new", with names given by lines containing "title=") without loading the
+ * whole file into memory. The file is memory-mapped and scanned once to build
+ * an index of the byte range and title of each data set; the text of a data
+ * set is only decoded when it is asked for, so huge files can be opened and
+ * the data sets read in any order using memory proportional to the number of
+ * data sets rather than the size of the file. <br><br>
+ *
+ * Lines are split and recognized in the same way as by
+ * {@link textFileIO#read(java.lang.String) textFileIO.read} followed by the
+ * line-by-line parsing of the GUI: the first data set starts at the beginning
+ * of the file, every line whose trimmed text is "*new" (ignoring case) starts
+ * a new data set and the last "title=" line of a data set gives its title.
+ * The file is encoded in UTF-8. <br><br>
+ *
+ * Date Modified: 19/10/2026
+ */
+public class mappedDataFile implements Closeable {
+    //the size of the regions of the file mapped while building the index
+    private static final int SCAN_REGION = 1 << 26;
+    private static final byte[] TITLE = {'t', 'i', 't', 'l', 'e', '='};
+    //longest proper prefix of TITLE[0..k] which is also a suffix
+    private static final int[] TITLE_FALLBACK = {0, 0, 1, 0, 0, 0};
+    private static final byte[] NEW = {'*', 'n', 'e', 'w'};
+
+    private final FileChannel channel;
+    private final List<Long> starts, ends;
+    private final List<String> titles;
+
+    //state of the line being scanned
+    private int titleMatch, newMatch, newState;
+
+    /**
+     * Opens and indexes the data file specified by the given String.
+     * @param file path to the data file
+     * @throws IOException if the file cannot be read
+     */
+    public mappedDataFile(String file) throws IOException{
+        this.channel = FileChannel.open(Paths.get(file), StandardOpenOption.READ);
+        this.starts = new ArrayList<>();
+        this.ends = new ArrayList<>();
+        this.titles = new ArrayList<>();
+        try{
+            scan();
+        }catch(IOException e){
+            this.channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the number of data sets in the file. This is at least one,
+     * since the first data set starts at the beginning of the file.
+     * @return the number of data sets
+     */
+    public int size(){
+        return this.starts.size();
+    }
+
+    /**
+     * Returns the title of the i-th data set, given by the last line in
+     * that data set containing "title=".
+     * @param i index of the data set
+     * @return the title, or <code>null</code> if the data set has no title
+     * line
+     */
+    public String getTitle(int i){
+        return this.titles.get(i);
+    }
+
+    /**
+     * Returns the position in the file of the first byte of the i-th data
+     * set (just after the "*new" line which starts it).
+     * @param i index of the data set
+     * @return the position of the start of the data set
+     */
+    public long getStart(int i){
+        return this.starts.get(i);
+    }
+
+    /**
+     * Returns the position in the file just after the last byte of the i-th
+     * data set (the start of the "*new" line which ends it, or the end of
+     * the file).
+     * @param i index of the data set
+     * @return the position of the end of the data set
+     */
+    public long getEnd(int i){
+        return this.ends.get(i);
+    }
+
+    /**
+     * Returns the bytes of the i-th data set, including its title lines, as
+     * a read-only buffer mapped to the file.
+     * @param i index of the data set
+     * @return the bytes of the data set
+     * @throws IOException if the data set cannot be mapped
+     */
+    public ByteBuffer getBytes(int i) throws IOException{
+        long start, length;
+
+        start = getStart(i);
+        length = getEnd(i) - start;
+        if(length > Integer.MAX_VALUE){
+            throw new IOException("Data set " + String.valueOf(i + 1) +
+                    " is too large to read.");
+        }
+        return this.channel.map(FileChannel.MapMode.READ_ONLY, start, length);
+    }
+
+    /**
+     * Returns the lines of the i-th data set, excluding its title lines.
+     * @param i index of the data set
+     * @return the lines of the data set
+     * @throws IOException if the data set cannot be read or is not valid
+     * UTF-8
+     */
+    public List<String> readLines(int i) throws IOException{
+        CharBuffer text;
+        List<String> result;
+        String line;
+        int start, j;
+        char c;
+
+        text = StandardCharsets.UTF_8.newDecoder().decode(getBytes(i));
+        result = new ArrayList<>();
+        start = 0;
+        for(j=0; j<=text.length(); j++){
+            c = j < text.length() ? text.charAt(j) : '\n';
+            if(c != '\n' && c != '\r'){
+                continue;
+            }
+            if(j > start || j < text.length()){
+                line = text.subSequence(start, j).toString();
+                if(!isTitle(line)){
+                    result.add(line);
+                }
+            }
+            if(c == '\r' && j + 1 < text.length() && text.charAt(j + 1) == '\n'){
+                j += 1;
+            }
+            start = j + 1;
+        }
+        return result;
+    }
+
+    /**
+     * Returns the text of the i-th data set as it is shown in the GUI, with
+     * each line (excluding title lines) preceded by a new line.
+     * @param i index of the data set
+     * @return the text of the data set
+     * @throws IOException if the data set cannot be read or is not valid
+     * UTF-8
+     */
+    public String readText(int i) throws IOException{
+        StringBuilder result;
+
+        result = new StringBuilder((int)Math.min(getEnd(i) - getStart(i) + 1,
+                Integer.MAX_VALUE - 8));
+        for(String line : readLines(i)){
+            result.append('\n').append(line);
+        }
+        return result.toString();
+    }
+
+    /**
+     * Closes the file. Buffers returned by {@link #getBytes(int) getBytes}
+     * can still be used.
+     * @throws IOException if the file cannot be closed
+     */
+    @Override public void close() throws IOException{
+        this.channel.close();
+    }
+
+    //returns true if the line gives a title, as tested by the GUI
+    private static boolean isTitle(String line){
+        return line.toLowerCase().contains("title=");
+    }
+
+    //builds the index of data sets in a single pass over the file
+    private void scan() throws IOException{
+        ByteBuffer region;
+        long size, pos, offset, lineStart;
+        boolean skipLF;
+        byte b;
+        int j;
+
+        size = this.channel.size();
+        this.starts.add(0L);
+        this.titles.add(null);
+        lineStart = 0L;
+        skipLF = false;
+        resetLine();
+        for(pos=0L; pos<size; pos+=region.limit()){
+            region = this.channel.map(FileChannel.MapMode.READ_ONLY, pos,
+                    Math.min(SCAN_REGION, size - pos));
+            for(j=0; j<region.limit(); j++){
+                b = region.get(j);
+                offset = pos + j;
+                if(skipLF){ //second byte of "\r\n"
+                    skipLF = false;
+                    if(b == '\n'){
+                        if(this.starts.get(this.starts.size() - 1) == offset){
+                            this.starts.set(this.starts.size() - 1, offset + 1);
+                        }
+                        lineStart = offset + 1;
+                        continue;
+                    }
+                }
+                if(b == '\n' || b == '\r'){
+                    endLine(lineStart, offset, offset + 1);
+                    skipLF = b == '\r';
+                    lineStart = offset + 1;
+                }else{
+                    scanByte(b);
+                }
+            }
+        }
+        if(lineStart < size){
+            endLine(lineStart, size, size);
+        }
+        this.ends.add(size);
+    }
+
+    //updates the state of the current line with its next byte
+    private void scanByte(byte b){
+        byte lower;
+
+        lower = (b >= 'A' && b <= 'Z') ? (byte)(b + ('a' - 'A')) : b;
+        if(this.titleMatch < TITLE.length){
+            while(this.titleMatch > 0 && lower != TITLE[this.titleMatch]){
+                this.titleMatch = TITLE_FALLBACK[this.titleMatch - 1];
+            }
+            if(lower == TITLE[this.titleMatch]){
+                this.titleMatch += 1;
+            }
+        }
+        //0: leading spaces, 1: text, 2: trailing spaces, -1: not "*new"
+        if(b >= 0 && b <= ' '){ //removed by String.trim
+            if(this.newState == 1){
+                this.newState = 2;
+            }
+        }else if(this.newState == 0 || this.newState == 1){
+            if(this.newMatch < NEW.length && lower == NEW[this.newMatch]){
+                this.newMatch += 1;
+                this.newState = 1;
+            }else{
+                this.newState = -1;
+            }
+        }else{
+            this.newState = -1;
+        }
+    }
+
+    //handles the line from start to end, the next line starting at next
+    private void endLine(long start, long end, long next) throws IOException{
+        String line;
+        int last;
+
+        last = this.starts.size() - 1;
+        if(this.titleMatch == TITLE.length){
+            line = readString(start, end);
+            if(isTitle(line)){
+                this.titles.set(last,
+                        line.substring(line.toLowerCase().indexOf("title=")+6).trim());
+                resetLine();
+                return;
+            }
+        }
+        if(this.newState > 0 && this.newMatch == NEW.length){
+            this.ends.add(start);
+            this.starts.add(next);
+            this.titles.add(null);
+        }
+        resetLine();
+    }
+
+    private void resetLine(){
+        this.titleMatch = 0;
+        this.newMatch = 0;
+        this.newState = 0;
+    }
+
+    //decodes the bytes of the file from start to end
+    private String readString(long start, long end) throws IOException{
+        ByteBuffer buffer;
+
+        buffer = ByteBuffer.allocate((int)(end - start));
+        while(buffer.hasRemaining()){
+            if(this.channel.read(buffer, start + buffer.position()) < 0){
+                break;
+            }
+        }
+        buffer.flip();
+        return StandardCharsets.UTF_8.newDecoder().decode(buffer).toString();
+    }
+}
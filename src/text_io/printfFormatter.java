@@ -0,0 +1,231 @@
+package text_io;
+
+import java.text.DecimalFormatSymbols;
+import java.util.Locale;
+
+/**
+ * This class appends numbers to a <code>StringBuilder</code> exactly as
+ * <code>String.format</code> would with the conversions "%w.pf" and
+ * "%w.pe", but without parsing a format String or creating a
+ * <code>Formatter</code> (and its intermediate Strings) for every number.
+ * <br><br>
+ *
+ * The number is scaled by a power of ten and rounded in double precision.
+ * Numbers which cannot be rounded this way with certainty are passed on to
+ * <code>String.format</code>: those within a small tolerance of half way
+ * between two results (where <code>String.format</code> rounds the shortest
+ * decimal representation of the number up), those too large or small to
+ * scale accurately, infinities and NaN. The same is done when the default
+ * locale does not write numbers with '.' and the digits '0' to '9'.
+ * <br><br>
+ *
+ * Date Modified: 19/10/2026
+ */
+public final class printfFormatter {
+    private static final double[] POW10 = {1e0, 1e1, 1e2, 1e3, 1e4, 1e5,
+        1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17,
+        1e18, 1e19, 1e20, 1e21, 1e22};
+    private static final long[] LONG_POW10 = {1L, 10L, 100L, 1000L, 10000L,
+        100000L, 1000000L, 10000000L, 100000000L, 1000000000L};
+    //largest precision handled here, so that the scaled number is at most
+    //1e9 and its rounding error is well within the tolerance
+    private static final int MAX_PRECISION = 8;
+    private static final double MAX_SCALED = 1e9;
+    private static final double TIE_TOLERANCE = 1e-5;
+    //last default locale found to write numbers in the plain way
+    private static volatile Locale plainLocale = null;
+
+    private printfFormatter(){
+    }
+
+    /**
+     * Appends the number x as <code>String.format("%w.pf", x)</code> would,
+     * where w is the <code>width</code> and p is the <code>precision</code>.
+     * @param sb the StringBuilder to append to
+     * @param x the number to append
+     * @param precision the number of decimal places
+     * @param width the minimum number of characters, with spaces added to
+     * the left if needed (at least 1)
+     */
+    public static void appendFixed(StringBuilder sb, double x, int precision, int width){
+        double scaled;
+        long n;
+        int start;
+
+        if(precision < 0 || precision > MAX_PRECISION ||
+                !(Math.abs(x)*POW10[Math.max(precision, 0)] < MAX_SCALED) ||
+                !isPlainLocale()){
+            sb.append(String.format("%" + width + "." + precision + "f", x));
+            return;
+        }
+        scaled = Math.abs(x)*POW10[precision];
+        n = round(scaled);
+        if(n < 0){
+            sb.append(String.format("%" + width + "." + precision + "f", x));
+            return;
+        }
+
+        start = sb.length();
+        appendSign(sb, x);
+        sb.append(n / LONG_POW10[precision]);
+        if(precision > 0){
+            sb.append('.');
+            appendDigits(sb, n % LONG_POW10[precision], precision);
+        }
+        pad(sb, start, width);
+    }
+
+    /**
+     * Calls <code>{@link #appendFixed(java.lang.StringBuilder, double, int, int)
+     * appendFixed(sb, x, precision, 1)}</code>.
+     * @param sb the StringBuilder to append to
+     * @param x the number to append
+     * @param precision the number of decimal places
+     */
+    public static void appendFixed(StringBuilder sb, double x, int precision){
+        appendFixed(sb, x, precision, 1);
+    }
+
+    /**
+     * Appends the number x as <code>String.format("%w.pe", x)</code> would,
+     * where w is the <code>width</code> and p is the <code>precision</code>.
+     * @param sb the StringBuilder to append to
+     * @param x the number to append
+     * @param precision the number of decimal places of the mantissa
+     * @param width the minimum number of characters, with spaces added to
+     * the left if needed (at least 1)
+     */
+    public static void appendScientific(StringBuilder sb, double x, int precision, int width){
+        double ax, scaled;
+        long n;
+        int e, start;
+
+        ax = Math.abs(x);
+        if(precision < 0 || precision > MAX_PRECISION ||
+                (ax != 0d && !(ax > 1e-290 && ax < 1e290)) || !isPlainLocale()){
+            sb.append(String.format("%" + width + "." + precision + "e", x));
+            return;
+        }
+
+        if(ax == 0d){
+            e = 0;
+            n = 0L;
+        }else{
+            //scale the mantissa to [10^p, 10^(p+1))
+            e = (int)Math.floor(Math.log10(ax));
+            scaled = scale(ax, precision - e);
+            if(scaled >= POW10[precision + 1]){
+                e += 1;
+                scaled = scale(ax, precision - e);
+            }else if(scaled < POW10[precision]){
+                e -= 1;
+                scaled = scale(ax, precision - e);
+            }
+            n = round(scaled);
+            if(n < 0 || scaled < POW10[precision] || scaled >= POW10[precision + 1]){
+                sb.append(String.format("%" + width + "." + precision + "e", x));
+                return;
+            }
+            if(n == LONG_POW10[precision + 1]){ //rounded up to the next power of ten
+                n = LONG_POW10[precision];
+                e += 1;
+            }
+        }
+
+        start = sb.length();
+        appendSign(sb, x);
+        sb.append(n / LONG_POW10[precision]);
+        if(precision > 0){
+            sb.append('.');
+            appendDigits(sb, n % LONG_POW10[precision], precision);
+        }
+        sb.append('e');
+        sb.append(e < 0 ? '-' : '+');
+        if(Math.abs(e) < 10){
+            sb.append('0');
+        }
+        sb.append(Math.abs(e));
+        pad(sb, start, width);
+    }
+
+    /**
+     * Calls <code>{@link #appendScientific(java.lang.StringBuilder, double, int, int)
+     * appendScientific(sb, x, precision, 1)}</code>.
+     * @param sb the StringBuilder to append to
+     * @param x the number to append
+     * @param precision the number of decimal places of the mantissa
+     */
+    public static void appendScientific(StringBuilder sb, double x, int precision){
+        appendScientific(sb, x, precision, 1);
+    }
+
+    //rounds half up, or returns -1 if the scaled number is too close to half
+    //way between two integers to be sure of the result
+    private static long round(double scaled){
+        long n;
+        double frac;
+
+        n = (long)scaled;
+        frac = scaled - (double)n;
+        if(Math.abs(frac - 0.5d) < TIE_TOLERANCE){
+            return -1L;
+        }
+        return frac > 0.5d ? n + 1L : n;
+    }
+
+    //returns x times 10^k
+    private static double scale(double x, int k){
+        if(k >= 0){
+            return k < POW10.length ? x*POW10[k] : x*Math.pow(10d, k);
+        }else{
+            return -k < POW10.length ? x/POW10[-k] : x/Math.pow(10d, -k);
+        }
+    }
+
+    //String.format writes a minus sign for every negative number, including
+    //-0.0 and those which round to zero
+    private static void appendSign(StringBuilder sb, double x){
+        if(Double.compare(x, 0d) < 0){
+            sb.append('-');
+        }
+    }
+
+    //appends the given number of digits of v, with leading zeros
+    private static void appendDigits(StringBuilder sb, long v, int count){
+        int pos, k;
+
+        pos = sb.length();
+        sb.setLength(pos + count);
+        for(k=count-1; k>=0; k--){
+            sb.setCharAt(pos + k, (char)('0' + (int)(v % 10L)));
+            v /= 10L;
+        }
+    }
+
+    //adds spaces before the number written from start, up to the width
+    private static void pad(StringBuilder sb, int start, int width){
+        int k;
+
+        for(k=sb.length()-start; k<width; k++){
+            sb.insert(start, ' ');
+        }
+    }
+
+    //true if the default locale writes numbers with '.' and the digits
+    //'0' to '9', as assumed above
+    private static boolean isPlainLocale(){
+        Locale l;
+        DecimalFormatSymbols dfs;
+
+        l = Locale.getDefault(Locale.Category.FORMAT);
+        if(l.equals(plainLocale)){
+            return true;
+        }
+        dfs = DecimalFormatSymbols.getInstance(l);
+        if(dfs.getDecimalSeparator() == '.' && dfs.getZeroDigit() == '0'){
+            plainLocale = l;
+            return true;
+        }
+        return false;
+    }
+}
@@ -1,6 +1,7 @@
 
 package text_io;
 
+import java.io.BufferedWriter;
 import java.io.IOException;
 import java.io.File;
 import java.nio.charset.Charset;
@@ -121,4 +122,24 @@ public class textFileIO {
         
         write(linesList, file, append);
     }
+    
+    /**
+     * Opens the file specified by the given String for writing text, through
+     * a buffer, with the same encoding used by the <code>write</code>
+     * methods. This method will overwrite the file if it already exists,
+     * unless the <code>append</code> argument is <code>true</code>.
+     * @param file the path of the file to write to
+     * @param append set to <code>true</code> if you do not wish to overwrite
+     * the file if it already exists
+     * @return a buffered Writer for the file, which must be closed
+     * @throws IOException 
+     */
+    public static final BufferedWriter newWriter(String file, boolean append) throws IOException{
+        Path path = Paths.get(file);
+        if(append){
+            return Files.newBufferedWriter(path, ENCODING, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        }else{
+            return Files.newBufferedWriter(path, ENCODING, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        }
+    }
 }
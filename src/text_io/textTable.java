@@ -1,11 +1,17 @@
 
 package text_io;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.List;
 import java.util.Iterator;
 import java.util.Set;
 import java.util.HashSet;
 import java.util.Collections;
+import java.util.Map;
+import java.util.HashMap;
 import org.apache.commons.lang3.ArrayUtils;
 
 /**
@@ -16,8 +22,8 @@ import org.apache.commons.lang3.ArrayUtils;
  * @author Michael Birch
  */
 public class textTable {
-    private List<textTableCell> data;
-    private List<Integer> hruleList; //list of rows after which to put a row of dashes
+    private Map<Long, textTableCell> data; //cells keyed by cellKey(row, col)
+    private BitSet hrules; //rows after which to put a row of dashes
     private int nrow, ncol;
     
     /**
@@ -26,8 +32,30 @@ public class textTable {
     public textTable(){
         this.nrow = 0;
         this.ncol = 0;
-        this.data = new ArrayList<>();
-        this.hruleList = new ArrayList<>();
+        this.data = new HashMap<>();
+        this.hrules = new BitSet();
+    }
+    
+    /**
+     * Returns the key of the cell with indices (r,c) in the map of cells.
+     * @param r row index
+     * @param c column index
+     * @return the key of the cell with indices (r,c)
+     */
+    private static long cellKey(int r, int c){
+        return ((long)r << 32) | (c & 0xFFFFFFFFL);
+    }
+    
+    /**
+     * Adds a cell with indices (r,c) when parsing lines, unless there is
+     * one already (e.g. a horizontal rule sharing the row index of the
+     * row above it), in which case the existing cell is kept.
+     * @param r row index
+     * @param c column index
+     * @param content String containing the contents of the cell
+     */
+    private void addCell(int r, int c, String content){
+        this.data.putIfAbsent(cellKey(r, c), new textTableCell(r, c, content));
     }
     
     /**
@@ -169,8 +197,8 @@ public class textTable {
         
         this.ncol = colSep.size() + 1;
         this.nrow = lines.size();
-        this.data = new ArrayList<>();
-        this.hruleList = new ArrayList<>();
+        this.data = new HashMap<>();
+        this.hrules = new BitSet();
         rowOffset = 0;
         for(i=0; i < lines.size(); i++){
             s = lines.get(i);
@@ -178,10 +206,10 @@ public class textTable {
                 //hrule lines do not contribute to row count
                 this.nrow -= 1;
                 rowOffset += 1;
-                this.hruleList.add(i - rowOffset);
+                this.setHrule(i - rowOffset);
             }
             if(colSep.isEmpty()){
-                this.data.add(new textTableCell(i - rowOffset, 0, s.trim()));
+                this.addCell(i - rowOffset, 0, s.trim());
             }else{
                 for(j=0; j<colSep.size(); j++){
                     if(j==0){
@@ -189,10 +217,10 @@ public class textTable {
                     }else{
                         cell = substring(s, colSep.get(j-1), colSep.get(j)).trim();
                     }
-                    this.data.add(new textTableCell(i - rowOffset, j, cell));
+                    this.addCell(i - rowOffset, j, cell);
                 }
                 cell = substring(s, colSep.get(colSep.size()-1)).trim();
-                this.data.add(new textTableCell(i - rowOffset, colSep.size(), cell));
+                this.addCell(i - rowOffset, colSep.size(), cell);
             }
         }
     }
@@ -231,8 +259,8 @@ public class textTable {
         
         this.ncol = 1;
         this.nrow = lines.size();
-        this.data = new ArrayList<>();
-        this.hruleList = new ArrayList<>();
+        this.data = new HashMap<>();
+        this.hrules = new BitSet();
         rowOffset = 0;
         
         for(i=0; i < lines.size(); i++){
@@ -244,7 +272,7 @@ public class textTable {
                 //hrule lines do not contribute to row count
                 this.nrow -= 1;
                 rowOffset += 1;
-                this.hruleList.add(i - rowOffset);
+                this.setHrule(i - rowOffset);
             }
             tabSplit = s.split("\t");
             if(tabSplit.length > maxCols){
@@ -259,7 +287,7 @@ public class textTable {
                 this.ncol = tabSplit.length;
             }
             for(j=0; j<tabSplit.length; j++){
-                this.data.add(new textTableCell(i - rowOffset, j, tabSplit[j].trim()));
+                this.addCell(i - rowOffset, j, tabSplit[j].trim());
             }
         }
     }
@@ -281,17 +309,7 @@ public class textTable {
      * with indices (r,c).
      */
     public boolean cellExists(int r, int c){
-        if(this.isEmpty()){
-            return false;
-        }
-        
-        for(textTableCell cell : this.data){
-            if(cell.isAt(r, c)){
-                return true;
-            }
-        }
-        
-        return false;
+        return this.data.containsKey(cellKey(r, c));
     }
     
     /**
@@ -303,20 +321,15 @@ public class textTable {
      * @param content String containing the contents of the cell
      */
     public void setCell(int r, int c, String content){
-        boolean contentsSet;
+        textTableCell cell;
         this.nrow = Math.max(this.nrow, r+1);
         this.ncol = Math.max(this.ncol, c+1);
         
-        contentsSet = false;
-        for(textTableCell cell : this.data){
-            if(cell.isAt(r, c)){
-                cell.content = new String(content);
-                contentsSet = true;
-            }
-        }
-        
-        if(!contentsSet){
-            data.add(new textTableCell(r, c, content));
+        cell = this.data.get(cellKey(r, c));
+        if(cell != null){
+            cell.content = new String(content);
+        }else{
+            this.data.put(cellKey(r, c), new textTableCell(r, c, content));
         }
     }
     
@@ -329,20 +342,15 @@ public class textTable {
      * @param content String containing the content to append to the cell
      */
     public void appendCell(int r, int c, String content){
-        boolean contentsSet;
+        textTableCell cell;
         this.nrow = Math.max(this.nrow, r+1);
         this.ncol = Math.max(this.ncol, c+1);
         
-        contentsSet = false;
-        for(textTableCell cell : this.data){
-            if(cell.isAt(r, c)){
-                cell.content = cell.content.concat(content);
-                contentsSet = true;
-            }
-        }
-        
-        if(!contentsSet){
-            data.add(new textTableCell(r, c, content));
+        cell = this.data.get(cellKey(r, c));
+        if(cell != null){
+            cell.content = cell.content.concat(content);
+        }else{
+            this.data.put(cellKey(r, c), new textTableCell(r, c, content));
         }
     }
     
@@ -352,14 +360,27 @@ public class textTable {
      * @param r row index
      */
     public void addHrule(int r){
-        this.hruleList.add(r);
+        this.setHrule(r);
+    }
+    
+    /**
+     * Records a horizontal rule after the row with index r. Negative
+     * indices (e.g. from a rule on the first line parsed) are ignored since
+     * no rule is ever printed for them.
+     * @param r row index
+     */
+    private void setHrule(int r){
+        if(r >= 0){
+            this.hrules.set(r);
+        }
     }
     
     public String getCell(int r, int c){
-        for(textTableCell cell : this.data){
-            if(cell.isAt(r, c)){
-                return cell.content;
-            }
+        textTableCell cell;
+        
+        cell = this.data.get(cellKey(r, c));
+        if(cell != null){
+            return cell.content;
         }
         
         return "";
@@ -408,50 +429,7 @@ public class textTable {
      * row of the table.
      */
     public List<String> toStringList(){
-        String[][] tableArr;
-        int[] minColWidth;
-        int i, j, currentCol;
-        List<String> result;
-        String row;
-        
-        tableArr = this.toArray();
-        minColWidth = new int[this.ncol];
-        result = new ArrayList<>();
-        
-        //Determin minimum column width so that all text fits into each column
-        for(j=0; j<this.ncol; j++){
-            minColWidth[j] = 2;
-            for(i=0; i<this.nrow; i++){
-                try{
-                    minColWidth[j] = Math.max(tableArr[i][j].length()+2, 
-                            minColWidth[j]);
-                }catch(NullPointerException e){
-                    minColWidth[j] = Math.max(2, minColWidth[j]);
-                }
-            }
-        }
-        
-        for(i=0; i<this.nrow; i++){
-            row = "";
-            currentCol = 0; //equal to the sum of minColWidth for all columns added to the row string so far 
-            for(j=0; j<this.ncol; j++){
-                currentCol += minColWidth[j];
-                row += tableArr[i][j];
-                while(row.length() < currentCol){
-                    row += " ";
-                }
-            }
-            result.add(row);
-            if(hruleList.contains(i)){
-                row = "";
-                while(row.length() < currentCol){
-                    row += "-";
-                }
-                result.add(row);
-            }
-        }
-        
-        return result;
+        return toStringList(false);
     }
     
     /**
@@ -463,36 +441,117 @@ public class textTable {
      * row of the table
      */
     public List<String> toStringList(boolean tabSeparated){
-        int i, j, rowLength;
-        String row;
         List<String> result;
-        String[][] tableArr;
         
-        //if not tab separated then use the usual space separated printing routine
-        if(!tabSeparated){
-            return toStringList();
+        result = new ArrayList<>();
+        try{
+            this.print(tabSeparated, null, null, result);
+        }catch(IOException e){ //not thrown when collecting rows in a List
+            throw new UncheckedIOException(e);
         }
         
+        return result;
+    }
+    
+    /**
+     * Writes the table to <code>out</code> one row at a time, giving the
+     * same rows as {@link #toStringList(boolean)}, each followed by the given
+     * line separator.
+     * @param out where to write the table (e.g. a <code>BufferedWriter</code>)
+     * @param tabSeparated if <code>true</code> then the columns will
+     * be separated by tabs. The columns will be separated by spaces otherwise
+     * @param lineSeparator the String written after each row
+     * @throws IOException if <code>out</code> cannot be written to
+     */
+    public void write(Appendable out, boolean tabSeparated, String lineSeparator) throws IOException{
+        this.print(tabSeparated, out, lineSeparator, null);
+    }
+    
+    /**
+     * Calls <code>{@link #write(java.lang.Appendable, boolean, java.lang.String)
+     * write(out, false, System.lineSeparator())}</code>.
+     * @param out where to write the table
+     * @throws IOException if <code>out</code> cannot be written to
+     */
+    public void write(Appendable out) throws IOException{
+        this.write(out, false, System.lineSeparator());
+    }
+    
+    /**
+     * Builds each row of the table in a single StringBuilder, then writes it
+     * to <code>out</code> followed by <code>lineSeparator</code> or, if
+     * <code>lines</code> is not <code>null</code>, adds it to <code>lines
+     * </code>. When space separated, each column is padded with spaces to
+     * two characters wider than its widest cell.
+     * @param tabSeparated if <code>true</code> then the columns will
+     * be separated by tabs
+     * @param out where to write the rows
+     * @param lineSeparator the String written after each row
+     * @param lines the List to add the rows to instead
+     * @throws IOException if <code>out</code> cannot be written to
+     */
+    private void print(boolean tabSeparated, Appendable out, String lineSeparator,
+            List<String> lines) throws IOException{
+        String[][] tableArr;
+        int[] minColWidth;
+        int i, j, width;
+        char[] fill;
+        StringBuilder row;
+        
         tableArr = this.toArray();
-        result = new ArrayList<>();
+        row = new StringBuilder();
         
-        for(i=0; i<this.nrow; i++){ //loop over rows of the table
-            row = tableArr[i][0];
-            for(j=1; j<this.ncol; j++){
-                //add each column of the current row, separated by tabs
-                row += "\t" + tableArr[i][j];
-            }
-            result.add(row);
-            if(hruleList.contains(i)){
-                rowLength = row.length();
-                row = "";
-                for(j=0; j<rowLength; j++){
-                    row += "-";
+        //Determine minimum column width so that all text fits into each column
+        minColWidth = new int[this.ncol];
+        width = 0;
+        if(!tabSeparated){
+            for(j=0; j<this.ncol; j++){
+                minColWidth[j] = 2;
+                for(i=0; i<this.nrow; i++){
+                    minColWidth[j] = Math.max(tableArr[i][j].length()+2, 
+                            minColWidth[j]);
                 }
-                result.add(row);
+                width += minColWidth[j];
             }
         }
+        fill = new char[width];
         
-        return result;
+        for(i=0; i<this.nrow; i++){
+            row.setLength(0);
+            for(j=0; j<this.ncol; j++){
+                if(tabSeparated){
+                    if(j > 0){
+                        row.append('\t');
+                    }
+                    row.append(tableArr[i][j]);
+                }else{
+                    //pad the cell to the width of its column
+                    row.append(tableArr[i][j]);
+                    Arrays.fill(fill, 0, minColWidth[j] - tableArr[i][j].length(), ' ');
+                    row.append(fill, 0, minColWidth[j] - tableArr[i][j].length());
+                }
+            }
+            printRow(row, out, lineSeparator, lines);
+            if(this.hrules.get(i)){
+                //a row of dashes as long as the row above
+                width = row.length();
+                if(fill.length < width){
+                    fill = new char[width];
+                }
+                Arrays.fill(fill, 0, width, '-');
+                row.setLength(0);
+                row.append(fill, 0, width);
+                printRow(row, out, lineSeparator, lines);
+            }
+        }
+    }
+    
+    private static void printRow(StringBuilder row, Appendable out, String lineSeparator,
+            List<String> lines) throws IOException{
+        if(lines != null){
+            lines.add(row.toString());
+        }else{
+            out.append(row).append(lineSeparator);
+        }
     }
 }
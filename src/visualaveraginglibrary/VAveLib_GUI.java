@@ -7,13 +7,18 @@ package visualaveraginglibrary;
 
 import javax.swing.*;
 import ensdf_datapoint.dataPt;
+import ensdf_datapoint.columnarDataFile;
 import averagingAlgorithms.*;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.HashMap;
 import java.io.IOException;
 import text_io.textFileIO;
+import text_io.mappedDataFile;
 import java.util.function.BiFunction;
 import java.io.File;
+import java.nio.file.Paths;
 
 /**
  *
@@ -41,6 +46,7 @@ public class VAveLib_GUI extends javax.swing.JFrame {
         inputBoxes = new ArrayList<>();
         inputScrollPanes = new ArrayList<>();
         dataSetCheckBoxes  = new ArrayList<>();
+        parsedDataSets = new HashMap<>();
         
         createInputBox("Data_set_1");
         
@@ -50,7 +56,18 @@ public class VAveLib_GUI extends javax.swing.JFrame {
         
         reportFileButton.setEnabled(false);
         rptFilePath = "";
+        rptSink = null;
+        rptViewer = null;
         plotDirectory = "";
+        
+        //the window listeners run before the frame exits, so the report
+        //file is finished (and any error shown) before the program ends
+        addWindowListener(new java.awt.event.WindowAdapter() {
+            @Override
+            public void windowClosing(java.awt.event.WindowEvent evt) {
+                closeReportSink();
+            }
+        });
     }
 
     /**
@@ -518,7 +535,22 @@ public class VAveLib_GUI extends javax.swing.JFrame {
     }// </editor-fold>//GEN-END:initComponents
     
     private void createInputBox(String title){
-        inputBoxes.add(new javax.swing.JTextArea());
+        final javax.swing.JTextArea inputBox;
+        
+        inputBox = new javax.swing.JTextArea();
+        //any edit means the data set must be parsed again
+        inputBox.getDocument().addDocumentListener(new javax.swing.event.DocumentListener(){
+            @Override public void insertUpdate(javax.swing.event.DocumentEvent e){
+                parsedDataSets.remove(inputBox);
+            }
+            @Override public void removeUpdate(javax.swing.event.DocumentEvent e){
+                parsedDataSets.remove(inputBox);
+            }
+            @Override public void changedUpdate(javax.swing.event.DocumentEvent e){
+                // attribute changes do not change the data
+            }
+        });
+        inputBoxes.add(inputBox);
         inputBoxes.get(inputBoxes.size() - 1).setColumns(20);
         inputBoxes.get(inputBoxes.size() - 1).setFont(new java.awt.Font("Monospaced", 0, 18));
         inputBoxes.get(inputBoxes.size() - 1).setRows(5);
@@ -537,6 +569,7 @@ public class VAveLib_GUI extends javax.swing.JFrame {
     }
     
     private void removeInputBox(int ind){
+        parsedDataSets.remove(inputBoxes.get(ind));
         jTabbedPane1.remove(inputScrollPanes.get(ind));
         multiAnalysisMenu.remove(dataSetCheckBoxes.get(ind));
         dataSetCheckBoxes.remove(ind);
@@ -549,46 +582,185 @@ public class VAveLib_GUI extends javax.swing.JFrame {
         jTabbedPane1.setSelectedIndex(jTabbedPane1.getTabCount() - 1);
     }//GEN-LAST:event_newDataSetButtonActionPerformed
 
-    private void parseInputDataFile(List<String> input){
-        String currentText;
-        String newTitle;
-        int ind;
-        newDataSetButtonActionPerformed(null); //new data set
+    private void parseInputDataFile(List<String> titles, List<String> texts){
+        int i, ind;
         
-        ind = jTabbedPane1.getSelectedIndex();
-        for(String line : input){
-            if(line.toLowerCase().contains("title=")){ //set title
-                newTitle = line.substring(line.toLowerCase().indexOf("title=")+6).trim();
-                jTabbedPane1.setTitleAt(ind, newTitle);
-                dataSetCheckBoxes.get(ind).setText(newTitle);
-            }else if(line.trim().equalsIgnoreCase("*new")){ //make new data set
-                newDataSetButtonActionPerformed(null);
-                ind = jTabbedPane1.getSelectedIndex();
-            }else{
-                currentText = inputBoxes.get(jTabbedPane1.getSelectedIndex()).getText();
-                inputBoxes.get(jTabbedPane1.getSelectedIndex()).setText(currentText + "\n" + line);
+        for(i=0; i<texts.size(); i++){
+            newDataSetButtonActionPerformed(null); //new data set
+            ind = jTabbedPane1.getSelectedIndex();
+            if(titles.get(i) != null){ //set title
+                jTabbedPane1.setTitleAt(ind, titles.get(i));
+                dataSetCheckBoxes.get(ind).setText(titles.get(i));
+            }
+            inputBoxes.get(ind).setText(texts.get(i));
+        }
+    }
+    
+    //shows all of the given error messages in a single dialog
+    private void showErrors(List<String> errors){
+        javax.swing.JTextArea errorText;
+        
+        errorText = new javax.swing.JTextArea(String.join("\n", errors));
+        errorText.setEditable(false);
+        errorText.setRows(Math.min(errors.size(), 20));
+        JOptionPane.showMessageDialog(null, new javax.swing.JScrollPane(errorText));
+    }
+    
+    //returns the parsed data set of each of the given tabs, parsing (in
+    //parallel) only those which have changed since they were last parsed
+    private dataSetParser[] parsedDataSets(List<Integer> tabs){
+        List<String> titles, texts;
+        List<Integer> missing;
+        dataSetParser[] result, parsed;
+        int i;
+        
+        result = new dataSetParser[tabs.size()];
+        titles = new ArrayList<>();
+        texts = new ArrayList<>();
+        missing = new ArrayList<>();
+        for(i=0; i<tabs.size(); i++){
+            result[i] = parsedDataSets.get(inputBoxes.get(tabs.get(i)));
+            if(result[i] == null){
+                titles.add(dataSetCheckBoxes.get(tabs.get(i)).getText());
+                texts.add(inputBoxes.get(tabs.get(i)).getText());
+                missing.add(i);
+            }
+        }
+        if(!missing.isEmpty()){
+            parsed = dataSetParser.parse(titles, texts);
+            for(i=0; i<parsed.length; i++){
+                result[missing.get(i)] = parsed[i];
+                parsedDataSets.put(inputBoxes.get(tabs.get(missing.get(i))), parsed[i]);
             }
         }
+        return result;
+    }
+    
+    //returns the data set of the given tab, or shows its first format error
+    //and returns null if it cannot be parsed (as createDataset does)
+    private dataPt[] parsedDataSet(int ind){
+        dataSetParser parsed;
+        
+        parsed = parsedDataSets(java.util.Collections.singletonList(ind))[0];
+        if(parsed.hasErrors()){
+            JOptionPane.showMessageDialog(null, parsed.getErrors().get(0));
+            return null;
+        }
+        return parsed.getDataset().clone();
+    }
+    
+    //parses the selected data sets, returning the parsed data set of each
+    //tab (null if not selected), or null if any cannot be parsed
+    private dataSetParser[] parseSelectedDataSets(){
+        List<Integer> selected;
+        dataSetParser[] dataSets, result;
+        List<String> errors;
+        int i, ind;
+        
+        selected = new ArrayList<>();
+        for(ind=0; ind<dataSetCheckBoxes.size(); ind++){
+            if(dataSetCheckBoxes.get(ind).isSelected()){
+                selected.add(ind);
+            }
+        }
+        dataSets = parsedDataSets(selected);
+        errors = new ArrayList<>();
+        for(i=0; i<dataSets.length; i++){
+            for(String e : dataSets[i].getErrors()){
+                errors.add(dataSetCheckBoxes.get(selected.get(i)).getText() + ": " + e);
+            }
+        }
+        if(!errors.isEmpty()){
+            showErrors(errors);
+            return null;
+        }
+        result = new dataSetParser[dataSetCheckBoxes.size()];
+        for(i=0; i<dataSets.length; i++){
+            result[selected.get(i)] = dataSets[i];
+        }
+        return result;
     }
     
     private void LoadDataButtonActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_LoadDataButtonActionPerformed
-        List<String> input;
+        List<String> titles, texts;
+        dataSetParser[] dataSets;
+        List<String> errors;
+        String path;
+        dataPt[] dataset;
+        Integer precision;
+        int i;
         
         loadDataSetFileChooser.showDialog(this, "Open");
-        try{
-            input = textFileIO.read(loadDataSetFileChooser.getSelectedFile().getAbsolutePath());
-            parseInputDataFile(input);
-        }catch(IOException e){
-            JOptionPane.showMessageDialog(null, "IO Error: " + e.getMessage());
+        path = loadDataSetFileChooser.getSelectedFile().getAbsolutePath();
+        titles = new ArrayList<>();
+        texts = new ArrayList<>();
+        //read every data set before creating any tabs, so nothing is
+        //loaded if the file cannot be read
+        if(path.toLowerCase().endsWith(columnarDataFile.EXTENSION)){
+            //binary files hold data sets which have already been parsed, so
+            //they are used as they are and their text is only for display
+            try(columnarDataFile input = new columnarDataFile(path)){
+                dataSets = new dataSetParser[input.size()];
+                for(i=0; i<input.size(); i++){
+                    //without the places of the points, as when parsed
+                    dataset = input.getDataset(i, false);
+                    titles.add(input.getTitle(i));
+                    texts.add(datasetText(dataset));
+                    precision = null;
+                    if(input.getPrecision(i) != columnarDataFile.NO_PLACE){
+                        precision = input.getPrecision(i);
+                    }
+                    dataSets[i] = dataSetParser.of(titles.get(i), texts.get(i),
+                            dataset, precision);
+                }
+            }catch(IOException e){
+                JOptionPane.showMessageDialog(null, "IO Error: " + e.getMessage());
+                return;
+            }
+        }else{
+            try(mappedDataFile input = new mappedDataFile(path)){
+                for(i=0; i<input.size(); i++){
+                    titles.add(input.getTitle(i));
+                    texts.add(input.readText(i));
+                }
+            }catch(IOException e){
+                JOptionPane.showMessageDialog(null, "IO Error: " + e.getMessage());
+                return;
+            }
+            dataSetParser.dropEmptyEnds(titles, texts);
+            dataSets = dataSetParser.parse(titles, texts);
+        }
+        parseInputDataFile(titles, texts);
+        //the new tabs hold exactly the text of the data sets
+        for(i=0; i<dataSets.length; i++){
+            parsedDataSets.put(inputBoxes.get(inputBoxes.size() - dataSets.length + i),
+                    dataSets[i]);
+        }
+        //the data sets are loaded anyway so that they can be corrected
+        errors = dataSetParser.errors(dataSets);
+        if(!errors.isEmpty()){
+            showErrors(errors);
         }
     }//GEN-LAST:event_LoadDataButtonActionPerformed
+    
+    //the text of a data set as shown in an input box, one named point on
+    //each line
+    private String datasetText(dataPt[] dataset){
+        StringBuilder result;
+        
+        result = new StringBuilder();
+        for(dataPt d : dataset){
+            result.append('\n').append(d.toString(true, false));
+        }
+        return result.toString();
+    }
 
     private void OutlierButtonActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_OutlierButtonActionPerformed
         String data;
         dataPt[] dataset;
         
         data = inputBoxes.get(jTabbedPane1.getSelectedIndex()).getText();
-        dataset = VAveLib_GUI_methods.createDataset(data);
+        dataset = parsedDataSet(jTabbedPane1.getSelectedIndex());
         
         if(dataset == null){
             return;
@@ -602,6 +774,10 @@ public class VAveLib_GUI extends javax.swing.JFrame {
     }//GEN-LAST:event_OutlierButtonActionPerformed
 
     private void saveReport(averagingReport rpt, boolean append){
+        saveReport(rpt, rpt.dataSetName, append);
+    }
+    
+    private void saveReport(averagingReport rpt, String dataSetName, boolean append){
         if(yesReportRadioButtonMenuItem.isSelected()){
         	boolean isNewFile=false;
             if(rptFilePath.equals("")){
@@ -610,13 +786,21 @@ public class VAveLib_GUI extends javax.swing.JFrame {
                 isNewFile=true;
             }
             try{
+                if(reportSerializer.formatOf(rptFilePath) >= 0){
+                    saveStructuredReport(rpt, dataSetName, append);
+                    return;
+                }
+                if(!append){
+                    reportSink().restart();
+                }
             	if(isNewFile || !append) {
                     String[] tmp=new String[1];
                     tmp[0]=version()+"\n";
-                    textFileIO.write(tmp, reportFileChooser.getSelectedFile().getPath(), append);
-                    append=true;
+                    reportSink().writeLines(tmp);
             	}
-                textFileIO.write(rpt.fullReport(), reportFileChooser.getSelectedFile().getPath(), append);
+                StringBuilder text = new StringBuilder();
+                rpt.writeFullReport(text);
+                reportSink().write(text);
             }catch(IOException e){
                 JOptionPane.showMessageDialog(null, "IO Error: " + e.getMessage());
             }
@@ -632,41 +816,97 @@ public class VAveLib_GUI extends javax.swing.JFrame {
                 isNewFile=true;
             }
             try{
+                if(reportSerializer.formatOf(rptFilePath) >= 0){
+                    //text only belongs in the human-readable report
+                    saveStructuredReport(null, null, append);
+                    return;
+                }
+                if(!append){
+                    reportSink().restart();
+                }
             	if(isNewFile || !append) {
                     String[] tmp=new String[1];
                     tmp[0]=version()+"\n";
-                    textFileIO.write(tmp, reportFileChooser.getSelectedFile().getPath(), append);
-                    append=true;
+                    reportSink().writeLines(tmp);
             	}
-                textFileIO.write(s, reportFileChooser.getSelectedFile().getPath(), append);
+                reportSink().writeLines(s);
             }catch(IOException e){
                 JOptionPane.showMessageDialog(null, "IO Error: " + e.getMessage());
             }
         }
     }
     
+    // writes one record per report to .ndjson, .jsonl and .csv report files
+    // (see reportSerializer), instead of the text of the full report. The
+    // file is started again, with its CSV header, when not appending.
+    private void saveStructuredReport(averagingReport rpt, String dataSetName, boolean append) throws IOException{
+        reportSerializer serializer;
+        StringBuilder text;
+        
+        if(!append){
+            reportSink().restart();
+        }
+        text = new StringBuilder();
+        serializer = new reportSerializer(text, reportSerializer.formatOf(rptFilePath));
+        if(reportSink().isEmpty()){
+            serializer.writeHeader();
+        }
+        if(rpt != null){
+            serializer.write(rpt, dataSetName);
+        }
+        reportSink().write(text);
+    }
+    
+    // the sink writing to the current report file, which keeps the file open
+    // until another report file is chosen
+    private reportSink reportSink() throws IOException{
+        reportSink previous;
+        
+        if(rptSink == null || !rptSink.getPath().equals(Paths.get(rptFilePath))){
+            previous = rptSink;
+            rptSink = new reportSink(rptFilePath);
+            rptViewer = null;
+            if(previous != null){
+                previous.close();
+            }
+        }
+        return rptSink;
+    }
+    
+    // writes everything still waiting for the report file and closes it
+    private void closeReportSink(){
+        if(rptSink == null){
+            return;
+        }
+        try{
+            rptSink.close();
+        }catch(IOException e){
+            JOptionPane.showMessageDialog(null, "IO Error: " + e.getMessage());
+        }
+    }
+    
     private void doAverage(BiFunction<dataPt[], averagingReport, dataPt> average){
         int ind;
-        String data;
+        dataSetParser[] datasets;
         dataPt[] dataset;
         dataPt result;
         averagingReport rpt;
         int count;
         
+        datasets = parseSelectedDataSets();
+        if(datasets == null){
+            return;
+        }
         count = 0;
         for(ind=0; ind<dataSetCheckBoxes.size(); ind++){
             if(dataSetCheckBoxes.get(ind).isSelected()){
                 count += 1;
-                data = inputBoxes.get(ind).getText();
-                dataset = VAveLib_GUI_methods.createDataset(data);
-                if(dataset == null){
-                    return;
-                }
+                dataset = datasets[ind].getDataset().clone();
                 rpt = new averagingReport();
                 result = average.apply(dataset, rpt);
                 rpt.dataSetName = dataSetCheckBoxes.get(ind).getText();
                 if(roundingCheckBoxMenuItem.isSelected()){
-                    result.setMinDisplayPlace(String.valueOf(VAveLib_GUI_methods.leastSigFig(data)));
+                    result.setMinDisplayPlace(String.valueOf(datasets[ind].getLeastSigFig()));
                 }
                 saveReport(rpt, count > 1); //overwrite previous report, but append if more than one data set analysed
                 JOptionPane.showMessageDialog(null, rpt.briefReport(result));
@@ -675,28 +915,19 @@ public class VAveLib_GUI extends javax.swing.JFrame {
         showReport();
     }
     
+    // shows the report file, appending only what was written since it was
+    // last shown (a new window is opened if the last one was closed)
     private void showReport(){
         if(!rptFilePath.equals("")){
-            JFrame frame = new JFrame();
-            javax.swing.JTextArea rptTextbox = new javax.swing.JTextArea();
-            javax.swing.JScrollPane scrollbars = new javax.swing.JScrollPane();
             try{
-                String thetext = "";
-                List<String> lines = textFileIO.read(rptFilePath);
-                for(String s : lines){
-                    thetext += s + "\n";
+                if(rptViewer == null || !rptViewer.isOpen() ||
+                        rptViewer.getSink() != reportSink()){
+                    rptViewer = new reportViewer(reportSink());
                 }
-                rptTextbox.setText(thetext);
+                rptViewer.update();
             }catch(IOException e){
                 return;
             }
-            rptTextbox.setFont(new java.awt.Font("Monospaced", 0, 18));
-            rptTextbox.setEditable(false);
-            scrollbars.setViewportView(rptTextbox);
-            
-            frame.getContentPane().add(scrollbars, java.awt.BorderLayout.CENTER);
-            frame.setSize(400, 400);
-            frame.setVisible(true);
         }
     }
     
@@ -767,22 +998,11 @@ public class VAveLib_GUI extends javax.swing.JFrame {
                 averagingMethods.mp(dataset, precision, maxIt, rpt));
     }//GEN-LAST:event_mpButtonActionPerformed
 
-    private dataPt[] copyDataset(dataPt[] dataset) {
-    	dataPt[] out=new dataPt[0];
-    	try{
-    		out=new dataPt[dataset.length];
-    		for(int i=0;i<dataset.length;i++)
-    			out[i]=dataset[i].clone();
-    	}catch(Exception e) {
-    		
-    	}
-    	
-    	return out;
-    }
     private void compareButtonActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_compareButtonActionPerformed
         int ind;
-        String data;
+        dataSetParser[] datasets;
         dataPt[] dataset;
+        analysisContext context;
         dataPt result;
         averagingReport rpt;
         int count;
@@ -811,16 +1031,14 @@ public class VAveLib_GUI extends javax.swing.JFrame {
         count = 0;
         tmp = new String[1];
         
-        dataPt[] temp=null;
-        
+        datasets = parseSelectedDataSets();
+        if(datasets == null){
+            return;
+        }
         for(ind=0; ind<dataSetCheckBoxes.size(); ind++){
             if(dataSetCheckBoxes.get(ind).isSelected()){
                 count += 1;
-                data = inputBoxes.get(ind).getText();
-                dataset = VAveLib_GUI_methods.createDataset(data);
-                if(dataset == null){
-                    return;
-                }
+                dataset = datasets[ind].getDataset().clone();
                 
                 rpt = new averagingReport();
                 rpt.dataSetName = dataSetCheckBoxes.get(ind).getText();
@@ -829,78 +1047,71 @@ public class VAveLib_GUI extends javax.swing.JFrame {
                  //overwrite previous report, but append if more than one data set analysed
                 saveReport(tmp, count>1);
                 
+                //quantities shared between the methods are only computed once
+                context = new analysisContext(dataset);
+                
                 rpt = new averagingReport();
-                result = averagingMethods.unweightedAverage(dataset, rpt);
+                result = averagingMethods.unweightedAverage(context, rpt);
                 if(roundingCheckBoxMenuItem.isSelected()){
-                    result.setMinDisplayPlace(String.valueOf(VAveLib_GUI_methods.leastSigFig(data)));
+                    result.setMinDisplayPlace(String.valueOf(datasets[ind].getLeastSigFig()));
                 }
-                saveReport(rpt, true);
+                saveReport(rpt, dataSetCheckBoxes.get(ind).getText(), true);
                 message += rpt.briefReport(result) + "\n";
                 
                 rpt = new averagingReport();
-                result = averagingMethods.weightedAverage(dataset, rpt);
+                result = averagingMethods.weightedAverage(context, rpt);
                 if(roundingCheckBoxMenuItem.isSelected()){
-                    result.setMinDisplayPlace(String.valueOf(VAveLib_GUI_methods.leastSigFig(data)));
+                    result.setMinDisplayPlace(String.valueOf(datasets[ind].getLeastSigFig()));
                 }
-                saveReport(rpt, true);
+                saveReport(rpt, dataSetCheckBoxes.get(ind).getText(), true);
                 message += rpt.briefReport(result) + "\n";
                 
                 rpt = new averagingReport();
-                //note: this method could adjust the dataset and so use a copy of original dataset
-                temp=copyDataset(dataset);
-                result = averagingMethods.lwm(temp, weightLimit, outlierMethod, confidenceLevel, rpt);
+                result = averagingMethods.lwm(context, weightLimit, outlierMethod, confidenceLevel, rpt);
                 if(roundingCheckBoxMenuItem.isSelected()){
-                    result.setMinDisplayPlace(String.valueOf(VAveLib_GUI_methods.leastSigFig(data)));
+                    result.setMinDisplayPlace(String.valueOf(datasets[ind].getLeastSigFig()));
                 }
-                saveReport(rpt, true);
+                saveReport(rpt, dataSetCheckBoxes.get(ind).getText(), true);
                 message += rpt.briefReport(result) + "\n";
                 
                 rpt = new averagingReport();
-                //note: this method could adjust the dataset and so use a copy of original dataset
-                temp=copyDataset(dataset);
-                result = averagingMethods.nrm(temp, paramArray[3]/100d, rpt);
+                result = averagingMethods.nrm(context, paramArray[3]/100d, rpt);
                 if(roundingCheckBoxMenuItem.isSelected()){
-                    result.setMinDisplayPlace(String.valueOf(VAveLib_GUI_methods.leastSigFig(data)));
+                    result.setMinDisplayPlace(String.valueOf(datasets[ind].getLeastSigFig()));
                 }
-                saveReport(rpt, true);
+                saveReport(rpt, dataSetCheckBoxes.get(ind).getText(), true);
                 message += rpt.briefReport(result) + "\n";
                 
                 rpt = new averagingReport();
-                //note: this method could adjust the dataset and so use a copy of original dataset
-                temp=copyDataset(dataset);
-                result = averagingMethods.rt(temp, outlierConfidenceLevel, rpt);
+                result = averagingMethods.rt(context, outlierConfidenceLevel, rpt);
                 if(roundingCheckBoxMenuItem.isSelected()){
-                    result.setMinDisplayPlace(String.valueOf(VAveLib_GUI_methods.leastSigFig(data)));
+                    result.setMinDisplayPlace(String.valueOf(datasets[ind].getLeastSigFig()));
                 }
-                saveReport(rpt, true);
+                saveReport(rpt, dataSetCheckBoxes.get(ind).getText(), true);
                 message += rpt.briefReport(result) + "\n";
                 
                 rpt = new averagingReport();
-                //note: this method could adjust the dataset and so use a copy of original dataset
-                temp=copyDataset(dataset);
-                result = averagingMethods.evm(temp, rpt);
+                result = averagingMethods.evm(dataset, rpt);
                 if(roundingCheckBoxMenuItem.isSelected()){
-                    result.setMinDisplayPlace(String.valueOf(VAveLib_GUI_methods.leastSigFig(data)));
+                    result.setMinDisplayPlace(String.valueOf(datasets[ind].getLeastSigFig()));
                 }
-                saveReport(rpt, true);
+                saveReport(rpt, dataSetCheckBoxes.get(ind).getText(), true);
                 message += rpt.briefReport(result) + "\n";
                 
                 rpt = new averagingReport();
-                temp=copyDataset(dataset);
-                result = averagingMethods.bootstrap(temp, NUM_MEDIANS, rpt);
+                result = averagingMethods.bootstrap(dataset, NUM_MEDIANS, rpt);
                 if(roundingCheckBoxMenuItem.isSelected()){
-                    result.setMinDisplayPlace(String.valueOf(VAveLib_GUI_methods.leastSigFig(data)));
+                    result.setMinDisplayPlace(String.valueOf(datasets[ind].getLeastSigFig()));
                 }
-                saveReport(rpt, true);
+                saveReport(rpt, dataSetCheckBoxes.get(ind).getText(), true);
                 message += rpt.briefReport(result) + "\n";
                 
                 rpt = new averagingReport();
-                temp=copyDataset(dataset);
-                result = averagingMethods.mp(temp, precision, maxIt, rpt);
+                result = averagingMethods.mp(context, precision, maxIt, rpt);
                 if(roundingCheckBoxMenuItem.isSelected()){
-                    result.setMinDisplayPlace(String.valueOf(VAveLib_GUI_methods.leastSigFig(data)));
+                    result.setMinDisplayPlace(String.valueOf(datasets[ind].getLeastSigFig()));
                 }
-                saveReport(rpt, true);
+                saveReport(rpt, dataSetCheckBoxes.get(ind).getText(), true);
                 message += rpt.briefReport(result) + "\n";
                 
                 
@@ -915,15 +1126,18 @@ public class VAveLib_GUI extends javax.swing.JFrame {
     }//GEN-LAST:event_compareButtonActionPerformed
 
     private void exportDataButtonActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_exportDataButtonActionPerformed
-        String data;
         List<String> exportData;
         dataPt[] dataset;
         int i;
         
         exportDataFileChooser.showSaveDialog(this);
+        if(exportDataFileChooser.getSelectedFile().getPath().toLowerCase()
+                .endsWith(columnarDataFile.EXTENSION)){
+            exportBinaryData(exportDataFileChooser.getSelectedFile().getPath());
+            return;
+        }
         
-        data = inputBoxes.get(jTabbedPane1.getSelectedIndex()).getText();
-        dataset = VAveLib_GUI_methods.createDataset(data);
+        dataset = parsedDataSet(jTabbedPane1.getSelectedIndex());
         exportData = new ArrayList<>();
         
         for(i=0; i<dataset.length; i++){
@@ -938,6 +1152,64 @@ public class VAveLib_GUI extends javax.swing.JFrame {
             JOptionPane.showMessageDialog(null, "IO Error: " + e.getMessage());
         }
     }//GEN-LAST:event_exportDataButtonActionPerformed
+    
+    //writes every data set to a binary file, which can be loaded again
+    //without parsing. Empty tabs are skipped, and tabs which cannot be
+    //parsed are left out and reported by name.
+    private void exportBinaryData(String path){
+        List<String> titles, errors, datasetErrors;
+        List<dataPt[]> datasets;
+        List<Integer> precisions;
+        int[] precisionArray;
+        String data, title;
+        dataPt[] dataset;
+        int ind, i;
+        
+        titles = new ArrayList<>();
+        datasets = new ArrayList<>();
+        errors = new ArrayList<>();
+        datasetErrors = new ArrayList<>();
+        precisions = new ArrayList<>();
+        for(ind=0; ind<inputBoxes.size(); ind++){
+            data = inputBoxes.get(ind).getText();
+            if(data.trim().isEmpty()){
+                continue;
+            }
+            title = dataSetCheckBoxes.get(ind).getText();
+            datasetErrors.clear();
+            dataset = VAveLib_GUI_methods.parseDataset(data, datasetErrors, true);
+            if(!datasetErrors.isEmpty()){
+                for(String e : datasetErrors){
+                    errors.add(title + ": " + e);
+                }
+                continue;
+            }
+            titles.add(title);
+            datasets.add(dataset);
+            try{
+                precisions.add(VAveLib_GUI_methods.leastSigFig(data));
+            }catch(RuntimeException e){
+                precisions.add(columnarDataFile.NO_PLACE);
+            }
+        }
+        if(!errors.isEmpty()){
+            errors.add(0, "These data sets were not exported:");
+            showErrors(errors);
+        }
+        if(datasets.isEmpty()){
+            JOptionPane.showMessageDialog(null, "No data sets to export!");
+            return;
+        }
+        precisionArray = new int[precisions.size()];
+        for(i=0; i<precisionArray.length; i++){
+            precisionArray[i] = precisions.get(i);
+        }
+        try{
+            columnarDataFile.write(path, titles, datasets, precisionArray);
+        }catch(IOException e){
+            JOptionPane.showMessageDialog(null, "IO Error: " + e.getMessage());
+        }
+    }
 
     private void jTabbedPane1StateChanged(javax.swing.event.ChangeEvent evt) {//GEN-FIRST:event_jTabbedPane1StateChanged
         int ind; // selected index
@@ -1053,7 +1325,7 @@ public class VAveLib_GUI extends javax.swing.JFrame {
     
     private void generatePlotScriptMenuItemActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_generatePlotScriptMenuItemActionPerformed
         List<String> dataFile, scriptFile;
-        String data, title;
+        String title;
         dataPt[] dataset;
         Boolean longNames;
         
@@ -1086,9 +1358,8 @@ public class VAveLib_GUI extends javax.swing.JFrame {
             return;
         }
         
-        data = inputBoxes.get(jTabbedPane1.getSelectedIndex()).getText();
         title = dataSetCheckBoxes.get(jTabbedPane1.getSelectedIndex()).getText();
-        dataset = VAveLib_GUI_methods.createDataset(data);
+        dataset = parsedDataSet(jTabbedPane1.getSelectedIndex());
         if(dataset == null){
             return;
         }
@@ -1299,7 +1570,12 @@ public class VAveLib_GUI extends javax.swing.JFrame {
     public List<javax.swing.JTextArea> inputBoxes;
     private List<javax.swing.JScrollPane> inputScrollPanes;
     private List<javax.swing.JCheckBoxMenuItem> dataSetCheckBoxes;
+    //the parsed data set of each input box, removed when its text changes
+    private Map<javax.swing.JTextArea, dataSetParser> parsedDataSets;
     public double[] paramArray;
     private String rptFilePath;
+    //writes the report file in the background, and shows it
+    private reportSink rptSink;
+    private reportViewer rptViewer;
     private String plotDirectory;
 }
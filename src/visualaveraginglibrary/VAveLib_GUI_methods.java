@@ -2,6 +2,7 @@
 package visualaveraginglibrary;
 
 import ensdf_datapoint.dataPt;
+import ensdf_datapoint.ensdfValueParser;
 import java.util.ArrayList;
 import java.util.List;
 import javax.swing.JOptionPane;
@@ -17,42 +18,80 @@ public class VAveLib_GUI_methods {
     
     // creates an array of dataPt class objects from the input
     public static dataPt[] createDataset(String Data){
-        int i, count;
-        String[] lines;
-        String line;
+        List<String> errors;
+        dataPt[] result;
+        
+        errors = new ArrayList<>();
+        result = parseDataset(Data, errors);
+        if(result == null){
+            JOptionPane.showMessageDialog(null, errors.get(0));
+        }
+        return result;
+    }
+    
+    // creates an array of dataPt class objects from the input without
+    // showing any dialogs; returns null and adds a message to errors for
+    // each line which cannot be parsed
+    public static dataPt[] parseDataset(String Data, List<String> errors){
+        return parseDataset(Data, errors, false);
+    }
+    
+    // as above, with each dataPt keeping the least significant place of its
+    // input if keepMinPlace is true
+    public static dataPt[] parseDataset(String Data, List<String> errors,
+            boolean keepMinPlace){
+        int i, start, end, lineEnd, comment;
+        int count;
         List<dataPt> dataPoints;
         dataPt tmp;
+        boolean failed;
         
         if(Data.equals("")){
-            JOptionPane.showMessageDialog(null, "No data entered!");
+            errors.add("No data entered!");
             return null;
         }
         
         dataPoints = new ArrayList<>();
-        lines = Data.split("\n");
         count = 1;
-        for(i=0; i<lines.length; i++){
-            if(lines[i].contains("#")){
-                line = lines[i].split("#")[0];
-            }else{
-                line = lines[i];
+        i = 0;
+        failed = false;
+        comment = Data.indexOf('#');
+        // each line is parsed in place, once; anything after '#' is a comment
+        for(start=0; start<Data.length(); start=lineEnd+1){
+            lineEnd = Data.indexOf('\n', start);
+            if(lineEnd < 0){
+                lineEnd = Data.length();
+            }
+            if(comment >= 0 && comment < start){
+                comment = Data.indexOf('#', start);
+            }
+            end = (comment >= 0 && comment < lineEnd) ? comment : lineEnd;
+            while(start < end && Data.charAt(start) <= ' '){
+                start += 1;
             }
-            if(line.trim().equals("")){
+            while(end > start && Data.charAt(end - 1) <= ' '){
+                end -= 1;
+            }
+            i += 1;
+            if(start == end){
                 continue; //skip blank lines
             }
-            if(dataPt.isParsable(line.trim())){
-                tmp = dataPt.constructFromString(line.trim());
+            tmp = new dataPt();
+            if(ensdfValueParser.parse(Data, start, end, tmp, keepMinPlace)){
                 if(tmp.getName().equals("<default>")){
                     tmp.setName(String.valueOf(count));
                 }
-                dataPoints.add(new dataPt(tmp));
+                dataPoints.add(tmp);
                 count += 1;
             }else{
-                JOptionPane.showMessageDialog(null, "Format error on line " + 
-                        String.valueOf(i+1) + ". Input cannot be parsed.");
-                return null;
+                errors.add("Format error on line " + 
+                        String.valueOf(i) + ". Input cannot be parsed.");
+                failed = true;
             }
         }
+        if(failed){
+            return null;
+        }
         return dataPoints.toArray(new dataPt[0]);
     }
     
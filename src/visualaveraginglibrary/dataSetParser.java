@@ -0,0 +1,130 @@
+package visualaveraginglibrary;
+
+import ensdf_datapoint.dataPt;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/*
+ * Date Modified: 19/10/2026
+ * Description:
+ * This class parses the data sets of an input file (as split by
+ * text_io.mappedDataFile at lines "*new") in parallel, off the event dispatch
+ * thread if desired. Every format error in every data set is collected,
+ * rather than stopping at the first one, and the data sets are returned in
+ * their original order.
+ */
+public class dataSetParser {
+
+    private final String title;
+    private final String text;
+    private final dataPt[] dataset;
+    private final List<String> errors;
+    private Integer leastSigFig;
+
+    private dataSetParser(String title, String text){
+        this.title = title;
+        this.text = text;
+        this.errors = new ArrayList<>();
+        this.dataset = VAveLib_GUI_methods.parseDataset(text, this.errors);
+    }
+
+    private dataSetParser(String title, String text, dataPt[] dataset,
+            Integer leastSigFig){
+        this.title = title;
+        this.text = text;
+        this.errors = new ArrayList<>();
+        this.dataset = dataset;
+        this.leastSigFig = leastSigFig;
+    }
+
+    // a data set which has already been parsed (e.g. read from a binary data
+    // file), shown as the given text; leastSigFig may be null, in which case
+    // it is found from the text when needed
+    public static dataSetParser of(String title, String text, dataPt[] dataset,
+            Integer leastSigFig){
+        return new dataSetParser(title, text, dataset, leastSigFig);
+    }
+
+    // the title given in the input, or null if there is none
+    public String getTitle(){
+        return this.title;
+    }
+
+    // the text of the data set, as shown in an input box
+    public String getText(){
+        return this.text;
+    }
+
+    // the parsed data set, or null if there are any errors
+    public dataPt[] getDataset(){
+        return this.dataset;
+    }
+
+    // the error messages for this data set, in order of line
+    public List<String> getErrors(){
+        return Collections.unmodifiableList(this.errors);
+    }
+
+    public boolean hasErrors(){
+        return !this.errors.isEmpty();
+    }
+
+    // the place value of the least significant figure of the input (see
+    // VAveLib_GUI_methods.leastSigFig), found the first time it is needed
+    public synchronized int getLeastSigFig(){
+        if(this.leastSigFig == null){
+            this.leastSigFig = VAveLib_GUI_methods.leastSigFig(this.text);
+        }
+        return this.leastSigFig;
+    }
+
+    // removes the blank data sets without a title made by a "*new" line at
+    // the start or end of the input, keeping at least one data set
+    public static void dropEmptyEnds(List<String> titles, List<String> texts){
+        while(texts.size() > 1 && titles.get(0) == null &&
+                texts.get(0).trim().isEmpty()){
+            titles.remove(0);
+            texts.remove(0);
+        }
+        while(texts.size() > 1 && titles.get(texts.size() - 1) == null &&
+                texts.get(texts.size() - 1).trim().isEmpty()){
+            titles.remove(texts.size() - 1);
+            texts.remove(texts.size() - 1);
+        }
+    }
+
+    // parses each of the texts as a data set in parallel; titles may be
+    // null where a data set has none
+    public static dataSetParser[] parse(List<String> titles, List<String> texts){
+        final dataSetParser[] result;
+
+        result = new dataSetParser[texts.size()];
+        IntStream.range(0, result.length).parallel().forEach((int i) ->
+            result[i] = new dataSetParser(titles.get(i), texts.get(i))
+        );
+        return result;
+    }
+
+    // all error messages of the data sets, each preceded by the name of its
+    // data set (its title, or its position if it has none)
+    public static List<String> errors(dataSetParser[] dataSets){
+        List<String> result;
+        String name;
+        int i;
+
+        result = new ArrayList<>();
+        for(i=0; i<dataSets.length; i++){
+            if(dataSets[i].title != null){
+                name = dataSets[i].title;
+            }else{
+                name = "Data set " + String.valueOf(i + 1);
+            }
+            for(String e : dataSets[i].errors){
+                result.add(name + ": " + e);
+            }
+        }
+        return result;
+    }
+}
@@ -5,8 +5,9 @@
  */
 package visualaveraginglibrary;
 
+import averagingAlgorithms.analysisContext;
 import averagingAlgorithms.averagingMethods;
-import averagingAlgorithms.outlierMethods;
+import averagingAlgorithms.outlierScreening;
 import ensdf_datapoint.dataPt;
 import java.util.List;
 import java.util.ArrayList;
@@ -25,6 +26,7 @@ public class outliersWindow extends javax.swing.JDialog {
         initComponents();
         
         dataset = data;
+        context = new analysisContext(dataset);
         mainWindow = mainWin;
         origText = txt;
         
@@ -49,7 +51,7 @@ public class outliersWindow extends javax.swing.JDialog {
         
         jPanel1.setVisible(false);
         jTextField1.setEnabled(false);
-        jTextField1.setText(averagingMethods.weightedAverage(dataset).toString(false));
+        jTextField1.setText(context.weightedAverage().toString(false));
     }
 
     @SuppressWarnings("unchecked")
@@ -243,9 +245,9 @@ public class outliersWindow extends javax.swing.JDialog {
         }else{
             jTextField1.setEnabled(false);
             if(jComboBox1.getSelectedIndex() == 0){ //unweighted average
-                jTextField1.setText(averagingMethods.unweightedAverage(dataset).toString(false));
+                jTextField1.setText(context.unweightedAverage().toString(false));
             }else if(jComboBox1.getSelectedIndex() == 1){ //weighted average
-                jTextField1.setText(averagingMethods.weightedAverage(dataset).toString(false));
+                jTextField1.setText(context.weightedAverage().toString(false));
             }
             else if(jComboBox1.getSelectedIndex() == 2){ //EVM
                 jTextField1.setText(averagingMethods.evm(dataset).toString(false));
@@ -261,23 +263,30 @@ public class outliersWindow extends javax.swing.JDialog {
         String[] origTextLines;
         int i,n;
         final String[] methods = {"Chauvenet", "Peirce", "Birch"};
+        final int[] criteria = {outlierScreening.CHAUVENET, 
+            outlierScreening.PEIRCE, outlierScreening.BIRCH};
         dataPt[] givenMean;
+        double k;
         String newDataset;
 
         n = dataset.length;
-        if(methodComboBox.getSelectedIndex() == 0){
-            outliers = outlierMethods.ChauvenetCriterion(dataset);
-        }else if(methodComboBox.getSelectedIndex() == 1){
-            outliers = outlierMethods.PeirceCriterion(dataset);
-        }else{
-            givenMean = VAveLib_GUI_methods.createDataset(jTextField1.getText());
-            if(givenMean == null){
-                return;
+        if(methodComboBox.getSelectedIndex() == 2){
+            //the screening only needs to be redone if Birch's parameters change
+            k = (double)jSpinner1.getValue() / 100d;
+            if(screening == null || !jTextField1.getText().equals(screeningMeanText) 
+                    || k != screeningK){
+                givenMean = VAveLib_GUI_methods.createDataset(jTextField1.getText());
+                if(givenMean == null){
+                    return;
+                }
+                screening = new outlierScreening(context, givenMean[0], k);
+                screeningMeanText = jTextField1.getText();
+                screeningK = k;
             }
-            outliers = outlierMethods.BirchCriterion(dataset, 
-                    givenMean[0],
-                    (double)jSpinner1.getValue() / 100d);
+        }else if(screening == null){
+            screening = new outlierScreening(context, null, 0.99d);
         }
+        outliers = screening.getOutliers(criteria[methodComboBox.getSelectedIndex()]);
         
         outliersList = new ArrayList<>();
         if(outliers.length > 0){
@@ -335,6 +344,11 @@ public class outliersWindow extends javax.swing.JDialog {
     // End of variables declaration//GEN-END:variables
     private String[] methodDescriptions;
     private dataPt[] dataset;
+    private analysisContext context;
+    //all criteria are evaluated at once; Birch's depends on the mean and k used
+    private outlierScreening screening;
+    private String screeningMeanText;
+    private double screeningK;
     private String origText;
     private VAveLib_GUI mainWindow;
 }
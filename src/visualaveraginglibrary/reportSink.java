@@ -0,0 +1,255 @@
+package visualaveraginglibrary;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+
+/*
+ * Date Modified: 19/10/2026
+ * Description:
+ * This class writes the text of reports to a file on a background thread, so
+ * that the event dispatch thread only has to hand the text over. The file is
+ * opened when the first text is written and kept open until the sink is
+ * closed, rather than being opened and closed for every report. Text waits
+ * in a bounded queue (the caller waits if the writer falls too far behind)
+ * and everything waiting is written as one batch, which is then flushed to
+ * the file. An error in the writer thread (including an unchecked exception)
+ * is thrown as an IOException by the next call made to the sink.
+ */
+public class reportSink implements Closeable {
+
+    private static final int QUEUE_CAPACITY = 64;
+
+    private final Path path;
+    private final BlockingQueue<task> queue;
+    private final Thread writerThread;
+    private volatile IOException error;
+    private boolean closed;
+    // number of characters in the file once the queue has been written, or
+    // -1 if it is not known (before the file is started again)
+    private long length;
+    // counts the times the file has been started again
+    private int generation;
+
+    // one item of work for the writer thread
+    private static class task {
+        final String text;
+        final boolean restart;
+        final boolean close;
+        final CountDownLatch done;
+
+        task(String text, boolean restart, boolean close, CountDownLatch done){
+            this.text = text;
+            this.restart = restart;
+            this.close = close;
+            this.done = done;
+        }
+    }
+
+    public reportSink(String file){
+        this.path = Paths.get(file);
+        this.queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+        this.error = null;
+        this.closed = false;
+        this.length = -1L;
+        this.generation = 0;
+        this.writerThread = new Thread(this::run, "report writer");
+        this.writerThread.setDaemon(true);
+        this.writerThread.start();
+    }
+
+    // the path of the report file
+    public Path getPath(){
+        return this.path;
+    }
+
+    // changes each time the file is started again by restart(), so that a
+    // viewer knows to show it from the beginning
+    public synchronized int getGeneration(){
+        return this.generation;
+    }
+
+    // true if nothing has been written to the file (checked on the file the
+    // first time, since it may have been written before this session)
+    public synchronized boolean isEmpty(){
+        if(this.length < 0L){
+            this.length = this.path.toFile().length();
+        }
+        return this.length == 0L;
+    }
+
+    // empties the file, so that the text written after this replaces the
+    // previous report
+    public synchronized void restart() throws IOException{
+        put(new task(null, true, false, null));
+        this.length = 0L;
+        this.generation += 1;
+    }
+
+    // adds the text to the end of the file
+    public synchronized void write(CharSequence text) throws IOException{
+        if(text.length() == 0){
+            return;
+        }
+        put(new task(text.toString(), false, false, null));
+        if(this.length >= 0L){
+            this.length += text.length();
+        }
+    }
+
+    // adds each String to the end of the file as a line, like
+    // textFileIO.write
+    public void writeLines(String[] lines) throws IOException{
+        StringBuilder text;
+
+        text = new StringBuilder();
+        for(String line : lines){
+            text.append(line).append(System.lineSeparator());
+        }
+        write(text);
+    }
+
+    // waits until everything given to the sink so far is in the file
+    public void flush() throws IOException{
+        CountDownLatch done;
+
+        done = new CountDownLatch(1);
+        synchronized(this){
+            put(new task(null, false, false, done));
+        }
+        await(done);
+        checkError();
+    }
+
+    // writes everything given to the sink, closes the file and stops the
+    // writer thread
+    @Override
+    public void close() throws IOException{
+        CountDownLatch done;
+
+        synchronized(this){
+            if(this.closed){
+                return;
+            }
+            done = new CountDownLatch(1);
+            put(new task(null, false, true, done));
+            this.closed = true;
+        }
+        await(done);
+        checkError();
+    }
+
+    private void put(task t) throws IOException{
+        checkError();
+        if(this.closed){
+            throw new IOException("The report file " + this.path.toString() + " has been closed.");
+        }
+        try{
+            this.queue.put(t);
+        }catch(InterruptedException e){
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while writing the report.", e);
+        }
+    }
+
+    private static void await(CountDownLatch done) throws IOException{
+        try{
+            done.await();
+        }catch(InterruptedException e){
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while writing the report.", e);
+        }
+    }
+
+    private void checkError() throws IOException{
+        IOException e;
+
+        e = this.error;
+        if(e != null){
+            this.error = null;
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+
+    // the writer thread: takes everything in the queue, writes it as one
+    // batch and flushes it, until the sink is closed
+    private void run(){
+        List<task> batch;
+        FileChannel channel;
+        Writer out;
+        boolean stop;
+
+        batch = new ArrayList<>();
+        channel = null;
+        out = null;
+        stop = false;
+        while(!stop){
+            try{
+                batch.add(this.queue.take());
+            }catch(InterruptedException e){
+                continue; //only closing the sink stops the thread
+            }
+            this.queue.drainTo(batch);
+            for(task t : batch){
+                try{
+                    if(t.text != null || t.restart){
+                        if(channel == null){
+                            channel = FileChannel.open(this.path,
+                                    StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+                            channel.position(channel.size());
+                            out = Channels.newWriter(channel, StandardCharsets.UTF_8.newEncoder(), -1);
+                        }
+                        if(t.restart){
+                            out.flush();
+                            channel.truncate(0L);
+                            channel.position(0L);
+                        }else{
+                            out.write(t.text);
+                        }
+                    }
+                    if(t.done != null && out != null){
+                        out.flush();
+                    }
+                    if(t.close && out != null){
+                        out.close();
+                        out = null;
+                        channel = null;
+                    }
+                }catch(IOException e){
+                    this.error = e;
+                }catch(RuntimeException e){ //e.g. from the encoder
+                    this.error = new IOException(e.toString(), e);
+                }finally{
+                    //the caller is never left waiting, whatever happened
+                    if(t.close){
+                        stop = true;
+                    }
+                    if(t.done != null){
+                        t.done.countDown();
+                    }
+                }
+            }
+            batch.clear();
+            try{
+                if(out != null){
+                    out.flush();
+                }
+            }catch(IOException e){
+                this.error = e;
+            }catch(RuntimeException e){
+                this.error = new IOException(e.toString(), e);
+            }
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package visualaveraginglibrary;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import javax.swing.JFrame;
+import javax.swing.JScrollPane;
+import javax.swing.JTextArea;
+
+/*
+ * Date Modified: 19/10/2026
+ * Description:
+ * This class shows the report file written by a reportSink. Each update
+ * reads only the part of the file written since the last one and appends it
+ * to the text already shown; the text is only read again from the beginning
+ * when the sink has started the file again.
+ */
+public class reportViewer {
+
+    private final reportSink sink;
+    private final JFrame frame;
+    private final JTextArea rptTextbox;
+    // number of bytes of the file shown so far
+    private long shown;
+    private int generation;
+
+    public reportViewer(reportSink sink){
+        JScrollPane scrollbars;
+
+        this.sink = sink;
+        this.frame = new JFrame();
+        this.rptTextbox = new JTextArea();
+        scrollbars = new JScrollPane();
+        this.rptTextbox.setFont(new java.awt.Font("Monospaced", 0, 18));
+        this.rptTextbox.setEditable(false);
+        scrollbars.setViewportView(this.rptTextbox);
+        this.frame.getContentPane().add(scrollbars, java.awt.BorderLayout.CENTER);
+        this.frame.setDefaultCloseOperation(javax.swing.WindowConstants.DISPOSE_ON_CLOSE);
+        this.frame.setSize(400, 400);
+        this.shown = 0L;
+        this.generation = sink.getGeneration();
+    }
+
+    // the sink whose file is shown
+    public reportSink getSink(){
+        return this.sink;
+    }
+
+    // true until the window is closed by the user
+    public boolean isOpen(){
+        return this.frame.isDisplayable();
+    }
+
+    // waits for the sink to write everything given to it, appends the new
+    // part of the file to the text shown and brings the window to the front
+    public void update() throws IOException{
+        ByteBuffer buffer;
+        long size;
+
+        this.sink.flush();
+        if(this.sink.getGeneration() != this.generation){
+            this.generation = this.sink.getGeneration();
+            this.shown = 0L;
+            this.rptTextbox.setText("");
+        }
+        try(FileChannel in = FileChannel.open(this.sink.getPath(), StandardOpenOption.READ)){
+            size = in.size();
+            if(size < this.shown){ //changed by something else, show it again
+                this.shown = 0L;
+                this.rptTextbox.setText("");
+            }
+            if(size - this.shown > Integer.MAX_VALUE){
+                throw new IOException("The report file is too large to show.");
+            }
+            buffer = ByteBuffer.allocate((int)(size - this.shown));
+            while(buffer.hasRemaining() &&
+                    in.read(buffer, this.shown + buffer.position()) > 0){
+                //read until the buffer is full
+            }
+        }
+        if(buffer.position() > 0){
+            this.rptTextbox.append(new String(buffer.array(), 0, buffer.position(),
+                    StandardCharsets.UTF_8));
+            this.shown += buffer.position();
+        }
+        this.frame.setVisible(true);
+        this.frame.toFront();
+    }
+}